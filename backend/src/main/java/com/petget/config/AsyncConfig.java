@@ -0,0 +1,22 @@
+package com.petget.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Configuração de execução assíncrona.
+ * O TaskDecorator é aplicado pelo Spring Boot ao executor padrão (applicationTaskExecutor,
+ * com threads de plataforma ou virtuais), usado por @Async e injetável como Executor para
+ * CompletableFuture: toda tarefa executa com o tenant e a autenticação de quem a agendou.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    
+    @Bean
+    public TaskDecorator tenantContextTaskDecorator() {
+        return TenantContextPropagation::wrap;
+    }
+}
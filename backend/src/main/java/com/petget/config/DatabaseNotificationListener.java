@@ -0,0 +1,184 @@
+package com.petget.config;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Escuta canais LISTEN/NOTIFY do banco padrão (diretório) em uma conexão dedicada, fora
+ * do pool, e repassa as notificações aos componentes inscritos. As notificações recebidas
+ * juntas são entregues em um único lote por canal, permitindo uma só recarga por lote.
+ *
+ * Notificações emitidas enquanto a conexão está caída são perdidas: a cada (re)conexão
+ * o callback onConnect de cada inscrição é executado para que o componente recarregue
+ * seu estado do banco. As inscrições devem ser feitas na inicialização dos beans
+ * (@PostConstruct); a escuta começa depois que o contexto termina de subir.
+ */
+@Component
+public class DatabaseNotificationListener implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseNotificationListener.class);
+    
+    // Tempo máximo de espera por notificações antes de verificar o encerramento
+    private static final int NOTIFICATION_WAIT_MS = 10_000;
+    
+    @Value("${spring.datasource.url}")
+    private String url;
+    
+    @Value("${spring.datasource.username}")
+    private String username;
+    
+    @Value("${spring.datasource.password}")
+    private String password;
+    
+    @Value("${petget.notifications.listen:true}")
+    private boolean listen;
+    
+    @Value("${petget.notifications.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+    
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    
+    private volatile boolean running;
+    
+    private volatile Connection listenerConnection;
+    
+    private Thread listenerThread;
+    
+    /**
+     * Inscreve um componente em um canal
+     * @param channel Nome do canal (identificador SQL simples)
+     * @param onNotification Recebe os payloads de um lote de notificações do canal
+     * @param onConnect Executado a cada (re)conexão, para cobrir notificações perdidas
+     */
+    public void subscribe(String channel, Consumer<List<String>> onNotification, Runnable onConnect) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Nome de canal inválido: " + channel);
+        }
+        subscriptions.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>())
+            .add(new Subscription(onNotification, onConnect));
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        if (!listen || subscriptions.isEmpty()) {
+            return;
+        }
+        listenerThread = new Thread(this::listenForChanges, "db-notification-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        Connection connection = listenerConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Erro ao fechar conexão de notificações: {}", e.getMessage());
+            }
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Mantém a conexão dedicada escutando todos os canais inscritos, reconectando após falhas
+     */
+    private void listenForChanges() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : subscriptions.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                subscriptions.values().forEach(list -> list.forEach(Subscription::connected));
+                logger.info("Escutando notificações dos canais {}", subscriptions.keySet());
+    
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_WAIT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        dispatch(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Conexão de notificações do banco perdida: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                listenerConnection = null;
+            }
+        }
+    }
+    
+    private void dispatch(PGNotification[] notifications) {
+        Map<String, List<String>> payloadsByChannel = new LinkedHashMap<>();
+        for (PGNotification notification : notifications) {
+            payloadsByChannel.computeIfAbsent(notification.getName(), key -> new ArrayList<>())
+                .add(notification.getParameter());
+        }
+        payloadsByChannel.forEach((channel, payloads) -> {
+            logger.debug("{} notificações no canal {}", payloads.size(), channel);
+            for (Subscription subscription : subscriptions.getOrDefault(channel, List.of())) {
+                subscription.notified(payloads);
+            }
+        });
+    }
+    
+    /**
+     * Inscrição em um canal. Falhas de um componente não interrompem a escuta dos demais.
+     */
+    private record Subscription(Consumer<List<String>> onNotification, Runnable onConnect) {
+    
+        void notified(List<String> payloads) {
+            try {
+                onNotification.accept(payloads);
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao processar notificações {}: {}", payloads, e.getMessage());
+            }
+        }
+    
+        void connected() {
+            try {
+                onConnect.run();
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao recarregar estado após conectar às notificações: {}", e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,10 +1,17 @@
 package com.petget.config;
 
+import com.petget.security.AuthRateLimiter;
+import com.petget.security.BoundedPasswordEncoder;
 import com.petget.security.JwtAuthenticationEntryPoint;
 import com.petget.security.JwtAuthenticationFilter;
+import com.petget.security.UsuarioPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -12,6 +19,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -42,6 +51,24 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${petget.auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${petget.auth.password.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordPoolSize;
+    
+    @Value("${petget.auth.password.queue-capacity:64}")
+    private int passwordQueueCapacity;
+    
+    @Value("${petget.auth.password.timeout-ms:3000}")
+    private long passwordTimeoutMs;
+    
     /**
      * Configuração do filtro de segurança
      */
@@ -52,6 +79,9 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .authorizeHttpRequests(auth -> auth
+                // Retorno de processamento assíncrono (exportação em fluxo): a requisição original
+                // já foi autorizada e, sem sessão, o despacho assíncrono não tem autenticação
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Endpoints públicos (sem prefixo /api pois já está no context-path)
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
@@ -123,11 +153,17 @@ public class SecurityConfig {
     }
     
     /**
-     * Bean para codificação de senhas
+     * Bean para codificação de senhas.
+     * A verificação BCrypt roda em um pool limitado, fora das threads do Tomcat.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(bcryptStrength),
+            passwordPoolSize,
+            passwordQueueCapacity,
+            passwordTimeoutMs,
+            meterRegistry);
     }
     
     /**
@@ -138,6 +174,18 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Limite por tenant do usuário encontrado, antes da verificação BCrypt da senha
+        UserDetailsChecker accountStatus = new AccountStatusUserDetailsChecker();
+        authProvider.setPreAuthenticationChecks(user -> {
+            accountStatus.check(user);
+            if (user instanceof UsuarioPrincipal principal) {
+                authRateLimiter.checkTenant(principal.getTenantId());
+            }
+        });
+        // Recodifica a senha no login quando o custo BCrypt configurado muda
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return authProvider;
     }
     
@@ -0,0 +1,102 @@
+package com.petget.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Acesso direto aos shards, para código que não passa pelo roteamento por tenant:
+ * tabelas globais (empresas, tokens_revogados) ficam no shard padrão, e tarefas em
+ * lote agrupam as escritas por shard. Sem particionamento existe um único shard.
+ */
+@Component
+public class ShardDirectory {
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private final ConcurrentMap<String, JdbcTemplate> jdbcTemplates = new ConcurrentHashMap<>();
+    
+    /**
+     * Obtém o shard de um tenant
+     * @param tenantId ID do tenant
+     * @return Nome do shard
+     */
+    public String shardOf(String tenantId) {
+        ShardRoutingDataSource routing = routing();
+        return routing != null ? routing.shardOf(tenantId) : ShardRoutingDataSource.DEFAULT_SHARD;
+    }
+    
+    /**
+     * Obtém o pool de um shard
+     * @param shard Nome do shard
+     * @return DataSource do shard
+     */
+    public DataSource dataSource(String shard) {
+        ShardRoutingDataSource routing = routing();
+        if (routing != null) {
+            return routing.getShard(shard);
+        }
+        if (!ShardRoutingDataSource.DEFAULT_SHARD.equals(shard)) {
+            throw new IllegalArgumentException("Shard não configurado: " + shard);
+        }
+        return target();
+    }
+    
+    /**
+     * Obtém o tamanho máximo do pool de conexões de um shard
+     * @param shard Nome do shard
+     * @return maximum-pool-size do pool Hikari do shard
+     */
+    public int maximumPoolSize(String shard) {
+        DataSource shardDataSource = dataSource(shard);
+        if (!(shardDataSource instanceof HikariDataSource hikari)) {
+            throw new IllegalStateException("Pool de conexões do shard " + shard + " não é Hikari");
+        }
+        return hikari.getMaximumPoolSize();
+    }
+    
+    /**
+     * Obtém um JdbcTemplate ligado diretamente a um shard
+     * @param shard Nome do shard
+     * @return JdbcTemplate do shard
+     */
+    public JdbcTemplate jdbcTemplate(String shard) {
+        return jdbcTemplates.computeIfAbsent(shard, name -> new JdbcTemplate(dataSource(name)));
+    }
+    
+    /**
+     * Obtém o JdbcTemplate do shard padrão (diretório de tenants e tabelas globais)
+     * @return JdbcTemplate do shard padrão
+     */
+    public JdbcTemplate directoryJdbcTemplate() {
+        return jdbcTemplate(ShardRoutingDataSource.DEFAULT_SHARD);
+    }
+    
+    /**
+     * Lista os shards configurados
+     * @return Nomes dos shards
+     */
+    public Iterable<String> shardNames() {
+        ShardRoutingDataSource routing = routing();
+        return routing != null ? routing.getShards().keySet() : List.of(ShardRoutingDataSource.DEFAULT_SHARD);
+    }
+    
+    /**
+     * DataSource da aplicação sem o bulkhead por tenant: acessos diretos não são
+     * trabalho de um tenant específico
+     */
+    private DataSource target() {
+        return dataSource instanceof TenantBulkheadDataSource bulkhead ? bulkhead.getTargetDataSource() : dataSource;
+    }
+    
+    private ShardRoutingDataSource routing() {
+        return target() instanceof ShardRoutingDataSource routing ? routing : null;
+    }
+}
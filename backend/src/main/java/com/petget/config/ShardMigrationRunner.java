@@ -0,0 +1,51 @@
+package com.petget.config;
+
+import com.petget.service.TenantShardMigrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executa a migração de um tenant entre shards e encerra a aplicação.
+ * Uso:
+ *   java -jar petget-backend.jar --spring.main.web-application-type=none \
+ *     --petget.sharding.enabled=true \
+ *     --petget.sharding.migration.tenant=demo-clinic \
+ *     --petget.sharding.migration.target=shard2
+ * Os demais nós continuam atendendo o tenant durante a migração.
+ */
+@Component
+@ConditionalOnProperty(name = "petget.sharding.migration.tenant")
+public class ShardMigrationRunner implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardMigrationRunner.class);
+    
+    @Autowired
+    private TenantShardMigrator tenantShardMigrator;
+    
+    @Autowired
+    private ShardingProperties shardingProperties;
+    
+    @Autowired
+    private ConfigurableApplicationContext context;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        ShardingProperties.Migration migration = shardingProperties.getMigration();
+        int exitCode = 0;
+        try {
+            tenantShardMigrator.migrate(migration.getTenant(), migration.getTarget());
+        } catch (RuntimeException e) {
+            logger.error("Falha na migração do tenant {}: {}", migration.getTenant(), e.getMessage(), e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,83 @@
+package com.petget.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource que direciona cada conexão ao shard do tenant atual (TenantContext),
+ * conforme o diretório de tenants (empresas.shard). Cada shard tem seu próprio pool Hikari.
+ * Sem tenant no contexto (login sem X-Tenant-ID, tarefas internas) usa o shard padrão.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    public static final String DEFAULT_SHARD = "default";
+    
+    private final Map<String, DataSource> shards;
+    
+    // Obtido sob demanda: o registro de tenants depende deste DataSource
+    private final ObjectProvider<TenantRegistry> tenantRegistry;
+    
+    public ShardRoutingDataSource(Map<String, DataSource> shards, ObjectProvider<TenantRegistry> tenantRegistry) {
+        if (!shards.containsKey(DEFAULT_SHARD)) {
+            throw new IllegalArgumentException("Shard padrão não configurado");
+        }
+        this.shards = Collections.unmodifiableMap(shards);
+        this.tenantRegistry = tenantRegistry;
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(DEFAULT_SHARD));
+        // Shard desconhecido é erro de configuração: nunca cair silenciosamente no padrão
+        setLenientFallback(false);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardOf(TenantContext.getCurrentTenant());
+    }
+    
+    /**
+     * Obtém o shard de um tenant
+     * @param tenantId ID do tenant
+     * @return Nome do shard (padrão se o tenant for desconhecido)
+     */
+    public String shardOf(String tenantId) {
+        if (tenantId == null) {
+            return DEFAULT_SHARD;
+        }
+        TenantRegistry registry = tenantRegistry.getIfAvailable();
+        TenantRegistry.TenantInfo tenant = registry != null ? registry.getTenant(tenantId) : null;
+        return tenant != null ? tenant.shard() : DEFAULT_SHARD;
+    }
+    
+    /**
+     * Obtém o pool de um shard
+     * @param shard Nome do shard
+     * @return DataSource do shard
+     */
+    public DataSource getShard(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Shard não configurado: " + shard);
+        }
+        return dataSource;
+    }
+    
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+    
+    @Override
+    public void destroy() {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.petget.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do particionamento de tenants entre bancos (petget.sharding.enabled).
+ * Substitui o DataSource do Spring Boot por um ShardRoutingDataSource e aplica as
+ * migrações Flyway em todos os shards.
+ */
+@Configuration
+@ConditionalOnProperty(name = "petget.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+    
+    // Dados de exemplo (empresas e usuários de demonstração) existem apenas no shard padrão
+    private static final String SEED_LOCATION = "db/seed";
+    
+    // Tenant de demonstração inserido junto com o esquema em V1
+    private static final String V1_SEED_TENANT = "demo-clinic";
+    
+    // Tabelas com dados de exemplo de V1, na ordem de remoção (chaves estrangeiras)
+    private static final List<String> V1_SEED_TABLES = List.of("pets", "clientes", "usuarios", "empresas");
+    
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                             ShardingProperties shardingProperties,
+                                             ObjectProvider<TenantRegistry> tenantRegistry) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(ShardRoutingDataSource.DEFAULT_SHARD, createPool(ShardRoutingDataSource.DEFAULT_SHARD,
+            dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword(), shardingProperties.getMaximumPoolSize()));
+        
+        shardingProperties.getShards().forEach((name, shard) -> {
+            if (ShardRoutingDataSource.DEFAULT_SHARD.equals(name)) {
+                throw new IllegalStateException("O shard padrão é configurado em spring.datasource");
+            }
+            int poolSize = shard.getMaximumPoolSize() != null
+                ? shard.getMaximumPoolSize() : shardingProperties.getMaximumPoolSize();
+            shards.put(name, createPool(name, shard.getUrl(), shard.getUsername(), shard.getPassword(), poolSize));
+        });
+        
+        logger.info("Shards configurados: {}", shards.keySet());
+        return new ShardRoutingDataSource(shards, tenantRegistry);
+    }
+    
+    /**
+     * Aplica as migrações em todos os shards, com a mesma configuração do Flyway do Spring Boot.
+     * Shards adicionais não recebem os dados de exemplo (db/seed nem os inseridos por V1).
+     */
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardDirectory shardDirectory,
+                                                                ShardingProperties shardingProperties) {
+        return flyway -> shardDirectory.shardNames().forEach(name -> {
+            DataSource shardDataSource = shardDirectory.dataSource(name);
+            boolean defaultShard = ShardRoutingDataSource.DEFAULT_SHARD.equals(name);
+            logger.info("Aplicando migrações no shard {}", name);
+            Location[] locations = Arrays.stream(flyway.getConfiguration().getLocations())
+                .filter(location -> defaultShard || !SEED_LOCATION.equals(location.getPath()))
+                .toArray(Location[]::new);
+            MigrateResult result = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .locations(locations)
+                .dataSource(shardDataSource)
+                .load()
+                .migrate();
+            
+            // Esquema criado agora: as únicas linhas do shard são as de exemplo de V1
+            if (!defaultShard && result.initialSchemaVersion == null && result.migrationsExecuted > 0) {
+                removeV1SeedData(shardDataSource);
+            }
+            
+            ShardingProperties.Shard shard = shardingProperties.getShards().get(name);
+            if (shard != null && shard.getIdStart() != null) {
+                reserveIdRange(shardDataSource, shard.getIdStart());
+            }
+        });
+    }
+    
+    /**
+     * Remove do shard recém-criado os dados de exemplo inseridos por V1, que pertencem
+     * ao shard padrão e colidiriam com a empresa e os usuários do diretório
+     */
+    private void removeV1SeedData(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : V1_SEED_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE tenant_id = ?", V1_SEED_TENANT);
+        }
+    }
+    
+    /**
+     * Avança as sequências do shard para o início da sua faixa de IDs
+     */
+    private void reserveIdRange(DataSource dataSource, long idStart) {
+        new JdbcTemplate(dataSource).query(
+            "SELECT setval(format('%I.%I', schemaname, sequencename), ?, false) " +
+            "FROM pg_sequences WHERE schemaname = current_schema() " +
+            "AND (last_value IS NULL OR last_value < ?)",
+            rs -> { },
+            idStart, idStart);
+    }
+    
+    private HikariDataSource createPool(String name, String url, String username, String password, int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return dataSource;
+    }
+}
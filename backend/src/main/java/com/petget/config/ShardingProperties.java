@@ -0,0 +1,157 @@
+package com.petget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração do particionamento de tenants entre bancos (shards).
+ * O shard "default" é sempre o banco de spring.datasource, que também guarda o
+ * diretório de tenants (empresas.shard) e as tabelas globais.
+ */
+@ConfigurationProperties(prefix = "petget.sharding")
+public class ShardingProperties {
+    
+    private boolean enabled;
+    
+    // Tamanho do pool de conexões por shard, quando não definido no próprio shard
+    private int maximumPoolSize = 10;
+    
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+    
+    private Migration migration = new Migration();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+    
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+    
+    public Map<String, Shard> getShards() {
+        return shards;
+    }
+    
+    public void setShards(Map<String, Shard> shards) {
+        this.shards = shards;
+    }
+    
+    public Migration getMigration() {
+        return migration;
+    }
+    
+    public void setMigration(Migration migration) {
+        this.migration = migration;
+    }
+    
+    /**
+     * Conexão de um shard adicional
+     */
+    public static class Shard {
+        
+        private String url;
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+        
+        // Início da faixa de IDs do shard; evita colisão de IDs ao mover tenants entre shards
+        private Long idStart;
+        
+        public String getUrl() {
+            return url;
+        }
+        
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+        
+        public Integer getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+        
+        public void setMaximumPoolSize(Integer maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+        
+        public Long getIdStart() {
+            return idStart;
+        }
+        
+        public void setIdStart(Long idStart) {
+            this.idStart = idStart;
+        }
+    }
+    
+    /**
+     * Parâmetros da migração de um tenant entre shards (TenantShardMigrator)
+     */
+    public static class Migration {
+        
+        // Quando definidos, a aplicação migra o tenant na inicialização e encerra
+        private String tenant;
+        private String target;
+        
+        private int batchSize = 500;
+        
+        // Espera após bloquear escritas, para transações em andamento terminarem
+        private long freezeGraceMs = 2000;
+        
+        public String getTenant() {
+            return tenant;
+        }
+        
+        public void setTenant(String tenant) {
+            this.tenant = tenant;
+        }
+        
+        public String getTarget() {
+            return target;
+        }
+        
+        public void setTarget(String target) {
+            this.target = target;
+        }
+        
+        public int getBatchSize() {
+            return batchSize;
+        }
+        
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+        
+        public long getFreezeGraceMs() {
+            return freezeGraceMs;
+        }
+        
+        public void setFreezeGraceMs(long freezeGraceMs) {
+            this.freezeGraceMs = freezeGraceMs;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.petget.config;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedNameParser;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Nomeia a sequência de IDs de cada entidade como {tabela}_id_seq, o nome criado pelo
+ * PostgreSQL para as colunas BIGSERIAL existentes. Assim todas as entidades compartilham
+ * a declaração de ID da BaseEntity e continuam usando as sequências das migrações.
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+    
+    @Override
+    public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+                                               Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String table = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        return new QualifiedSequenceName(catalogName, schemaName, Identifier.toIdentifier(table + "_id_seq"));
+    }
+    
+    @Override
+    public QualifiedName determineTableName(Identifier catalogName, Identifier schemaName,
+                                            Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        return new QualifiedNameParser.NameParts(catalogName, schemaName, Identifier.toIdentifier(DEF_SEQUENCE));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.petget.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Aplica os bulkheads de conexão por tenant ao DataSource da aplicação
+ * (o pool do Spring Boot ou o ShardRoutingDataSource).
+ */
+@Configuration
+@EnableConfigurationProperties(TenantBulkheadProperties.class)
+public class TenantBulkheadConfig {
+    
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    
+    @Bean
+    public static BeanPostProcessor tenantBulkheadDataSourcePostProcessor(ObjectProvider<TenantBulkheads> bulkheads) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof TenantBulkheadDataSource)) {
+                    return new TenantBulkheadDataSource(dataSource, bulkheads);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.petget.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que passa cada obtenção de conexão com tenant no contexto pelo bulkhead
+ * do tenant. A permissão é devolvida quando a conexão é fechada (devolvida ao pool).
+ * Conexões adicionais obtidas pela mesma thread enquanto ela já possui uma permissão
+ * não consomem outra, evitando que o tenant bloqueie a si mesmo.
+ * Sem tenant (login, tarefas internas, migrações) a conexão é obtida diretamente.
+ */
+public class TenantBulkheadDataSource extends DelegatingDataSource implements DisposableBean {
+    
+    private static final ThreadLocal<int[]> heldPermits = ThreadLocal.withInitial(() -> new int[1]);
+    
+    // Obtido sob demanda: os bulkheads dependem do registro de tenants, que usa este DataSource
+    private final ObjectProvider<TenantBulkheads> bulkheads;
+    
+    public TenantBulkheadDataSource(DataSource targetDataSource, ObjectProvider<TenantBulkheads> bulkheads) {
+        super(targetDataSource);
+        this.bulkheads = bulkheads;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire(super::getConnection);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquire(() -> super.getConnection(username, password));
+    }
+    
+    private Connection acquire(ConnectionSupplier supplier) throws SQLException {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            // Sem tenant não instancia os bulkheads: as migrações do Flyway obtêm conexões
+            // antes de existirem as tabelas lidas pelo registro de tenants
+            return supplier.get();
+        }
+        TenantBulkheads tenantBulkheads = bulkheads.getIfAvailable();
+        int[] held = heldPermits.get();
+        if (tenantBulkheads == null || !tenantBulkheads.isEnabled() || held[0] > 0) {
+            return supplier.get();
+        }
+        
+        TenantBulkheads.Bulkhead bulkhead = tenantBulkheads.acquire(tenantId);
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+        held[0]++;
+        return wrap(connection, () -> {
+            held[0]--;
+            bulkhead.release();
+            return null;
+        });
+    }
+    
+    /**
+     * Envolve a conexão para liberar a permissão uma única vez no close()
+     */
+    private Connection wrap(Connection connection, Supplier<Void> onClose) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    try {
+                        return invoke(connection, method, args);
+                    } finally {
+                        onClose.get();
+                    }
+                }
+                if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                return invoke(connection, method, args);
+            });
+    }
+    
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        DataSource target = getTargetDataSource();
+        if (target instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (target instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
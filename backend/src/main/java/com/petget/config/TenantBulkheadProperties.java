@@ -0,0 +1,78 @@
+package com.petget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuração dos bulkheads de conexão por tenant (petget.bulkhead).
+ * Cada tenant pode ocupar no máximo uma fração do pool de conexões; requisições
+ * além disso aguardam em uma fila curta e, esgotada a espera, recebem 503.
+ */
+@ConfigurationProperties(prefix = "petget.bulkhead")
+public class TenantBulkheadProperties {
+    
+    private boolean enabled = true;
+    
+    // Fração do pool (maximum-pool-size do shard do tenant) disponível para um único tenant
+    private double share = 0.25;
+    
+    // Frações maiores por plano (empresas.plano)
+    private Map<String, Double> planShares = new HashMap<>();
+    
+    // Requisições do tenant aguardando conexão além das permitidas
+    private int queueSize = 8;
+    
+    private long maxWaitMs = 500;
+    
+    private long retryAfterSeconds = 1;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public double getShare() {
+        return share;
+    }
+    
+    public void setShare(double share) {
+        this.share = share;
+    }
+    
+    public Map<String, Double> getPlanShares() {
+        return planShares;
+    }
+    
+    public void setPlanShares(Map<String, Double> planShares) {
+        this.planShares = planShares;
+    }
+    
+    public int getQueueSize() {
+        return queueSize;
+    }
+    
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+    
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+    
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,151 @@
+package com.petget.config;
+
+import com.petget.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkheads de conexão por tenant: um semáforo por tenant limita quantas conexões
+ * do pool ele ocupa ao mesmo tempo, de modo que listagens ou exportações grandes de
+ * uma clínica não esgotem o pool das demais. O número de permissões é a fração
+ * configurada (ampliada pelo plano do tenant no registro de empresas) do
+ * maximum-pool-size do pool do shard do tenant.
+ *
+ * Métricas: petget.db.bulkhead.wait (agregada) e petget.db.bulkhead.rejected, com a
+ * tag tenant apenas nas rejeições para não criar séries para todos os tenants.
+ */
+@Component
+public class TenantBulkheads {
+    
+    @Autowired
+    private TenantBulkheadProperties properties;
+    
+    @Autowired
+    private TenantRegistry tenantRegistry;
+    
+    @Autowired
+    private ShardDirectory shardDirectory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    
+    private Timer waitTimer;
+    
+    @PostConstruct
+    public void init() {
+        waitTimer = Timer.builder("petget.db.bulkhead.wait")
+            .description("Espera por conexão nos bulkheads dos tenants")
+            .register(meterRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Obtém uma permissão de conexão para o tenant
+     * @param tenantId ID do tenant
+     * @return Bulkhead do qual a permissão foi obtida (para liberação)
+     * @throws ServiceUnavailableException se a fila do tenant estiver cheia ou a espera esgotar
+     */
+    public Bulkhead acquire(String tenantId) {
+        Bulkhead bulkhead = bulkheadFor(tenantId);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(properties.getQueueSize(), properties.getMaxWaitMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        
+        if (!acquired) {
+            Counter.builder("petget.db.bulkhead.rejected")
+                .description("Requisições rejeitadas pelo bulkhead do tenant")
+                .tag("tenant", tenantId)
+                .register(meterRegistry)
+                .increment();
+            throw new ServiceUnavailableException(
+                "Limite de acessos simultâneos da empresa atingido, tente novamente", properties.getRetryAfterSeconds());
+        }
+        return bulkhead;
+    }
+    
+    /**
+     * Obtém o bulkhead do tenant, recriando-o quando o plano ou o shard mudam
+     */
+    private Bulkhead bulkheadFor(String tenantId) {
+        TenantRegistry.TenantInfo tenant = tenantRegistry.getTenant(tenantId);
+        String plano = tenant != null ? tenant.plano() : null;
+        String shard = shardDirectory.shardOf(tenantId);
+        Bulkhead bulkhead = bulkheads.get(tenantId);
+        if (bulkhead != null && bulkhead.matches(plano, shard)) {
+            return bulkhead;
+        }
+        // Conexões em uso continuam liberando no bulkhead antigo
+        return bulkheads.compute(tenantId, (id, atual) ->
+            atual != null && atual.matches(plano, shard) ? atual : createBulkhead(plano, shard));
+    }
+    
+    private Bulkhead createBulkhead(String plano, String shard) {
+        double share = plano != null
+            ? properties.getPlanShares().getOrDefault(plano, properties.getShare())
+            : properties.getShare();
+        int permits = Math.max(1, (int) Math.floor(shardDirectory.maximumPoolSize(shard) * share));
+        return new Bulkhead(plano, shard, permits);
+    }
+    
+    /**
+     * Semáforo de conexões de um tenant, com fila de espera limitada
+     */
+    public static class Bulkhead {
+        
+        private final String plano;
+        private final String shard;
+        private final Semaphore semaphore;
+        private final AtomicInteger waiting = new AtomicInteger();
+        
+        Bulkhead(String plano, String shard, int permits) {
+            this.plano = plano;
+            this.shard = shard;
+            this.semaphore = new Semaphore(permits);
+        }
+        
+        boolean matches(String plano, String shard) {
+            return Objects.equals(this.plano, plano) && Objects.equals(this.shard, shard);
+        }
+        
+        boolean tryAcquire(int queueSize, long maxWaitMs) throws InterruptedException {
+            if (semaphore.tryAcquire()) {
+                return true;
+            }
+            if (waiting.incrementAndGet() > queueSize) {
+                waiting.decrementAndGet();
+                return false;
+            }
+            try {
+                return semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        
+        public void release() {
+            semaphore.release();
+        }
+    }
+}
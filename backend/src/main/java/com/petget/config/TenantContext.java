@@ -1,8 +1,11 @@
 package com.petget.config;
 
+import java.util.function.Supplier;
+
 /**
  * Classe para gerenciar o contexto do tenant atual na thread.
  * Utiliza ThreadLocal para isolar o tenantId por thread de execução.
+ * O contexto não passa sozinho para outras threads: veja TenantContextPropagation.
  */
 public class TenantContext {
     
@@ -31,6 +34,25 @@ public class TenantContext {
         currentTenant.remove();
     }
     
+    /**
+     * Executa uma ação sem tenant na thread, restaurando o tenant anterior ao final.
+     * Usado no acesso às tabelas globais (empresas, usuarios), que ficam no shard padrão:
+     * sem tenant a conexão é roteada ao shard padrão e nenhum filtro de tenant é aplicado.
+     * @param action Ação
+     * @return Resultado da ação
+     */
+    public static <T> T callWithoutTenant(Supplier<T> action) {
+        String previousTenant = currentTenant.get();
+        clear();
+        try {
+            return action.get();
+        } finally {
+            if (previousTenant != null) {
+                setCurrentTenant(previousTenant);
+            }
+        }
+    }
+    
     /**
      * Verifica se existe um tenant definido na thread atual
      * @return true se existe tenant, false caso contrário
@@ -38,4 +60,4 @@ public class TenantContext {
     public static boolean hasTenant() {
         return currentTenant.get() != null;
     }
-}
\ No newline at end of file
+}
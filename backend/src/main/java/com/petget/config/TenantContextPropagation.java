@@ -0,0 +1,137 @@
+package com.petget.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Propaga o tenant (TenantContext) e a autenticação (SecurityContextHolder) da thread
+ * que agenda uma tarefa para a thread que a executa. Sem isso, trabalho movido para
+ * @Async, CompletableFuture ou outro executor perde o tenant e roda sem filtro de tenant.
+ *
+ * O contexto é capturado no momento do agendamento; na execução, o contexto anterior
+ * da thread executora é salvo e restaurado ao final (inclusive quando a tarefa roda
+ * na própria thread chamadora, como em CallerRunsPolicy).
+ *
+ * Streams paralelos usam o ForkJoinPool comum e não são cobertos: use um executor
+ * envolvido por {@link #wrap(Executor)}.
+ */
+public final class TenantContextPropagation {
+    
+    private TenantContextPropagation() {
+    }
+    
+    /**
+     * Envolve uma tarefa com o contexto da thread atual
+     * @param task Tarefa
+     * @return Tarefa que executa com o tenant e a autenticação capturados
+     */
+    public static Runnable wrap(Runnable task) {
+        CapturedContext context = CapturedContext.capture();
+        return () -> context.run(() -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Envolve uma tarefa com o contexto da thread atual
+     * @param task Tarefa
+     * @return Tarefa que executa com o tenant e a autenticação capturados
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        CapturedContext context = CapturedContext.capture();
+        return () -> context.call(task);
+    }
+    
+    /**
+     * Envolve um Supplier (CompletableFuture.supplyAsync) com o contexto da thread atual
+     * @param supplier Supplier
+     * @return Supplier que executa com o tenant e a autenticação capturados
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> supplier) {
+        CapturedContext context = CapturedContext.capture();
+        return () -> context.run(supplier::get);
+    }
+    
+    /**
+     * Envolve um Consumer (ex: corpo de resposta em streaming, escrito em outra thread)
+     * com o contexto da thread atual
+     * @param consumer Consumer
+     * @return Consumer que executa com o tenant e a autenticação capturados
+     */
+    public static <T> Consumer<T> wrap(Consumer<T> consumer) {
+        CapturedContext context = CapturedContext.capture();
+        return value -> context.run(() -> {
+            consumer.accept(value);
+            return null;
+        });
+    }
+    
+    /**
+     * Envolve um executor para que toda tarefa submetida leve o contexto de quem a submeteu
+     * @param executor Executor original
+     * @return Executor com propagação de contexto
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+    
+    /**
+     * Contexto capturado na thread que agenda a tarefa
+     */
+    private record CapturedContext(String tenantId, Authentication authentication) {
+        
+        static CapturedContext capture() {
+            return new CapturedContext(
+                TenantContext.getCurrentTenant(),
+                SecurityContextHolder.getContext().getAuthentication());
+        }
+        
+        <T> T run(Supplier<T> task) {
+            String previousTenant = TenantContext.getCurrentTenant();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            
+            apply(tenantId);
+            // Contexto de segurança próprio da thread: o original não é compartilhado nem alterado
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(authentication);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return task.get();
+            } finally {
+                apply(previousTenant);
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        }
+        
+        <T> T call(Callable<T> task) throws Exception {
+            Exception[] failure = new Exception[1];
+            T result = run(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    failure[0] = e;
+                    return null;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            return result;
+        }
+        
+        private static void apply(String tenantId) {
+            if (tenantId != null) {
+                TenantContext.setCurrentTenant(tenantId);
+            } else {
+                TenantContext.clear();
+            }
+        }
+    }
+}
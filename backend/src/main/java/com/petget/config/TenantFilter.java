@@ -2,34 +2,101 @@ package com.petget.config;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.annotation.PostConstruct;
 import org.hibernate.Filter;
 import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
 /**
  * Componente responsável por aplicar filtros de tenant nas consultas JPA.
- * Utiliza filtros do Hibernate para isolar dados por tenant automaticamente.
+ * Modos de isolamento (petget.multitenancy.mode):
+ * - filter: filtro do Hibernate declarado em BaseEntity (padrão)
+ * - rls: Row-Level Security do PostgreSQL (V5), cobrindo também queries nativas
  */
 @Component
 public class TenantFilter {
     
+    private static final Logger logger = LoggerFactory.getLogger(TenantFilter.class);
+    
+    private static final String FILTER_NAME = "tenantFilter";
+    
     @PersistenceContext
     private EntityManager entityManager;
     
+    @Value("${petget.multitenancy.mode:filter}")
+    private String mode;
+    
+    @Value("${petget.multitenancy.rls-role:petget_tenant}")
+    private String rlsRole;
+    
+    private boolean rlsMode;
+    
+    @PostConstruct
+    public void init() {
+        rlsMode = "rls".equalsIgnoreCase(mode);
+        if (rlsMode && !rlsRole.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Nome de role inválido para RLS: " + rlsRole);
+        }
+        logger.info("Isolamento de tenant no modo: {}", rlsMode ? "rls" : "filter");
+    }
+    
     /**
      * Aplica o filtro de tenant para a sessão atual
      */
     public void applyTenantFilter() {
+        applyTenantFilter(entityManager);
+    }
+    
+    /**
+     * Aplica o filtro de tenant para a sessão informada.
+     * Sem tenant no contexto, desativa um filtro que tenha ficado ativo na sessão
+     * (o EntityManager pode ser reaproveitado entre transações da mesma requisição).
+     * @param targetEntityManager EntityManager da transação
+     */
+    public void applyTenantFilter(EntityManager targetEntityManager) {
         String tenantId = TenantContext.getCurrentTenant();
+        Session session = targetEntityManager.unwrap(Session.class);
+        
+        if (rlsMode) {
+            applyRowLevelSecurity(session, tenantId);
+            return;
+        }
         
         if (tenantId != null) {
-            Session session = entityManager.unwrap(Session.class);
-            Filter filter = session.enableFilter("tenantFilter");
+            Filter filter = session.enableFilter(FILTER_NAME);
             filter.setParameter("tenantId", tenantId);
-            System.out.println("[DEBUG] Filtro de tenant aplicado: " + tenantId);
-        } else {
-            System.out.println("[DEBUG] Nenhum tenant no contexto para aplicar filtro");
+            logger.trace("Filtro de tenant aplicado: {}", tenantId);
+        } else if (session.getEnabledFilter(FILTER_NAME) != null) {
+            session.disableFilter(FILTER_NAME);
+            logger.trace("Filtro de tenant desativado: nenhum tenant no contexto");
+        }
+    }
+    
+    /**
+     * Restringe a transação ao tenant via RLS: assume a role sujeita às políticas
+     * e define app.tenant_id. Ambos valem apenas até o fim da transação.
+     * Sem tenant (login, tarefas internas) a conexão mantém o usuário dono das tabelas.
+     */
+    private void applyRowLevelSecurity(Session session, String tenantId) {
+        if (tenantId == null) {
+            return;
         }
+        session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL ROLE " + rlsRole);
+            }
+            try (PreparedStatement ps = connection.prepareStatement("SELECT set_config('app.tenant_id', ?, true)")) {
+                ps.setString(1, tenantId);
+                ps.execute();
+            }
+        });
+        logger.trace("Tenant aplicado via RLS: {}", tenantId);
     }
     
     /**
@@ -37,6 +104,6 @@ public class TenantFilter {
      */
     public void removeTenantFilter() {
         Session session = entityManager.unwrap(Session.class);
-        session.disableFilter("tenantFilter");
+        session.disableFilter(FILTER_NAME);
     }
-}
\ No newline at end of file
+}
@@ -4,12 +4,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.io.IOException;
+
 /**
  * Interceptor para capturar e definir o tenant ID a partir do header da requisição.
- * O tenant ID é extraído do header 'X-Tenant-ID' e armazenado no TenantContext.
+ * O tenant ID é extraído do header 'X-Tenant-ID', validado contra o registro de
+ * empresas ativas e armazenado no TenantContext.
  */
 @Component
 public class TenantInterceptor implements HandlerInterceptor {
@@ -17,12 +21,24 @@ public class TenantInterceptor implements HandlerInterceptor {
     private static final Logger logger = LoggerFactory.getLogger(TenantInterceptor.class);
     private static final String TENANT_HEADER = "X-Tenant-ID";
     
+    @Autowired
+    private TenantRegistry tenantRegistry;
+    
     @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
         String tenantId = request.getHeader(TENANT_HEADER);
         
         if (tenantId != null && !tenantId.trim().isEmpty()) {
-            TenantContext.setCurrentTenant(tenantId.trim());
+            tenantId = tenantId.trim();
+            TenantRegistry.TenantInfo tenant = tenantRegistry.getTenant(tenantId);
+            if (tenant == null) {
+                logger.warn("Tenant inexistente ou inativo: {}", tenantId);
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"Acesso negado: tenant inválido ou inativo\"}");
+                return false;
+            }
+            TenantContext.setCurrentTenant(tenantId);
             logger.debug("Tenant ID definido: {}", tenantId);
         } else {
             // Para endpoints públicos (login, health check, etc.), não é obrigatório ter tenant
@@ -0,0 +1,115 @@
+package com.petget.config;
+
+import com.petget.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro em memória das empresas (tenants) ativas.
+ * Mantém um snapshot imutável com identificador externo (tenant_id), plano, limites e
+ * shard. Consultas são O(1) e sem locks: o snapshot inteiro é substituído a cada recarga. Alterações em empresas chegam via LISTEN/NOTIFY (V7),
+ * de modo que todos os nós enxergam uma empresa desativada em milissegundos.
+ */
+@Component
+public class TenantRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TenantRegistry.class);
+    
+    private static final String CHANNEL = "empresas_alteradas";
+    
+    // Escritas de um tenant em migração entre shards são recusadas com este Retry-After
+    private static final long MIGRATION_RETRY_AFTER_SECONDS = 5;
+    
+    @Autowired
+    private ShardDirectory shardDirectory;
+    
+    @Autowired
+    private DatabaseNotificationListener notificationListener;
+    
+    private volatile Snapshot snapshot = new Snapshot(Map.of());
+    
+    @PostConstruct
+    public void init() {
+        reload();
+        // Ao (re)conectar recarrega o snapshot, cobrindo notificações perdidas enquanto desconectado
+        notificationListener.subscribe(CHANNEL, tenantIds -> reload(), this::reload);
+    }
+    
+    /**
+     * Obtém os dados de um tenant ativo
+     * @param tenantId ID externo do tenant
+     * @return Dados do tenant ou null se não existir ou estiver inativo
+     */
+    public TenantInfo getTenant(String tenantId) {
+        return tenantId != null ? snapshot.byTenantId().get(tenantId) : null;
+    }
+    
+    /**
+     * Verifica se o tenant existe e está ativo
+     * @param tenantId ID externo do tenant
+     * @return true se ativo
+     */
+    public boolean isActive(String tenantId) {
+        return getTenant(tenantId) != null;
+    }
+    
+    /**
+     * Recusa escritas de um tenant cujos dados estão sendo movidos entre shards
+     * @param tenantId ID externo do tenant
+     * @throws ServiceUnavailableException se as escritas do tenant estiverem bloqueadas
+     */
+    public void assertWritable(String tenantId) {
+        TenantInfo tenant = getTenant(tenantId);
+        if (tenant != null && tenant.bloqueado()) {
+            throw new ServiceUnavailableException(
+                "Dados da empresa em manutenção, tente novamente em instantes", MIGRATION_RETRY_AFTER_SECONDS);
+        }
+    }
+    
+    /**
+     * Recarrega o snapshot das empresas ativas
+     */
+    public void reload() {
+        List<TenantInfo> tenants = shardDirectory.directoryJdbcTemplate().query(
+            "SELECT tenant_id, plano, limite_usuarios, limite_clientes, shard, shard_bloqueado " +
+            "FROM empresas WHERE ativo = true",
+            (rs, rowNum) -> new TenantInfo(
+                rs.getString("tenant_id"),
+                rs.getString("plano"),
+                (Integer) rs.getObject("limite_usuarios"),
+                (Integer) rs.getObject("limite_clientes"),
+                rs.getString("shard"),
+                rs.getBoolean("shard_bloqueado")));
+        
+        Map<String, TenantInfo> byTenantId = new HashMap<>();
+        for (TenantInfo tenant : tenants) {
+            byTenantId.put(tenant.tenantId(), tenant);
+        }
+        snapshot = new Snapshot(Map.copyOf(byTenantId));
+        logger.debug("Registro de tenants recarregado: {} empresas ativas", tenants.size());
+    }
+    
+    /**
+     * Dados de uma empresa ativa
+     * @param tenantId ID externo do tenant
+     * @param plano Plano contratado
+     * @param limiteUsuarios Limite de usuários (null se ilimitado)
+     * @param limiteClientes Limite de clientes (null se ilimitado)
+     * @param shard Shard que guarda os dados do tenant
+     * @param bloqueado Escritas suspensas durante migração entre shards
+     */
+    public record TenantInfo(String tenantId, String plano,
+                             Integer limiteUsuarios, Integer limiteClientes,
+                             String shard, boolean bloqueado) {
+    }
+    
+    private record Snapshot(Map<String, TenantInfo> byTenantId) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.petget.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Configuração do gerenciador de transações com ativação do filtro de tenant.
+ * Substitui o JpaTransactionManager padrão do Spring Boot.
+ */
+@Configuration
+public class TenantTransactionConfig {
+    
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         TenantFilter tenantFilter,
+                                                         TenantRegistry tenantRegistry) {
+        return new TenantTransactionManager(entityManagerFactory, tenantFilter, tenantRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.petget.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gerenciador de transações JPA que ativa o filtro de tenant uma única vez
+ * no início de cada transação, em vez de a cada chamada de repositório.
+ * Métodos de repositório sempre executam em transação, própria ou herdada do
+ * serviço: os do Spring Data por padrão e os declarados (@Query, fragmentos) pelo
+ * @Transactional(readOnly = true) de BaseRepository. Toda consulta passa por este ponto.
+ */
+public class TenantTransactionManager extends JpaTransactionManager {
+    
+    private final TenantFilter tenantFilter;
+    
+    private final TenantRegistry tenantRegistry;
+    
+    public TenantTransactionManager(EntityManagerFactory entityManagerFactory, TenantFilter tenantFilter,
+                                    TenantRegistry tenantRegistry) {
+        super(entityManagerFactory);
+        this.tenantFilter = tenantFilter;
+        this.tenantRegistry = tenantRegistry;
+    }
+    
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        // Transações de escrita são recusadas enquanto o tenant é movido entre shards
+        if (!definition.isReadOnly() && TenantContext.hasTenant()) {
+            tenantRegistry.assertWritable(TenantContext.getCurrentTenant());
+        }
+        super.doBegin(transaction, definition);
+        
+        EntityManagerHolder holder = (EntityManagerHolder) 
+            TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        if (holder != null) {
+            EntityManager entityManager = holder.getEntityManager();
+            tenantFilter.applyTenantFilter(entityManager);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.petget.dto.auth.LoginRequest;
 import com.petget.dto.auth.LoginResponse;
 import com.petget.dto.auth.RefreshTokenRequest;
 import com.petget.dto.auth.RefreshTokenResponse;
+import com.petget.security.AuthRateLimiter;
 import com.petget.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +26,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+    
     /**
      * Realiza o login do usuário
      * @param loginRequest Dados de login (email e senha)
@@ -31,7 +36,9 @@ public class AuthController {
      */
     @PostMapping("/login")
     @Operation(summary = "Login do usuário", description = "Autentica o usuário e retorna token JWT")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                               HttpServletRequest request) {
+        authRateLimiter.check(request.getRemoteAddr(), loginRequest.getEmail());
         LoginResponse response = authService.login(loginRequest);
         return ResponseEntity.ok(response);
     }
@@ -43,7 +50,9 @@ public class AuthController {
      */
     @PostMapping("/refresh")
     @Operation(summary = "Renovar token", description = "Renova o token de acesso usando refresh token")
-    public ResponseEntity<RefreshTokenResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+    public ResponseEntity<RefreshTokenResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest,
+                                                             HttpServletRequest request) {
+        authRateLimiter.check(request.getRemoteAddr(), null);
         RefreshTokenResponse response = authService.refreshToken(refreshRequest);
         return ResponseEntity.ok(response);
     }
@@ -67,7 +76,9 @@ public class AuthController {
      */
     @GetMapping("/validate")
     @Operation(summary = "Validar token", description = "Verifica se o token JWT é válido")
-    public ResponseEntity<String> validateToken(@RequestHeader("Authorization") String authorization) {
+    public ResponseEntity<String> validateToken(@RequestHeader("Authorization") String authorization,
+                                                HttpServletRequest request) {
+        authRateLimiter.check(request.getRemoteAddr(), null);
         boolean isValid = authService.validateToken(authorization);
         if (isValid) {
             return ResponseEntity.ok("Token válido");
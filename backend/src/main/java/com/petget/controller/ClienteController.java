@@ -1,18 +1,38 @@
 package com.petget.controller;
 
+import com.petget.dto.AutocompleteResponse;
+import com.petget.dto.BatchResponse;
 import com.petget.dto.ClienteRequest;
 import com.petget.dto.ClienteResponse;
+import com.petget.dto.CursorPage;
+import com.petget.dto.ImportacaoResponse;
+import com.petget.exception.BadRequestException;
+import com.petget.service.ClienteAutocompleteService;
+import com.petget.service.ClienteExportService;
+import com.petget.service.ClienteImportService;
 import com.petget.service.ClienteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Controller responsável pelo gerenciamento de clientes.
@@ -23,22 +43,69 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Clientes", description = "Endpoints para gerenciamento de clientes")
 public class ClienteController {
     
+    // Folga sobre o tempo máximo da exportação, para que ela seja interrompida pelo serviço
+    private static final long EXPORT_TIMEOUT_MARGIN_MS = 60_000;
+    
     @Autowired
     private ClienteService clienteService;
     
+    @Autowired
+    private ClienteAutocompleteService clienteAutocompleteService;
+    
+    @Autowired
+    private ClienteImportService clienteImportService;
+    
+    @Autowired
+    private ClienteExportService clienteExportService;
+    
     /**
      * Lista todos os clientes do tenant
+     * @param fields Campos a retornar, separados por vírgula (opcional; padrão: todos)
      * @param pageable Configuração de paginação
      * @return Página de clientes
      */
     @GetMapping
-    @Operation(summary = "Listar clientes", description = "Lista todos os clientes do tenant com paginação")
+    @Operation(summary = "Listar clientes", description = "Lista todos os clientes do tenant com paginação; fields= limita os campos retornados")
     @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
-    public ResponseEntity<Page<ClienteResponse>> listarClientes(Pageable pageable) {
+    public ResponseEntity<Page<?>> listarClientes(
+            @RequestParam(required = false) List<String> fields,
+            Pageable pageable) {
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(clienteService.listarCampos(fields, false, pageable));
+        }
         Page<ClienteResponse> clientes = clienteService.listarClientes(pageable);
         return ResponseEntity.ok(clientes);
     }
     
+    /**
+     * Lista os clientes do tenant por nome, paginando por cursor
+     * @param cursor Cursor "next" da página anterior (ausente na primeira página)
+     * @param size Tamanho da página
+     * @return Página de clientes com o cursor da próxima página
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Listar clientes por cursor", description = "Lista os clientes do tenant ordenados por nome, com paginação por cursor e sem contagem total")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<CursorPage<ClienteResponse>> listarClientesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ClienteResponse> clientes = clienteService.listarClientes(cursor, size);
+        return ResponseEntity.ok(clientes);
+    }
+    
+    /**
+     * Busca vários clientes por ID em uma única requisição
+     * @param ids IDs dos clientes, separados por vírgula
+     * @return Clientes na ordem dos IDs e IDs não encontrados
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "Buscar clientes por IDs", description = "Retorna vários clientes em uma consulta, na ordem dos IDs, informando os não encontrados")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<BatchResponse<ClienteResponse>> buscarClientesPorIds(@RequestParam List<Long> ids) {
+        BatchResponse<ClienteResponse> clientes = clienteService.buscarPorIds(ids);
+        return ResponseEntity.ok(clientes);
+    }
+    
     /**
      * Busca cliente por ID
      * @param id ID do cliente
@@ -65,6 +132,83 @@ public class ClienteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(cliente);
     }
     
+    /**
+     * Importa clientes e pets em massa a partir de CSV (cabeçalho com os nomes dos campos,
+     * separado por vírgula ou ponto e vírgula, pets nas colunas pet_*) ou NDJSON
+     * (um ClienteImportRequest por linha, pets no array pets)
+     * @param contentType text/csv ou application/x-ndjson
+     * @param conteudo Arquivo enviado como corpo da requisição
+     * @return Importação iniciada; o andamento é consultado em /clientes/import/{id}
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importar clientes", description = "Importa clientes e pets de um arquivo CSV ou NDJSON em segundo plano")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<ImportacaoResponse> importarClientes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream conteudo) {
+        ImportacaoResponse importacao = clienteImportService.iniciar(conteudo, contentType);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/clientes/import/" + importacao.getId())
+                .body(importacao);
+    }
+    
+    /**
+     * Exporta todos os clientes do tenant, lidos e escritos em fluxo
+     * @param formato ndjson ou csv
+     * @param pets true para incluir os pets (uma linha por pet, colunas pet_*)
+     * @param gzip false para desativar a compressão
+     * @param acceptEncoding Codificações aceitas pelo cliente HTTP
+     * @param request Requisição, cujo tempo assíncrono é estendido só para a exportação
+     * @return Arquivo de exportação
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Exportar clientes", description = "Exporta todos os clientes do tenant (e opcionalmente os pets) em NDJSON ou CSV, com gzip")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<StreamingResponseBody> exportarClientes(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestParam(defaultValue = "false") boolean pets,
+            @RequestParam(defaultValue = "true") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        ClienteExportService.Formato tipo;
+        try {
+            tipo = ClienteExportService.Formato.valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Formato inválido: use ndjson ou csv");
+        }
+        // Comprime apenas quando o cliente HTTP aceita gzip
+        boolean comprimir = gzip && acceptEncoding != null && acceptEncoding.contains("gzip");
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(tipo == ClienteExportService.Formato.CSV
+                    ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                    : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"clientes." + tipo.name().toLowerCase(Locale.ROOT) + "\"");
+        if (comprimir) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // O corpo é escrito de forma assíncrona; o timeout padrão vale para os demais endpoints
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(clienteExportService.getMaxDurationMs() + EXPORT_TIMEOUT_MARGIN_MS);
+        }
+        return response.body(clienteExportService.criarExportacao(tipo, pets, comprimir));
+    }
+    
+    /**
+     * Consulta o andamento de uma importação
+     * @param id ID da importação
+     * @return Andamento e erros por linha
+     */
+    @GetMapping("/import/{id}")
+    @Operation(summary = "Andamento da importação", description = "Retorna o andamento e os erros por linha de uma importação de clientes")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<ImportacaoResponse> consultarImportacao(@PathVariable String id) {
+        ImportacaoResponse importacao = clienteImportService.consultar(id);
+        return ResponseEntity.ok(importacao);
+    }
+    
     /**
      * Atualiza um cliente existente
      * @param id ID do cliente
@@ -97,19 +241,39 @@ public class ClienteController {
     /**
      * Busca clientes por nome
      * @param nome Nome ou parte do nome
+     * @param contagem Se false, omite o total de resultados e informa apenas se há próxima página
      * @param pageable Configuração de paginação
      * @return Página de clientes
      */
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar clientes por nome", description = "Busca clientes por nome ou parte do nome")
+    @Operation(summary = "Buscar clientes por nome", description = "Busca clientes por nome ou parte do nome; contagem=false dispensa o total de resultados")
     @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
-    public ResponseEntity<Page<ClienteResponse>> buscarClientesPorNome(
+    public ResponseEntity<Slice<ClienteResponse>> buscarClientesPorNome(
             @RequestParam String nome, 
+            @RequestParam(defaultValue = "true") boolean contagem,
             Pageable pageable) {
-        Page<ClienteResponse> clientes = clienteService.buscarPorNome(nome, pageable);
+        Slice<ClienteResponse> clientes = contagem
+            ? clienteService.buscarPorNome(nome, pageable)
+            : clienteService.buscarPorNomeSemContagem(nome, pageable);
         return ResponseEntity.ok(clientes);
     }
     
+    /**
+     * Sugestões de clientes e pets para campos de busca (type-ahead)
+     * @param q Texto digitado: nome, CPF/CNPJ ou telefone
+     * @param limit Máximo de sugestões
+     * @return Sugestões
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete de clientes e pets", description = "Sugere clientes e pets pelo início do nome, CPF/CNPJ ou telefone")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<List<AutocompleteResponse>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<AutocompleteResponse> sugestoes = clienteAutocompleteService.sugerir(q, limit);
+        return ResponseEntity.ok(sugestoes);
+    }
+    
     /**
      * Busca cliente por CPF/CNPJ
      * @param cpfCnpj CPF ou CNPJ do cliente
@@ -125,14 +289,36 @@ public class ClienteController {
     
     /**
      * Lista apenas clientes ativos
+     * @param fields Campos a retornar, separados por vírgula (opcional; padrão: todos)
      * @param pageable Configuração de paginação
      * @return Página de clientes ativos
      */
     @GetMapping("/ativos")
-    @Operation(summary = "Listar clientes ativos", description = "Lista apenas os clientes ativos do tenant")
+    @Operation(summary = "Listar clientes ativos", description = "Lista apenas os clientes ativos do tenant; fields= limita os campos retornados")
     @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
-    public ResponseEntity<Page<ClienteResponse>> listarClientesAtivos(Pageable pageable) {
+    public ResponseEntity<Page<?>> listarClientesAtivos(
+            @RequestParam(required = false) List<String> fields,
+            Pageable pageable) {
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(clienteService.listarCampos(fields, true, pageable));
+        }
         Page<ClienteResponse> clientes = clienteService.listarClientesAtivos(pageable);
         return ResponseEntity.ok(clientes);
     }
+    
+    /**
+     * Lista apenas clientes ativos, paginando por cursor
+     * @param cursor Cursor "next" da página anterior (ausente na primeira página)
+     * @param size Tamanho da página
+     * @return Página de clientes ativos com o cursor da próxima página
+     */
+    @GetMapping("/ativos/scroll")
+    @Operation(summary = "Listar clientes ativos por cursor", description = "Lista os clientes ativos do tenant com paginação por cursor e sem contagem total")
+    @PreAuthorize("hasAuthority('PERM_CLIENTE_VIEW') or hasAuthority('PERM_CLIENTE_MANAGE')")
+    public ResponseEntity<CursorPage<ClienteResponse>> listarClientesAtivosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ClienteResponse> clientes = clienteService.listarClientesAtivos(cursor, size);
+        return ResponseEntity.ok(clientes);
+    }
 }
\ No newline at end of file
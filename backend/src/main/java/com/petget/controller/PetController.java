@@ -0,0 +1,56 @@
+package com.petget.controller;
+
+import com.petget.dto.BatchResponse;
+import com.petget.dto.CursorPage;
+import com.petget.dto.PetResponse;
+import com.petget.service.PetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller responsável pelas consultas de pets.
+ * Gerencia operações de pets com suporte a multi-tenancy.
+ */
+@RestController
+@RequestMapping("/pets")
+@Tag(name = "Pets", description = "Endpoints para gerenciamento de pets")
+public class PetController {
+    
+    @Autowired
+    private PetService petService;
+    
+    /**
+     * Busca vários pets por ID em uma única requisição
+     * @param ids IDs dos pets, separados por vírgula
+     * @return Pets na ordem dos IDs e IDs não encontrados
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "Buscar pets por IDs", description = "Retorna vários pets em uma consulta, na ordem dos IDs, informando os não encontrados")
+    @PreAuthorize("hasAuthority('PERM_PET_MANAGE')")
+    public ResponseEntity<BatchResponse<PetResponse>> buscarPetsPorIds(@RequestParam List<Long> ids) {
+        BatchResponse<PetResponse> pets = petService.buscarPorIds(ids);
+        return ResponseEntity.ok(pets);
+    }
+    
+    /**
+     * Lista apenas pets ativos, paginando por cursor
+     * @param cursor Cursor "next" da página anterior (ausente na primeira página)
+     * @param size Tamanho da página
+     * @return Página de pets ativos com o cursor da próxima página
+     */
+    @GetMapping("/ativos/scroll")
+    @Operation(summary = "Listar pets ativos por cursor", description = "Lista os pets ativos do tenant com paginação por cursor e sem contagem total")
+    @PreAuthorize("hasAuthority('PERM_PET_MANAGE')")
+    public ResponseEntity<CursorPage<PetResponse>> listarPetsAtivosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PetResponse> pets = petService.listarPetsAtivos(cursor, size);
+        return ResponseEntity.ok(pets);
+    }
+}
\ No newline at end of file
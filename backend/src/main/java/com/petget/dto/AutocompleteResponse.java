@@ -0,0 +1,65 @@
+package com.petget.dto;
+
+/**
+ * DTO para sugestões de autocomplete de clientes e pets.
+ */
+public class AutocompleteResponse {
+    
+    private String tipo;
+    private Long id;
+    private String nome;
+    private Long clienteId;
+    private String clienteNome;
+    
+    // Construtores
+    public AutocompleteResponse() {}
+    
+    public AutocompleteResponse(String tipo, Long id, String nome, Long clienteId, String clienteNome) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nome = nome;
+        this.clienteId = clienteId;
+        this.clienteNome = clienteNome;
+    }
+    
+    // Getters e Setters
+    public String getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+    
+    public Long getClienteId() {
+        return clienteId;
+    }
+    
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+    
+    public String getClienteNome() {
+        return clienteNome;
+    }
+    
+    public void setClienteNome(String clienteNome) {
+        this.clienteNome = clienteNome;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.petget.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * DTO para consultas em lote por lista de IDs.
+ * content segue a ordem dos IDs solicitados; naoEncontrados lista os IDs inexistentes
+ * (ou de outro tenant).
+ */
+public class BatchResponse<T> {
+    
+    private List<T> content;
+    private List<Long> naoEncontrados;
+    
+    // Construtores
+    public BatchResponse() {}
+    
+    public BatchResponse(List<T> content, List<Long> naoEncontrados) {
+        this.content = content;
+        this.naoEncontrados = naoEncontrados;
+    }
+    
+    /**
+     * Ordena os itens encontrados conforme os IDs solicitados e identifica os ausentes
+     * @param ids IDs solicitados, sem repetição
+     * @param encontrados Itens retornados pela consulta, em qualquer ordem
+     * @param idDe Função que obtém o ID de um item
+     * @return Resposta do lote
+     */
+    public static <T> BatchResponse<T> of(Collection<Long> ids, List<T> encontrados, Function<T, Long> idDe) {
+        Map<Long, T> porId = new HashMap<>();
+        for (T item : encontrados) {
+            porId.put(idDe.apply(item), item);
+        }
+        List<T> content = new ArrayList<>(ids.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : ids) {
+            T item = porId.get(id);
+            if (item != null) {
+                content.add(item);
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new BatchResponse<>(content, naoEncontrados);
+    }
+    
+    // Getters e Setters
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public List<Long> getNaoEncontrados() {
+        return naoEncontrados;
+    }
+    
+    public void setNaoEncontrados(List<Long> naoEncontrados) {
+        this.naoEncontrados = naoEncontrados;
+    }
+}
\ No newline at end of file
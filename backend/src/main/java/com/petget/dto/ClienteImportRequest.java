@@ -0,0 +1,27 @@
+package com.petget.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO de uma linha da importação de clientes: os dados do cliente e seus pets.
+ */
+public class ClienteImportRequest extends ClienteRequest {
+    
+    @Valid
+    private List<PetRequest> pets = new ArrayList<>();
+    
+    // Construtores
+    public ClienteImportRequest() {}
+    
+    // Getters e Setters
+    public List<PetRequest> getPets() {
+        return pets;
+    }
+    
+    public void setPets(List<PetRequest> pets) {
+        this.pets = pets != null ? pets : new ArrayList<>();
+    }
+}
\ No newline at end of file
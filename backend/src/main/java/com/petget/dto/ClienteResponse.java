@@ -35,6 +35,31 @@ public class ClienteResponse {
         this.ativo = ativo;
     }
     
+    /**
+     * Construtor das projeções de listagem (ClienteRepository.LIST_PROJECTION)
+     */
+    public ClienteResponse(Long id, String nome, String cpfCnpj, String email, String telefone,
+                           String celular, String endereco, String bairro, String cidade, String estado,
+                           String cep, String observacoes, Boolean ativo, String tenantId,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.nome = nome;
+        this.cpfCnpj = cpfCnpj;
+        this.email = email;
+        this.telefone = telefone;
+        this.celular = celular;
+        this.endereco = endereco;
+        this.bairro = bairro;
+        this.cidade = cidade;
+        this.estado = estado;
+        this.cep = cep;
+        this.observacoes = observacoes;
+        this.ativo = ativo;
+        this.tenantId = tenantId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
     // Getters e Setters
     public Long getId() {
         return id;
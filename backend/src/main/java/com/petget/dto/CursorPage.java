@@ -0,0 +1,53 @@
+package com.petget.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ * Não informa o total de registros: next é o cursor opaco da página seguinte,
+ * nulo na última página.
+ */
+public class CursorPage<T> {
+    
+    private List<T> content;
+    private int size;
+    private String next;
+    
+    // Construtores
+    public CursorPage() {}
+    
+    public CursorPage(List<T> content, int size, String next) {
+        this.content = content;
+        this.size = size;
+        this.next = next;
+    }
+    
+    // Getters e Setters
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public String getNext() {
+        return next;
+    }
+    
+    public void setNext(String next) {
+        this.next = next;
+    }
+    
+    public boolean isLast() {
+        return next == null;
+    }
+}
\ No newline at end of file
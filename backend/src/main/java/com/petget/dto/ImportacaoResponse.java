@@ -0,0 +1,103 @@
+package com.petget.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO com o andamento de uma importação de clientes e pets.
+ */
+public class ImportacaoResponse {
+    
+    private String id;
+    private String status;
+    private long linhasProcessadas;
+    private long importados;
+    private long petsImportados;
+    private long rejeitados;
+    private List<ErroLinha> erros;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+    
+    // Construtores
+    public ImportacaoResponse() {}
+    
+    // Getters e Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public long getLinhasProcessadas() {
+        return linhasProcessadas;
+    }
+    
+    public void setLinhasProcessadas(long linhasProcessadas) {
+        this.linhasProcessadas = linhasProcessadas;
+    }
+    
+    public long getImportados() {
+        return importados;
+    }
+    
+    public void setImportados(long importados) {
+        this.importados = importados;
+    }
+    
+    public long getPetsImportados() {
+        return petsImportados;
+    }
+    
+    public void setPetsImportados(long petsImportados) {
+        this.petsImportados = petsImportados;
+    }
+    
+    public long getRejeitados() {
+        return rejeitados;
+    }
+    
+    public void setRejeitados(long rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+    
+    public List<ErroLinha> getErros() {
+        return erros;
+    }
+    
+    public void setErros(List<ErroLinha> erros) {
+        this.erros = erros;
+    }
+    
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+    
+    public void setIniciadoEm(LocalDateTime iniciadoEm) {
+        this.iniciadoEm = iniciadoEm;
+    }
+    
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+    
+    public void setConcluidoEm(LocalDateTime concluidoEm) {
+        this.concluidoEm = concluidoEm;
+    }
+    
+    /**
+     * Erro de uma linha do arquivo importado
+     * @param linha Número da linha no arquivo (1 = primeira linha)
+     * @param mensagem Motivo da rejeição
+     */
+    public record ErroLinha(long linha, String mensagem) {}
+}
\ No newline at end of file
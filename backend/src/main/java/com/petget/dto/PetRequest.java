@@ -0,0 +1,139 @@
+package com.petget.dto;
+
+import com.petget.enums.EspeciePet;
+import com.petget.enums.SexoPet;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO com os dados de um pet na importação de clientes.
+ */
+public class PetRequest {
+    
+    @NotBlank(message = "Nome do pet é obrigatório")
+    @Size(max = 50, message = "Nome do pet deve ter no máximo 50 caracteres")
+    private String nome;
+    
+    @NotNull(message = "Espécie é obrigatória")
+    private EspeciePet especie;
+    
+    @Size(max = 50, message = "Raça deve ter no máximo 50 caracteres")
+    private String raca;
+    
+    private SexoPet sexo;
+    
+    private LocalDate dataNascimento;
+    
+    @Positive(message = "Peso deve ser um valor positivo")
+    @Digits(integer = 3, fraction = 2, message = "Peso deve ter no máximo 3 dígitos inteiros e 2 decimais")
+    private BigDecimal peso;
+    
+    @Size(max = 50, message = "Cor deve ter no máximo 50 caracteres")
+    private String cor;
+    
+    @Size(max = 20, message = "Microchip deve ter no máximo 20 caracteres")
+    private String microchip;
+    
+    private String observacoes;
+    
+    private Boolean ativo = true;
+    
+    // Construtores
+    public PetRequest() {}
+    
+    // Getters e Setters
+    public String getNome() {
+        return nome;
+    }
+    
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+    
+    public EspeciePet getEspecie() {
+        return especie;
+    }
+    
+    public void setEspecie(EspeciePet especie) {
+        this.especie = especie;
+    }
+    
+    public String getRaca() {
+        return raca;
+    }
+    
+    public void setRaca(String raca) {
+        this.raca = raca;
+    }
+    
+    public SexoPet getSexo() {
+        return sexo;
+    }
+    
+    public void setSexo(SexoPet sexo) {
+        this.sexo = sexo;
+    }
+    
+    public LocalDate getDataNascimento() {
+        return dataNascimento;
+    }
+    
+    public void setDataNascimento(LocalDate dataNascimento) {
+        this.dataNascimento = dataNascimento;
+    }
+    
+    public BigDecimal getPeso() {
+        return peso;
+    }
+    
+    public void setPeso(BigDecimal peso) {
+        this.peso = peso;
+    }
+    
+    public String getCor() {
+        return cor;
+    }
+    
+    public void setCor(String cor) {
+        this.cor = cor;
+    }
+    
+    public String getMicrochip() {
+        return microchip;
+    }
+    
+    public void setMicrochip(String microchip) {
+        this.microchip = microchip;
+    }
+    
+    public String getObservacoes() {
+        return observacoes;
+    }
+    
+    public void setObservacoes(String observacoes) {
+        this.observacoes = observacoes;
+    }
+    
+    public Boolean getAtivo() {
+        return ativo;
+    }
+    
+    public void setAtivo(Boolean ativo) {
+        this.ativo = ativo;
+    }
+    
+    @Override
+    public String toString() {
+        return "PetRequest{" +
+                "nome='" + nome + '\'' +
+                ", especie=" + especie +
+                ", ativo=" + ativo +
+                '}';
+    }
+}
\ No newline at end of file
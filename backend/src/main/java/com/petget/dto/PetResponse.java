@@ -0,0 +1,189 @@
+package com.petget.dto;
+
+import com.petget.enums.EspeciePet;
+import com.petget.enums.SexoPet;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO para respostas de consultas de pets.
+ */
+public class PetResponse {
+    
+    private Long id;
+    private String nome;
+    private EspeciePet especie;
+    private String raca;
+    private SexoPet sexo;
+    private LocalDate dataNascimento;
+    private BigDecimal peso;
+    private String cor;
+    private String fotoUrl;
+    private String microchip;
+    private String pedigree;
+    private Boolean ativo;
+    private Long clienteId;
+    private String tenantId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Construtores
+    public PetResponse() {}
+    
+    /**
+     * Construtor das projeções de consulta (PetRepository.LIST_PROJECTION):
+     * todas as colunas exceto observacoes
+     */
+    public PetResponse(Long id, String nome, EspeciePet especie, String raca, SexoPet sexo,
+                       LocalDate dataNascimento, BigDecimal peso, String cor, String fotoUrl,
+                       String microchip, String pedigree, Boolean ativo, Long clienteId, String tenantId,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.nome = nome;
+        this.especie = especie;
+        this.raca = raca;
+        this.sexo = sexo;
+        this.dataNascimento = dataNascimento;
+        this.peso = peso;
+        this.cor = cor;
+        this.fotoUrl = fotoUrl;
+        this.microchip = microchip;
+        this.pedigree = pedigree;
+        this.ativo = ativo;
+        this.clienteId = clienteId;
+        this.tenantId = tenantId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+    
+    public EspeciePet getEspecie() {
+        return especie;
+    }
+    
+    public void setEspecie(EspeciePet especie) {
+        this.especie = especie;
+    }
+    
+    public String getRaca() {
+        return raca;
+    }
+    
+    public void setRaca(String raca) {
+        this.raca = raca;
+    }
+    
+    public SexoPet getSexo() {
+        return sexo;
+    }
+    
+    public void setSexo(SexoPet sexo) {
+        this.sexo = sexo;
+    }
+    
+    public LocalDate getDataNascimento() {
+        return dataNascimento;
+    }
+    
+    public void setDataNascimento(LocalDate dataNascimento) {
+        this.dataNascimento = dataNascimento;
+    }
+    
+    public BigDecimal getPeso() {
+        return peso;
+    }
+    
+    public void setPeso(BigDecimal peso) {
+        this.peso = peso;
+    }
+    
+    public String getCor() {
+        return cor;
+    }
+    
+    public void setCor(String cor) {
+        this.cor = cor;
+    }
+    
+    public String getFotoUrl() {
+        return fotoUrl;
+    }
+    
+    public void setFotoUrl(String fotoUrl) {
+        this.fotoUrl = fotoUrl;
+    }
+    
+    public String getMicrochip() {
+        return microchip;
+    }
+    
+    public void setMicrochip(String microchip) {
+        this.microchip = microchip;
+    }
+    
+    public String getPedigree() {
+        return pedigree;
+    }
+    
+    public void setPedigree(String pedigree) {
+        this.pedigree = pedigree;
+    }
+    
+    public Boolean getAtivo() {
+        return ativo;
+    }
+    
+    public void setAtivo(Boolean ativo) {
+        this.ativo = ativo;
+    }
+    
+    public Long getClienteId() {
+        return clienteId;
+    }
+    
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
@@ -23,7 +23,8 @@ import java.util.Objects;
 public abstract class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "petget_id")
+    @SequenceGenerator(name = "petget_id", allocationSize = 50)
     private Long id;
 
     @CreatedDate
@@ -51,6 +51,17 @@ public class Empresa extends BaseEntity {
     @Column(name = "ativo", nullable = false)
     private Boolean ativo = true;
 
+    @Size(max = 30, message = "Plano deve ter no máximo 30 caracteres")
+    @Column(name = "plano", nullable = false, length = 30)
+    private String plano = "BASICO";
+
+    // Limites do plano; null indica sem limite
+    @Column(name = "limite_usuarios")
+    private Integer limiteUsuarios;
+
+    @Column(name = "limite_clientes")
+    private Integer limiteClientes;
+
     @Column(name = "logo_url")
     private String logoUrl;
 
@@ -142,6 +153,30 @@ public class Empresa extends BaseEntity {
         this.ativo = ativo;
     }
 
+    public String getPlano() {
+        return plano;
+    }
+
+    public void setPlano(String plano) {
+        this.plano = plano;
+    }
+
+    public Integer getLimiteUsuarios() {
+        return limiteUsuarios;
+    }
+
+    public void setLimiteUsuarios(Integer limiteUsuarios) {
+        this.limiteUsuarios = limiteUsuarios;
+    }
+
+    public Integer getLimiteClientes() {
+        return limiteClientes;
+    }
+
+    public void setLimiteClientes(Integer limiteClientes) {
+        this.limiteClientes = limiteClientes;
+    }
+
     public String getLogoUrl() {
         return logoUrl;
     }
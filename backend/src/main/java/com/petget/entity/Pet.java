@@ -2,6 +2,7 @@ package com.petget.entity;
 
 import com.petget.enums.EspeciePet;
 import com.petget.enums.SexoPet;
+import com.petget.service.PetEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -17,6 +18,7 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "pets")
+@EntityListeners(PetEntityListener.class)
 public class Pet extends BaseEntity {
 
     @NotBlank(message = "Nome do pet é obrigatório")
@@ -1,6 +1,7 @@
 package com.petget.entity;
 
 import com.petget.enums.PerfilUsuario;
+import com.petget.security.UsuarioEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -19,6 +20,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "usuarios")
+@EntityListeners(UsuarioEntityListener.class)
 public class Usuario extends BaseEntity implements UserDetails {
 
     @NotBlank(message = "Nome é obrigatório")
@@ -53,6 +55,10 @@ public class Usuario extends BaseEntity implements UserDetails {
     @Column(name = "foto_url")
     private String fotoUrl;
 
+    // Versão dos tokens emitidos; incrementada para revogar tokens já emitidos
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
     // Relacionamento com Empresa
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "empresa_id", nullable = false)
@@ -129,6 +135,9 @@ public class Usuario extends BaseEntity implements UserDetails {
     }
 
     public void setSenha(String senha) {
+        if (this.senha != null && !this.senha.equals(senha)) {
+            incrementarVersaoToken();
+        }
         this.senha = senha;
     }
 
@@ -137,6 +146,9 @@ public class Usuario extends BaseEntity implements UserDetails {
     }
 
     public void setPerfil(PerfilUsuario perfil) {
+        if (this.perfil != null && this.perfil != perfil) {
+            incrementarVersaoToken();
+        }
         this.perfil = perfil;
     }
 
@@ -145,6 +157,9 @@ public class Usuario extends BaseEntity implements UserDetails {
     }
 
     public void setAtivo(Boolean ativo) {
+        if (Boolean.TRUE.equals(this.ativo) && !Boolean.TRUE.equals(ativo)) {
+            incrementarVersaoToken();
+        }
         this.ativo = ativo;
     }
 
@@ -172,6 +187,22 @@ public class Usuario extends BaseEntity implements UserDetails {
         this.fotoUrl = fotoUrl;
     }
 
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * Invalida todos os tokens já emitidos para o usuário.
+     * Chamado automaticamente quando o usuário é desativado ou muda de perfil/senha.
+     */
+    public void incrementarVersaoToken() {
+        this.tokenVersion = (tokenVersion != null ? tokenVersion : 0) + 1;
+    }
+
     public Empresa getEmpresa() {
         return empresa;
     }
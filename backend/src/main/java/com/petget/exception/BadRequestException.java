@@ -0,0 +1,15 @@
+package com.petget.exception;
+
+/**
+ * Exceção lançada quando um parâmetro da requisição é inválido (ex: cursor de paginação).
+ */
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+    
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
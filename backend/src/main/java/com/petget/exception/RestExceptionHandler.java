@@ -0,0 +1,101 @@
+package com.petget.exception;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tratamento centralizado de exceções da API REST.
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RestExceptionHandler.class);
+    
+    /**
+     * Requisições rejeitadas por controle de admissão retornam 429 com Retry-After
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(TooManyRequestsException ex,
+                                                                    HttpServletRequest request) {
+        logger.warn("Requisição rejeitada por sobrecarga: {} ({})", request.getServletPath(), ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildBody(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request));
+    }
+    
+    /**
+     * Recursos temporariamente indisponíveis retornam 503 com Retry-After
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException ex,
+                                                                       HttpServletRequest request) {
+        logger.warn("Requisição rejeitada por indisponibilidade: {} ({})", request.getServletPath(), ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildBody(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request));
+    }
+    
+    /**
+     * Parâmetros inválidos retornam 400
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(BadRequestException ex,
+                                                               HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildBody(HttpStatus.BAD_REQUEST, ex.getMessage(), request));
+    }
+    
+    /**
+     * Conflitos de dados (ex: CPF/CNPJ ou email já cadastrado) retornam 409
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ConflictException ex,
+                                                             HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(buildBody(HttpStatus.CONFLICT, ex.getMessage(), request));
+    }
+    
+    /**
+     * Falha ao abrir transação: quando causada pelo bulkhead de conexões do tenant
+     * (ServiceUnavailableException ao obter a conexão), responde 503 com Retry-After
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleCannotCreateTransaction(CannotCreateTransactionException ex,
+                                                                            HttpServletRequest request) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServiceUnavailableException serviceUnavailable) {
+                return handleServiceUnavailable(serviceUnavailable, request);
+            }
+        }
+        
+        logger.error("Não foi possível abrir transação: {}", request.getServletPath(), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(buildBody(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao acessar o banco de dados", request));
+    }
+    
+    /**
+     * Monta o corpo padrão de erro, no mesmo formato do JwtAuthenticationEntryPoint
+     */
+    private Map<String, Object> buildBody(HttpStatus status, String message, HttpServletRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.getServletPath());
+        body.put("timestamp", LocalDateTime.now().toString());
+        return body;
+    }
+}
@@ -0,0 +1,24 @@
+package com.petget.exception;
+
+/**
+ * Exceção lançada quando uma requisição é rejeitada por controle de admissão
+ * (fila de processamento cheia ou limite de requisições excedido).
+ */
+public class TooManyRequestsException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
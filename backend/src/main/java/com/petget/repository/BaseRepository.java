@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,8 +13,12 @@ import java.util.Optional;
 /**
  * Repositório base com métodos específicos para multi-tenancy.
  * Todos os repositórios devem estender esta interface.
+ * Todo método (inclusive @Query declaradas nas subinterfaces) executa em transação,
+ * própria somente leitura ou herdada do serviço, para que o filtro de tenant seja
+ * ativado pelo TenantTransactionManager mesmo quando chamado fora de um serviço.
  */
 @NoRepositoryBean
+@Transactional(readOnly = true)
 public interface BaseRepository<T extends BaseEntity> extends JpaRepository<T, Long> {
     
     /**
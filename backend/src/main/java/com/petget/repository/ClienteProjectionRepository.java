@@ -0,0 +1,33 @@
+package com.petget.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de clientes com colunas escolhidas pelo cliente da API (parâmetro fields=).
+ * Implementada em ClienteProjectionRepositoryImpl e exposta por ClienteRepository.
+ */
+public interface ClienteProjectionRepository {
+    
+    /**
+     * Atributos de Cliente que podem ser solicitados em fields=
+     */
+    Collection<String> PROJECTABLE_FIELDS = List.of(
+        "id", "nome", "cpfCnpj", "email", "telefone", "celular", "endereco", "bairro",
+        "cidade", "estado", "cep", "observacoes", "ativo", "tenantId", "createdAt", "updatedAt");
+    
+    /**
+     * Lista clientes do tenant selecionando apenas os atributos informados
+     * @param tenantId ID do tenant
+     * @param somenteAtivos true para listar apenas clientes ativos
+     * @param fields Atributos a selecionar (subconjunto de PROJECTABLE_FIELDS); id é sempre incluído
+     * @param pageable Configuração de paginação
+     * @return Página de mapas atributo -> valor, na ordem dos atributos solicitados
+     */
+    Page<Map<String, Object>> findFieldsByTenantId(String tenantId, boolean somenteAtivos,
+                                                  Collection<String> fields, Pageable pageable);
+}
\ No newline at end of file
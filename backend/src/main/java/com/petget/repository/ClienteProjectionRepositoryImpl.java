@@ -0,0 +1,90 @@
+package com.petget.repository;
+
+import com.petget.entity.Cliente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementação de ClienteProjectionRepository com Criteria API e tuplas:
+ * o SELECT contém apenas as colunas solicitadas e nenhuma entidade é gerenciada.
+ * Fragmentos não herdam a transação declarada em BaseRepository.
+ */
+@Transactional(readOnly = true)
+public class ClienteProjectionRepositoryImpl implements ClienteProjectionRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<Map<String, Object>> findFieldsByTenantId(String tenantId, boolean somenteAtivos,
+                                                         Collection<String> fields, Pageable pageable) {
+        Set<String> atributos = new LinkedHashSet<>();
+        atributos.add("id");
+        atributos.addAll(fields);
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Cliente> root = query.from(Cliente.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String atributo : atributos) {
+            selections.add(root.get(atributo).alias(atributo));
+        }
+        query.multiselect(selections).where(predicates(cb, root, tenantId, somenteAtivos));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String atributo : atributos) {
+                row.put(atributo, tuple.get(atributo));
+            }
+            content.add(row);
+        }
+        
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(tenantId, somenteAtivos));
+    }
+    
+    private long count(String tenantId, boolean somenteAtivos) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Cliente> root = query.from(Cliente.class);
+        query.select(cb.count(root)).where(predicates(cb, root, tenantId, somenteAtivos));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Cliente> root, String tenantId, boolean somenteAtivos) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("tenantId"), tenantId));
+        if (somenteAtivos) {
+            predicates.add(cb.isTrue(root.get("ativo")));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
\ No newline at end of file
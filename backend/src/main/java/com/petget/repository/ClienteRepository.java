@@ -1,12 +1,15 @@
 package com.petget.repository;
 
+import com.petget.dto.ClienteResponse;
 import com.petget.entity.Cliente;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +18,16 @@ import java.util.Optional;
  * Inclui métodos específicos para busca e filtros.
  */
 @Repository
-public interface ClienteRepository extends BaseRepository<Cliente> {
+public interface ClienteRepository extends BaseRepository<Cliente>, ClienteProjectionRepository {
+    
+    /**
+     * Projeção das listagens: seleciona as colunas do ClienteResponse e cria os DTOs
+     * diretamente, sem entidades gerenciadas nem snapshots de dirty checking.
+     * Respostas mais enxutas (sem observacoes, por exemplo) são pedidas com fields=.
+     */
+    String LIST_PROJECTION = "SELECT new com.petget.dto.ClienteResponse(c.id, c.nome, c.cpfCnpj, c.email, " +
+        "c.telefone, c.celular, c.endereco, c.bairro, c.cidade, c.estado, c.cep, c.observacoes, c.ativo, " +
+        "c.tenantId, c.createdAt, c.updatedAt) FROM Cliente c ";
     
     /**
      * Busca uma entidade por ID e tenant ID
@@ -36,45 +48,154 @@ public interface ClienteRepository extends BaseRepository<Cliente> {
     Page<Cliente> findByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
     
     /**
-     * Busca clientes por nome (case insensitive)
-     * @param nome Nome ou parte do nome
+     * Lista os clientes do tenant como DTOs de resposta
      * @param tenantId ID do tenant
      * @param pageable Configuração de paginação
      * @return Página de clientes
      */
-    // Temporariamente comentado para debug
-    // @Query("SELECT c FROM Cliente c WHERE c.tenantId = :tenantId AND " +
-    //        "LOWER(c.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    // Page<Cliente> findByNomeContainingIgnoreCaseAndTenantId(
-    //     @Param("nome") String nome, 
-    //     @Param("tenantId") Long tenantId, 
-    //     Pageable pageable
-    // );
+    @Query(value = LIST_PROJECTION + "WHERE c.tenantId = :tenantId",
+           countQuery = "SELECT COUNT(c) FROM Cliente c WHERE c.tenantId = :tenantId")
+    Page<ClienteResponse> findResponsesByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+    
+    /**
+     * Lista os clientes do tenant como DTOs de resposta, sem contagem total
+     * @param tenantId ID do tenant
+     * @param pageable Configuração de paginação
+     * @return Fatia de clientes, indicando se há uma próxima
+     */
+    @Query(LIST_PROJECTION + "WHERE c.tenantId = :tenantId")
+    Slice<ClienteResponse> findResponseSliceByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+    
+    /**
+     * Lista os clientes ativos do tenant como DTOs de resposta
+     * @param tenantId ID do tenant
+     * @param pageable Configuração de paginação
+     * @return Página de clientes ativos
+     */
+    @Query(value = LIST_PROJECTION + "WHERE c.tenantId = :tenantId AND c.ativo = true",
+           countQuery = "SELECT COUNT(c) FROM Cliente c WHERE c.tenantId = :tenantId AND c.ativo = true")
+    Page<ClienteResponse> findResponsesByAtivoTrueAndTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+    
+    /**
+     * Busca clientes do tenant por IDs como DTOs de resposta (sem ordem definida)
+     * @param ids IDs dos clientes
+     * @param tenantId ID do tenant
+     * @return Clientes encontrados
+     */
+    @Query(LIST_PROJECTION + "WHERE c.tenantId = :tenantId AND c.id IN :ids")
+    List<ClienteResponse> findResponsesByIdInAndTenantId(
+        @Param("ids") Collection<Long> ids,
+        @Param("tenantId") String tenantId
+    );
+    
+    /**
+     * Busca clientes por nome, sem distinção de acentos e maiúsculas, ordenando pela
+     * similaridade com o termo. Compara com a coluna gerada nome_normalizado (V17), atendida
+     * pelo índice de trigramas idx_clientes_tenant_nome_trgm; o termo passa pela mesma
+     * normalização da coluna.
+     * @param nome Termo de busca
+     * @param padrao Termo com curingas de LIKE escapados
+     * @param tenantId ID do tenant
+     * @param pageable Configuração de paginação (sem ordenação)
+     * @return Página de IDs de clientes, na ordem de similaridade
+     */
+    @Query(value = "SELECT c.id FROM clientes c WHERE c.tenant_id = :tenantId AND " +
+                   "(c.nome_normalizado LIKE '%' || f_unaccent(lower(:padrao)) || '%' ESCAPE '\\' " +
+                   "OR f_unaccent(lower(:nome)) <% c.nome_normalizado) " +
+                   "ORDER BY word_similarity(f_unaccent(lower(:nome)), c.nome_normalizado) DESC, c.nome, c.id",
+           countQuery = "SELECT COUNT(*) FROM clientes c WHERE c.tenant_id = :tenantId AND " +
+                   "(c.nome_normalizado LIKE '%' || f_unaccent(lower(:padrao)) || '%' ESCAPE '\\' " +
+                   "OR f_unaccent(lower(:nome)) <% c.nome_normalizado)",
+           nativeQuery = true)
+    Page<Long> searchIdsByNome(
+        @Param("nome") String nome,
+        @Param("padrao") String padrao,
+        @Param("tenantId") String tenantId,
+        Pageable pageable
+    );
     
     /**
-     * Busca cliente por CPF/CNPJ
+     * Mesma busca de searchIdsByNome, sem a consulta de contagem: lê uma linha além da
+     * página para saber se há uma próxima. A contagem percorre todas as correspondências
+     * do termo, o que domina a latência em tenants grandes.
+     * @param nome Termo de busca
+     * @param padrao Termo com curingas de LIKE escapados
+     * @param tenantId ID do tenant
+     * @param pageable Configuração de paginação (sem ordenação)
+     * @return Fatia de IDs de clientes, na ordem de similaridade
+     */
+    @Query(value = "SELECT c.id FROM clientes c WHERE c.tenant_id = :tenantId AND " +
+                   "(c.nome_normalizado LIKE '%' || f_unaccent(lower(:padrao)) || '%' ESCAPE '\\' " +
+                   "OR f_unaccent(lower(:nome)) <% c.nome_normalizado) " +
+                   "ORDER BY word_similarity(f_unaccent(lower(:nome)), c.nome_normalizado) DESC, c.nome, c.id",
+           nativeQuery = true)
+    Slice<Long> searchIdSliceByNome(
+        @Param("nome") String nome,
+        @Param("padrao") String padrao,
+        @Param("tenantId") String tenantId,
+        Pageable pageable
+    );
+    
+    /**
+     * Busca cliente por CPF/CNPJ, com ou sem pontuação. Compara a coluna normalizada
+     * cpf_cnpj_digitos com a mesma expressão de V14, atendida pelo índice uq_clientes_tenant_cpf_cnpj.
      * @param cpfCnpj CPF ou CNPJ
      * @param tenantId ID do tenant
      * @return Optional do cliente
      */
-    @Query("SELECT c FROM Cliente c WHERE c.tenantId = :tenantId AND c.cpfCnpj = :cpfCnpj")
+    @Query(value = "SELECT c.* FROM clientes c WHERE c.tenant_id = :tenantId " +
+                   "AND c.cpf_cnpj_digitos = NULLIF(regexp_replace(:cpfCnpj, '[^0-9]', '', 'g'), '')",
+           nativeQuery = true)
     Optional<Cliente> findByCpfCnpjAndTenantId(
         @Param("cpfCnpj") String cpfCnpj, 
         @Param("tenantId") String tenantId
     );
     
     /**
-     * Busca cliente por email
+     * Busca cliente por email, sem distinção de maiúsculas. Compara a coluna normalizada
+     * email_normalizado (V14), atendida pelo índice uq_clientes_tenant_email.
      * @param email Email do cliente
      * @param tenantId ID do tenant
      * @return Optional do cliente
      */
-    @Query("SELECT c FROM Cliente c WHERE c.tenantId = :tenantId AND c.email = :email")
+    @Query(value = "SELECT c.* FROM clientes c WHERE c.tenant_id = :tenantId " +
+                   "AND c.email_normalizado = NULLIF(lower(btrim(:email)), '')",
+           nativeQuery = true)
     Optional<Cliente> findByEmailAndTenantId(
         @Param("email") String email, 
         @Param("tenantId") String tenantId
     );
     
+    /**
+     * Retorna, dentre os CPF/CNPJ informados, os que já pertencem a clientes do tenant
+     * (índice único uq_clientes_tenant_cpf_cnpj)
+     * @param tenantId ID do tenant
+     * @param valores CPF/CNPJ apenas com dígitos
+     * @return CPF/CNPJ já cadastrados, apenas com dígitos
+     */
+    @Query(value = "SELECT c.cpf_cnpj_digitos FROM clientes c WHERE c.tenant_id = :tenantId " +
+                   "AND c.cpf_cnpj_digitos IN (:valores)",
+           nativeQuery = true)
+    List<String> findExistingCpfCnpj(
+        @Param("tenantId") String tenantId,
+        @Param("valores") Collection<String> valores
+    );
+    
+    /**
+     * Retorna, dentre os emails informados, os que já pertencem a clientes do tenant
+     * (índice único uq_clientes_tenant_email)
+     * @param tenantId ID do tenant
+     * @param valores Emails sem espaços e em minúsculas
+     * @return Emails já cadastrados, normalizados
+     */
+    @Query(value = "SELECT c.email_normalizado FROM clientes c WHERE c.tenant_id = :tenantId " +
+                   "AND c.email_normalizado IN (:valores)",
+           nativeQuery = true)
+    List<String> findExistingEmails(
+        @Param("tenantId") String tenantId,
+        @Param("valores") Collection<String> valores
+    );
+    
     /**
      * Busca clientes ativos
      * @param tenantId ID do tenant
@@ -87,6 +208,41 @@ public interface ClienteRepository extends BaseRepository<Cliente> {
         Pageable pageable
     );
     
+    /**
+     * Página seguinte da listagem de clientes ordenada por (nome, id), paginada por keyset.
+     * A comparação de linha (nome, id) > (:nome, :afterId) é resolvida como faixa do índice
+     * idx_clientes_tenant_nome (tenant_id, nome, id), sem OFFSET nem contagem.
+     * @param tenantId ID do tenant
+     * @param nome Nome do último cliente da página anterior
+     * @param afterId ID do último cliente da página anterior
+     * @param pageable Tamanho da página (sempre a primeira página, sem ordenação)
+     * @return Clientes da página
+     */
+    @Query(LIST_PROJECTION + "WHERE c.tenantId = :tenantId " +
+           "AND (c.nome, c.id) > (:nome, :afterId) ORDER BY c.nome, c.id")
+    List<ClienteResponse> findNextPageByNome(
+        @Param("tenantId") String tenantId,
+        @Param("nome") String nome,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    /**
+     * Página seguinte da listagem de clientes ativos ordenada por id, paginada por keyset
+     * (índice parcial idx_clientes_tenant_ativo)
+     * @param tenantId ID do tenant
+     * @param afterId ID do último cliente da página anterior
+     * @param pageable Tamanho da página (sempre a primeira página, sem ordenação)
+     * @return Clientes da página
+     */
+    @Query(LIST_PROJECTION + "WHERE c.tenantId = :tenantId AND c.ativo = true " +
+           "AND c.id > :afterId ORDER BY c.id")
+    List<ClienteResponse> findNextPageByAtivoTrue(
+        @Param("tenantId") String tenantId,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
     /**
      * Busca clientes por cidade
      * @param cidade Nome da cidade
@@ -1,5 +1,6 @@
 package com.petget.repository;
 
+import com.petget.dto.PetResponse;
 import com.petget.entity.Pet;
 import com.petget.enums.EspeciePet;
 import com.petget.enums.SexoPet;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +21,26 @@ import java.util.List;
 @Repository
 public interface PetRepository extends BaseRepository<Pet> {
     
+    /**
+     * Projeção das consultas: seleciona apenas as colunas do PetResponse (sem observacoes)
+     * e cria os DTOs diretamente, sem entidades gerenciadas
+     */
+    String LIST_PROJECTION = "SELECT new com.petget.dto.PetResponse(p.id, p.nome, p.especie, p.raca, " +
+        "p.sexo, p.dataNascimento, p.peso, p.cor, p.fotoUrl, p.microchip, p.pedigree, p.ativo, " +
+        "p.cliente.id, p.tenantId, p.createdAt, p.updatedAt) FROM Pet p ";
+    
+    /**
+     * Busca pets do tenant por IDs como DTOs de resposta (sem ordem definida)
+     * @param ids IDs dos pets
+     * @param tenantId ID do tenant
+     * @return Pets encontrados
+     */
+    @Query(LIST_PROJECTION + "WHERE p.tenantId = :tenantId AND p.id IN :ids")
+    List<PetResponse> findResponsesByIdInAndTenantId(
+        @Param("ids") Collection<Long> ids,
+        @Param("tenantId") String tenantId
+    );
+    
     /**
      * Busca pets por nome (case insensitive)
      * @param nome Nome ou parte do nome
@@ -99,6 +121,22 @@ public interface PetRepository extends BaseRepository<Pet> {
         Pageable pageable
     );
     
+    /**
+     * Página seguinte da listagem de pets ativos ordenada por id, paginada por keyset
+     * (índice parcial idx_pets_tenant_ativo)
+     * @param tenantId ID do tenant
+     * @param afterId ID do último pet da página anterior
+     * @param pageable Tamanho da página (sempre a primeira página, sem ordenação)
+     * @return Pets da página
+     */
+    @Query(LIST_PROJECTION + "WHERE p.tenantId = :tenantId AND p.ativo = true " +
+           "AND p.id > :afterId ORDER BY p.id")
+    List<PetResponse> findNextPageByAtivoTrue(
+        @Param("tenantId") String tenantId,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
     /**
      * Busca pets com aniversário no mês
      * @param mes Mês (1-12)
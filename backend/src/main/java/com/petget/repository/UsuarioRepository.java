@@ -26,6 +26,14 @@ public interface UsuarioRepository extends BaseRepository<Usuario> {
     @Query("SELECT u FROM Usuario u WHERE u.email = :email")
     Optional<Usuario> findByEmail(@Param("email") String email);
     
+    /**
+     * Busca usuário por email carregando a empresa na mesma consulta (usado no login)
+     * @param email Email do usuário
+     * @return Optional do usuário com a empresa inicializada
+     */
+    @Query("SELECT u FROM Usuario u JOIN FETCH u.empresa WHERE u.email = :email")
+    Optional<Usuario> findByEmailWithEmpresa(@Param("email") String email);
+    
     /**
      * Busca usuário por email e tenant
      * @param email Email do usuário
@@ -38,6 +46,18 @@ public interface UsuarioRepository extends BaseRepository<Usuario> {
         @Param("tenantId") String tenantId
     );
     
+    /**
+     * Busca usuário por email e tenant carregando a empresa na mesma consulta
+     * @param email Email do usuário
+     * @param tenantId ID do tenant
+     * @return Optional do usuário com a empresa inicializada
+     */
+    @Query("SELECT u FROM Usuario u JOIN FETCH u.empresa WHERE u.email = :email AND u.tenantId = :tenantId")
+    Optional<Usuario> findByEmailAndTenantIdWithEmpresa(
+        @Param("email") String email, 
+        @Param("tenantId") String tenantId
+    );
+    
     /**
      * Busca usuários por nome (case insensitive)
      * @param nome Nome ou parte do nome
@@ -0,0 +1,147 @@
+package com.petget.security;
+
+import com.petget.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitador de requisições dos endpoints de autenticação.
+ * Aplica token buckets independentes por IP do cliente, por email e por tenant,
+ * para que um cliente abusivo não degrade o login dos demais tenants.
+ * O tenant é o do usuário resolvido (no login) ou o do token assinado (nas demais
+ * operações), nunca um valor informado pelo cliente. O IP é o de getRemoteAddr, que
+ * atrás de um proxy depende de server.forward-headers-strategy (ver application.yml).
+ */
+@Component
+public class AuthRateLimiter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimiter.class);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${petget.rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${petget.rate-limit.ip.capacity:30}")
+    private int ipCapacity;
+    
+    @Value("${petget.rate-limit.ip.refill-per-minute:30}")
+    private int ipRefillPerMinute;
+    
+    @Value("${petget.rate-limit.email.capacity:5}")
+    private int emailCapacity;
+    
+    @Value("${petget.rate-limit.email.refill-per-minute:5}")
+    private int emailRefillPerMinute;
+    
+    @Value("${petget.rate-limit.tenant.capacity:200}")
+    private int tenantCapacity;
+    
+    @Value("${petget.rate-limit.tenant.refill-per-minute:600}")
+    private int tenantRefillPerMinute;
+    
+    private KeyedRateLimiter ipLimiter;
+    private KeyedRateLimiter emailLimiter;
+    private KeyedRateLimiter tenantLimiter;
+    
+    private Counter ipRejected;
+    private Counter emailRejected;
+    private Counter tenantRejected;
+    private Counter allowed;
+    
+    @PostConstruct
+    public void init() {
+        ipLimiter = new KeyedRateLimiter(ipCapacity, ipRefillPerMinute);
+        emailLimiter = new KeyedRateLimiter(emailCapacity, emailRefillPerMinute);
+        tenantLimiter = new KeyedRateLimiter(tenantCapacity, tenantRefillPerMinute);
+        
+        ipRejected = rejectedCounter("ip");
+        emailRejected = rejectedCounter("email");
+        tenantRejected = rejectedCounter("tenant");
+        allowed = Counter.builder("petget.ratelimit.auth")
+            .description("Decisões do limitador de requisições de autenticação")
+            .tag("outcome", "allowed")
+            .tag("key", "all")
+            .register(meterRegistry);
+        
+        Gauge.builder("petget.ratelimit.auth.keys", this, l -> l.ipLimiter.size() + l.emailLimiter.size() + l.tenantLimiter.size())
+            .description("Chaves ativas no limitador de requisições de autenticação")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Verifica os limites por IP e por email de uma requisição de autenticação
+     * @param clientIp IP do cliente
+     * @param email Email informado (opcional)
+     * @throws TooManyRequestsException se algum limite foi excedido
+     */
+    public void check(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        
+        acquire(ipLimiter, clientIp, ipRejected, "IP");
+        if (StringUtils.hasText(email)) {
+            acquire(emailLimiter, email.trim().toLowerCase(Locale.ROOT), emailRejected, "email");
+        }
+        allowed.increment();
+    }
+    
+    /**
+     * Verifica o limite do tenant do usuário sendo autenticado.
+     * Chamado após resolver o usuário e antes de verificar a senha.
+     * @param tenantId Tenant do usuário ou do token verificado
+     * @throws TooManyRequestsException se o limite foi excedido
+     */
+    public void checkTenant(String tenantId) {
+        if (!enabled || !StringUtils.hasText(tenantId)) {
+            return;
+        }
+        acquire(tenantLimiter, tenantId, tenantRejected, "tenant");
+    }
+    
+    /**
+     * Remove periodicamente os buckets ociosos
+     */
+    @Scheduled(fixedDelayString = "${petget.rate-limit.idle-eviction-ms:60000}")
+    public void evictIdle() {
+        int evicted = ipLimiter.evictIdle() + emailLimiter.evictIdle() + tenantLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Buckets ociosos removidos do limitador de autenticação: {}", evicted);
+        }
+    }
+    
+    private void acquire(KeyedRateLimiter limiter, String key, Counter rejected, String description) {
+        if (key == null) {
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            rejected.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new TooManyRequestsException(
+                "Limite de requisições de autenticação excedido por " + description + ", tente novamente", retryAfter);
+        }
+    }
+    
+    private Counter rejectedCounter(String key) {
+        return Counter.builder("petget.ratelimit.auth")
+            .description("Decisões do limitador de requisições de autenticação")
+            .tag("outcome", "rejected")
+            .tag("key", key)
+            .register(meterRegistry);
+    }
+}
@@ -1,137 +1,136 @@
 package com.petget.security;
 
+import com.petget.config.TenantContext;
 import com.petget.entity.Usuario;
 import com.petget.repository.UsuarioRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Serviço customizado para carregar detalhes do usuário durante a autenticação.
  * Implementa a interface UserDetailsService do Spring Security.
+ * Usuários ficam no shard padrão (diretório) mesmo quando o tenant está em outro shard:
+ * toda consulta roda sem tenant no contexto, independentemente de quem a chama.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UsuarioRepository usuarioRepository;
     
+    @Autowired
+    private UsuarioPrincipalCache usuarioPrincipalCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    private TransactionTemplate writeTransaction;
+    
+    @PostConstruct
+    public void init() {
+        // Transação própria mesmo se chamado dentro de outra, que pode estar no shard de um tenant
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Busca o usuário pelo email (sem filtro de tenant para permitir login)
-        Usuario usuario = usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                    "Usuário não encontrado com email: " + email));
-        
-        // Verifica se o usuário está ativo
-        if (!usuario.getAtivo()) {
-            throw new UsernameNotFoundException("Usuário inativo: " + email);
-        }
-        
-        return createUserDetails(usuario);
+        return onDirectory(readOnlyTransaction, () -> {
+            // Busca o usuário e a empresa pelo email (sem filtro de tenant para permitir login)
+            Usuario usuario = usuarioRepository.findByEmailWithEmpresa(email)
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                        "Usuário não encontrado com email: " + email));
+            
+            // Verifica se o usuário está ativo
+            if (!usuario.getAtivo()) {
+                throw new UsernameNotFoundException("Usuário inativo: " + email);
+            }
+            
+            return createUserDetails(usuario);
+        });
     }
     
     /**
-     * Carrega usuário por email e tenant (usado em contextos específicos)
+     * Carrega usuário por email e tenant (usado em contextos específicos).
+     * O resultado é mantido em cache até que o usuário seja alterado.
      * @param email Email do usuário
      * @param tenantId ID do tenant
      * @return UserDetails
      * @throws UsernameNotFoundException se usuário não encontrado
      */
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsernameAndTenant(String email, String tenantId) throws UsernameNotFoundException {
-        Usuario usuario = usuarioRepository.findByEmailAndTenantId(email, tenantId)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                    "Usuário não encontrado com email: " + email + " para tenant: " + tenantId));
+    public UsuarioPrincipal loadUserByUsernameAndTenant(String email, String tenantId) throws UsernameNotFoundException {
+        UsuarioPrincipal principal = usuarioPrincipalCache.get(email, tenantId, key -> onDirectory(readOnlyTransaction, () -> {
+            Usuario usuario = usuarioRepository.findByEmailAndTenantIdWithEmpresa(email, tenantId)
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                        "Usuário não encontrado com email: " + email + " para tenant: " + tenantId));
+            // Principal em cache não carrega o hash da senha
+            return new UsuarioPrincipal(usuario, "", PerfilAuthorities.of(usuario.getPerfil()));
+        }));
         
-        if (!usuario.getAtivo()) {
+        if (!principal.isEnabled()) {
             throw new UsernameNotFoundException("Usuário inativo: " + email);
         }
         
-        return createUserDetails(usuario);
+        return principal;
     }
     
     /**
-     * Cria um objeto UserDetails a partir da entidade Usuario
-     * @param usuario Entidade Usuario
-     * @return UserDetails
+     * Atualiza o hash da senha quando o custo BCrypt configurado aumenta.
+     * Chamado pelo DaoAuthenticationProvider após um login bem-sucedido.
+     * @param user Usuário autenticado
+     * @param newPassword Senha recodificada
+     * @return UserDetails com a nova senha
      */
-    private UserDetails createUserDetails(Usuario usuario) {
-        Collection<GrantedAuthority> authorities = getAuthorities(usuario);
-        
-        return User.builder()
-                .username(usuario.getEmail())
-                .password(usuario.getSenha())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!usuario.getAtivo())
-                .build();
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return onDirectory(writeTransaction, () -> {
+            Usuario usuario = usuarioRepository.findByEmail(user.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                        "Usuário não encontrado com email: " + user.getUsername()));
+            
+            // Recodificação não é troca de senha: preserva a versão dos tokens já emitidos
+            Integer tokenVersion = usuario.getTokenVersion();
+            usuario.setSenha(newPassword);
+            usuario.setTokenVersion(tokenVersion);
+            usuarioRepository.save(usuario);
+            
+            return createUserDetails(usuario);
+        });
+    }
+    
+    /**
+     * Executa a ação no shard padrão, em transação aberta sem tenant no contexto
+     * (a conexão é roteada pelo tenant do contexto no início da transação)
+     */
+    private <T> T onDirectory(TransactionTemplate transaction, Supplier<T> action) {
+        return TenantContext.callWithoutTenant(() -> transaction.execute(status -> action.get()));
     }
     
     /**
-     * Converte o perfil do usuário em authorities do Spring Security
+     * Cria um objeto UserDetails a partir da entidade Usuario
      * @param usuario Entidade Usuario
-     * @return Collection de GrantedAuthority
+     * @return UsuarioPrincipal com os dados do usuário e da empresa
      */
-    private Collection<GrantedAuthority> getAuthorities(Usuario usuario) {
-        List<GrantedAuthority> authorities = new ArrayList<>();
-        
-        // Adiciona o perfil como authority
-        if (usuario.getPerfil() != null) {
-            authorities.add(new SimpleGrantedAuthority("ROLE_" + usuario.getPerfil().name()));
-        }
-        
-        // Adiciona permissões específicas baseadas no perfil
-        switch (usuario.getPerfil()) {
-            case ADMIN_EMPRESA:
-                authorities.add(new SimpleGrantedAuthority("PERM_ADMIN_ALL"));
-                authorities.add(new SimpleGrantedAuthority("PERM_USER_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_EMPRESA_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_PET_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_AGENDA_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_FINANCEIRO_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_PRODUTO_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_RELATORIO_VIEW"));
-                break;
-            case VETERINARIO:
-                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_PET_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_AGENDA_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_CONSULTA_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_PRONTUARIO_MANAGE"));
-                break;
-            case ATENDENTE:
-                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_PET_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_AGENDA_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_PRODUTO_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_VENDA_MANAGE"));
-                break;
-            case FINANCEIRO:
-                authorities.add(new SimpleGrantedAuthority("PERM_FINANCEIRO_MANAGE"));
-                authorities.add(new SimpleGrantedAuthority("PERM_RELATORIO_VIEW"));
-                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_VIEW"));
-                break;
-            case USUARIO:
-            default:
-                authorities.add(new SimpleGrantedAuthority("PERM_BASIC_ACCESS"));
-                break;
-        }
+    private UserDetails createUserDetails(Usuario usuario) {
+        Collection<GrantedAuthority> authorities = PerfilAuthorities.of(usuario.getPerfil());
         
-        return authorities;
+        return new UsuarioPrincipal(usuario, authorities);
     }
 }
\ No newline at end of file
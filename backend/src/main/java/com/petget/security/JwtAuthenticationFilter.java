@@ -1,6 +1,7 @@
 package com.petget.security;
 
 import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,10 +9,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -32,7 +34,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private TenantRegistry tenantRegistry;
+    
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    // Quando habilitado, monta a autenticação a partir dos claims do token sem consultar o banco
+    @Value("${petget.jwt.stateless-auth:false}")
+    private boolean statelessAuth;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -41,16 +56,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String jwt = getJwtFromRequest(request);
+            // Verifica e decodifica o token uma única vez por requisição
+            VerifiedToken token = StringUtils.hasText(jwt) ? jwtUtil.verifyToken(jwt) : null;
+            
+            if (token != null && tokenRevocationStore.isRevoked(token.getId())) {
+                logger.debug("Token revogado (logout) ignorado: {}", token.getId());
+                token = null;
+            }
             
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                String tenantId = jwtUtil.getTenantIdFromToken(jwt);
+            if (token != null) {
+                String username = token.getUsername();
+                String tenantId = token.getTenantId();
                 
                 // Verifica se não é um refresh token
-                if (!jwtUtil.isRefreshToken(jwt)) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (!token.isRefreshToken()) {
+                    UserDetails userDetails = resolveUserDetails(token);
                     
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
+                    if (userDetails != null && jwtUtil.validateToken(token, userDetails)) {
                         // Define o contexto de segurança
                         UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(
@@ -70,8 +92,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             return;
                         }
                         
-                        // Define o tenant no contexto
+                        // Define o tenant no contexto, recusando empresas inexistentes ou desativadas
                         if (StringUtils.hasText(tenantId)) {
+                            TenantRegistry.TenantInfo tenant = tenantRegistry.getTenant(tenantId);
+                            if (tenant == null) {
+                                logger.warn("Token de tenant inexistente ou inativo: {}", tenantId);
+                                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                                response.getWriter().write("{\"error\":\"Acesso negado: tenant inválido ou inativo\"}");
+                                return;
+                            }
                             TenantContext.setCurrentTenant(tenantId);
                         }
                         
@@ -85,7 +114,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("Não foi possível definir a autenticação do usuário no contexto de segurança", ex);
         }
         
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // A thread do Tomcat é reaproveitada: o tenant não pode vazar para a próxima requisição,
+            // cuja consulta de usuário seria roteada ao shard deste tenant
+            TenantContext.clear();
+        }
+    }
+    
+    /**
+     * Obtém os detalhes do usuário a partir dos claims do token (modo sem estado)
+     * ou do banco de dados (modo padrão e tokens emitidos antes do modo sem estado)
+     * @param token Token verificado
+     * @return UserDetails ou null se o token foi revogado
+     */
+    private UserDetails resolveUserDetails(VerifiedToken token) {
+        if (statelessAuth && token.isSelfContained()) {
+            if (!tokenVersionRegistry.isCurrent(token.getUsername(), token.getVersion())) {
+                logger.debug("Token revogado para usuário: {}", token.getUsername());
+                return null;
+            }
+            return User.withUsername(token.getUsername())
+                    .password("")
+                    .authorities(PerfilAuthorities.of(token.getPerfil()))
+                    .build();
+        }
+        if (token.getTenantId() != null) {
+            return userDetailsService.loadUserByUsernameAndTenant(token.getUsername(), token.getTenantId());
+        }
+        return userDetailsService.loadUserByUsername(token.getUsername());
     }
     
     /**
@@ -1,7 +1,10 @@
 package com.petget.security;
 
+import com.petget.entity.Usuario;
+import com.petget.enums.PerfilUsuario;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +16,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -33,11 +37,26 @@ public class JwtUtil {
     @Value("${petget.jwt.refresh-expiration:604800000}") // 7 dias em millisegundos
     private long jwtRefreshExpirationMs;
     
+    // Chave e parser são imutáveis e thread-safe: criados uma única vez na inicialização
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    /**
+     * Pré-calcula a chave HMAC e o parser compartilhado
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+    
     /**
-     * Gera a chave secreta para assinatura do JWT
+     * Retorna a chave secreta para assinatura do JWT
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     /**
@@ -51,6 +70,37 @@ public class JwtUtil {
         return generateTokenFromUsername(userPrincipal.getUsername(), tenantId, false);
     }
     
+    /**
+     * Gera um token de acesso com perfil e versão de token do usuário,
+     * permitindo autenticar requisições sem consultar o banco
+     * @param usuario Usuário autenticado
+     * @return Token JWT
+     */
+    public String generateAccessToken(Usuario usuario) {
+        return generateAccessToken(usuario.getEmail(), usuario.getTenantId(), 
+                                   usuario.getPerfil(), usuario.getTokenVersion());
+    }
+    
+    /**
+     * Gera um token de acesso a partir do principal autenticado no login
+     * @param principal Principal autenticado
+     * @return Token JWT
+     */
+    public String generateAccessToken(UsuarioPrincipal principal) {
+        return generateAccessToken(principal.getUsername(), principal.getTenantId(), 
+                                   principal.getPerfil(), principal.getTokenVersion());
+    }
+    
+    private String generateAccessToken(String username, String tenantId, PerfilUsuario perfil, Integer tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("tenantId", tenantId);
+        claims.put("type", "access");
+        claims.put("perfil", perfil.name());
+        claims.put("ver", tokenVersion);
+        
+        return buildToken(claims, username, jwtExpirationMs);
+    }
+    
     /**
      * Gera um token JWT a partir do username
      * @param username Nome do usuário
@@ -59,18 +109,30 @@ public class JwtUtil {
      * @return Token JWT
      */
     public String generateTokenFromUsername(String username, String tenantId, boolean isRefreshToken) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + (isRefreshToken ? jwtRefreshExpirationMs : jwtExpirationMs));
-        
         Map<String, Object> claims = new HashMap<>();
         claims.put("tenantId", tenantId);
         claims.put("type", isRefreshToken ? "refresh" : "access");
         
+        return buildToken(claims, username, isRefreshToken ? jwtRefreshExpirationMs : jwtExpirationMs);
+    }
+    
+    /**
+     * Monta e assina o token JWT
+     * @param claims Claims do token
+     * @param username Nome do usuário
+     * @param expirationMs Validade em millisegundos
+     * @return Token JWT
+     */
+    private String buildToken(Map<String, Object> claims, String username, long expirationMs) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + expirationMs);
+        
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .issuedAt(now)
+                .expiration(expiryDate)
                 .signWith(getSigningKey())
                 .compact();
     }
@@ -85,6 +147,29 @@ public class JwtUtil {
         return generateTokenFromUsername(username, tenantId, true);
     }
     
+    /**
+     * Verifica a assinatura e a expiração do token uma única vez e retorna
+     * os claims já validados, para serem reutilizados no restante da requisição.
+     * @param token Token JWT
+     * @return Token verificado ou null se inválido
+     */
+    public VerifiedToken verifyToken(String token) {
+        try {
+            return new VerifiedToken(getAllClaimsFromToken(token));
+        } catch (MalformedJwtException e) {
+            logger.error("Token JWT malformado: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            logger.error("Token JWT expirado: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            logger.error("Token JWT não suportado: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("JWT claims string está vazia: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Erro na validação do token JWT: {}", e.getMessage());
+        }
+        return null;
+    }
+    
     /**
      * Extrai o username do token
      * @param token Token JWT
@@ -139,11 +224,7 @@ public class JwtUtil {
      * @return Claims do token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
     
     /**
@@ -162,24 +243,7 @@ public class JwtUtil {
      * @return true se válido
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (MalformedJwtException e) {
-            logger.error("Token JWT malformado: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            logger.error("Token JWT expirado: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            logger.error("Token JWT não suportado: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string está vazia: {}", e.getMessage());
-        } catch (Exception e) {
-            logger.error("Erro na validação do token JWT: {}", e.getMessage());
-        }
-        return false;
+        return verifyToken(token) != null;
     }
     
     /**
@@ -192,4 +256,14 @@ public class JwtUtil {
         final String username = getUsernameFromToken(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
+    
+    /**
+     * Valida um token já verificado contra os detalhes do usuário, sem reprocessar o JWT
+     * @param token Token verificado
+     * @param userDetails Detalhes do usuário
+     * @return true se válido
+     */
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.getUsername().equals(userDetails.getUsername()) && !token.isExpired();
+    }
 }
\ No newline at end of file
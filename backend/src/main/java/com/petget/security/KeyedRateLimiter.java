@@ -0,0 +1,70 @@
+package com.petget.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conjunto de token buckets lock-free indexados por chave (IP, email, tenant).
+ *
+ * Cada bucket é um único AtomicLong com o "tempo teórico de chegada" (GCRA),
+ * equivalente a um token bucket com capacidade e taxa de reposição fixas,
+ * atualizado apenas com compare-and-set. Um bucket cujo tempo já passou está
+ * cheio e pode ser removido sem alterar o comportamento do limitador.
+ */
+class KeyedRateLimiter {
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * @param capacity Número máximo de requisições em rajada
+     * @param refillPerMinute Requisições repostas por minuto
+     */
+    KeyedRateLimiter(int capacity, int refillPerMinute) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, capacity);
+    }
+    
+    /**
+     * Tenta consumir um token do bucket da chave
+     * @param key Chave do bucket
+     * @return 0 se permitido, ou o tempo em nanos até o próximo token disponível
+     */
+    long tryAcquire(String key) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            long base = (tat == Long.MIN_VALUE || tat - now < 0) ? now : tat;
+            long newTat = base + emissionIntervalNanos;
+            long excess = newTat - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Remove buckets ociosos (cheios), mantendo a memória limitada às chaves ativas
+     * @return Número de buckets removidos
+     */
+    int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> {
+            long tat = bucket.get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        });
+        return before - buckets.size();
+    }
+    
+    int size() {
+        return buckets.size();
+    }
+}
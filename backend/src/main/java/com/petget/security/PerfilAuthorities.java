@@ -0,0 +1,89 @@
+package com.petget.security;
+
+import com.petget.enums.PerfilUsuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapeamento imutável entre perfis de usuário e authorities do Spring Security.
+ * As listas são calculadas uma única vez por perfil e compartilhadas entre requisições.
+ */
+public final class PerfilAuthorities {
+    
+    private static final Map<PerfilUsuario, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(PerfilUsuario.class);
+    
+    static {
+        for (PerfilUsuario perfil : PerfilUsuario.values()) {
+            AUTHORITIES.put(perfil, Collections.unmodifiableList(build(perfil)));
+        }
+    }
+    
+    private PerfilAuthorities() {}
+    
+    /**
+     * Obtém as authorities pré-calculadas de um perfil
+     * @param perfil Perfil do usuário
+     * @return Lista imutável de GrantedAuthority
+     */
+    public static List<GrantedAuthority> of(PerfilUsuario perfil) {
+        return perfil != null ? AUTHORITIES.get(perfil) : AUTHORITIES.get(PerfilUsuario.USUARIO);
+    }
+    
+    /**
+     * Converte o perfil do usuário em authorities do Spring Security
+     * @param perfil Perfil do usuário
+     * @return Lista de GrantedAuthority
+     */
+    private static List<GrantedAuthority> build(PerfilUsuario perfil) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        
+        // Adiciona o perfil como authority
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + perfil.name()));
+        
+        // Adiciona permissões específicas baseadas no perfil
+        switch (perfil) {
+            case ADMIN_EMPRESA:
+                authorities.add(new SimpleGrantedAuthority("PERM_ADMIN_ALL"));
+                authorities.add(new SimpleGrantedAuthority("PERM_USER_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_EMPRESA_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_PET_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_AGENDA_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_FINANCEIRO_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_PRODUTO_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_RELATORIO_VIEW"));
+                break;
+            case VETERINARIO:
+                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_PET_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_AGENDA_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_CONSULTA_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_PRONTUARIO_MANAGE"));
+                break;
+            case ATENDENTE:
+                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_PET_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_AGENDA_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_PRODUTO_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_VENDA_MANAGE"));
+                break;
+            case FINANCEIRO:
+                authorities.add(new SimpleGrantedAuthority("PERM_FINANCEIRO_MANAGE"));
+                authorities.add(new SimpleGrantedAuthority("PERM_RELATORIO_VIEW"));
+                authorities.add(new SimpleGrantedAuthority("PERM_CLIENTE_VIEW"));
+                break;
+            case USUARIO:
+            default:
+                authorities.add(new SimpleGrantedAuthority("PERM_BASIC_ACCESS"));
+                break;
+        }
+        
+        return authorities;
+    }
+}
@@ -0,0 +1,111 @@
+package com.petget.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concorrente usado na frente do armazenamento de revogação.
+ * Leituras e escritas são lock-free; um resultado negativo garante que o
+ * identificador nunca foi revogado, evitando a consulta ao mapa no caso comum.
+ *
+ * Os bits de cada identificador ficam em um único bloco de 512 bits (uma linha de cache):
+ * a consulta custa um acesso à memória em vez de um por função de hash, ao preço de uma
+ * taxa de falsos positivos um pouco acima da de um filtro clássico do mesmo tamanho.
+ */
+final class RevocationBloomFilter {
+    
+    // Bloco de 8 longs = 512 bits = 64 bytes
+    private static final int BLOCK_WORDS = 8;
+    private static final int BLOCK_BITS = BLOCK_WORDS * 64;
+    
+    private final AtomicLongArray bits;
+    private final int numBlocks;
+    private final int numHashes;
+    
+    RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBlocks = (int) Math.min((Integer.MAX_VALUE - 8) / BLOCK_WORDS, Math.max(1, (m + BLOCK_BITS - 1) / BLOCK_BITS));
+        this.bits = new AtomicLongArray(numBlocks * BLOCK_WORDS);
+        long numBits = (long) numBlocks * BLOCK_BITS;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+    }
+    
+    /**
+     * Registra um identificador no filtro
+     * @param key Identificador do token (jti)
+     */
+    void put(String key) {
+        long hash = hash64(key);
+        int base = block(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 9) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            setBit(base, (h1 + i * h2) & (BLOCK_BITS - 1));
+        }
+    }
+    
+    /**
+     * Verifica se o identificador pode ter sido registrado
+     * @param key Identificador do token (jti)
+     * @return false se certamente não foi registrado
+     */
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int base = block(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 9) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((bits.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Primeira palavra do bloco do identificador, escolhido pelos 32 bits altos do hash
+     * (multiplicação em vez de módulo)
+     */
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * numBlocks) >>> 32) * BLOCK_WORDS;
+    }
+    
+    private void setBit(int base, int bit) {
+        int word = base + (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+    
+    /**
+     * Hash de 64 bits no estilo FNV-1a, combinando quatro caracteres por multiplicação,
+     * seguido de mistura final (fmix64)
+     */
+    private static long hash64(String key) {
+        int length = key.length();
+        long h = 0xcbf29ce484222325L ^ length;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long chunk = key.charAt(i)
+                | (long) key.charAt(i + 1) << 16
+                | (long) key.charAt(i + 2) << 32
+                | (long) key.charAt(i + 3) << 48;
+            h = (h ^ chunk) * 0x100000001b3L;
+        }
+        for (; i < length; i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
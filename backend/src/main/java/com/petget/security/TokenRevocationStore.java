@@ -0,0 +1,134 @@
+package com.petget.security;
+
+import com.petget.config.ShardDirectory;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Armazenamento de tokens revogados, indexado pelo claim jti.
+ *
+ * Camadas:
+ * - Filtro de Bloom: descarta o caso comum (token não revogado) sem consultar o mapa
+ * - Mapa concorrente jti -> expiração: leituras lock-free e expurgo de tokens expirados
+ * - Tabela tokens_revogados: persiste revogações entre reinicializações e entre nós
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    // Janela de sobreposição na sincronização para tolerar diferenças de relógio entre nós
+    private static final long SYNC_OVERLAP_MS = 60_000L;
+
+    // tokens_revogados é uma tabela global, mantida no shard padrão
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Value("${petget.jwt.revocation.expected-entries:1000000}")
+    private long expectedEntries;
+
+    @Value("${petget.jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile RevocationBloomFilter bloomFilter;
+
+    private volatile long lastSyncMillis;
+
+    /**
+     * Carrega as revogações ainda válidas da camada durável
+     */
+    @PostConstruct
+    public void init() {
+        this.bloomFilter = new RevocationBloomFilter(expectedEntries, falsePositiveRate);
+        this.lastSyncMillis = System.currentTimeMillis();
+        shardDirectory.directoryJdbcTemplate().query(
+            "SELECT jti, expira_em FROM tokens_revogados WHERE expira_em > ?",
+            rs -> { register(rs.getString(1), rs.getLong(2)); },
+            lastSyncMillis);
+        logger.info("Tokens revogados carregados: {}", revoked.size());
+    }
+
+    /**
+     * Revoga um token até a sua expiração natural
+     * @param jti Identificador do token
+     * @param expiration Data de expiração do token
+     */
+    public void revoke(String jti, Date expiration) {
+        if (jti == null || expiration == null) {
+            return;
+        }
+        long expiresAt = expiration.getTime();
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+
+        shardDirectory.directoryJdbcTemplate().update(
+            "INSERT INTO tokens_revogados (jti, expira_em, revogado_em) VALUES (?, ?, ?) " +
+            "ON CONFLICT (jti) DO NOTHING",
+            jti, expiresAt, now);
+        register(jti, expiresAt);
+    }
+
+    /**
+     * Verifica se o token foi revogado
+     * @param jti Identificador do token
+     * @return true se revogado e ainda não expirado
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Importa revogações feitas por outros nós desde a última sincronização
+     */
+    @Scheduled(fixedDelayString = "${petget.jwt.revocation.sync-interval-ms:5000}")
+    public void syncFromDatabase() {
+        long now = System.currentTimeMillis();
+        long since = lastSyncMillis - SYNC_OVERLAP_MS;
+        shardDirectory.directoryJdbcTemplate().query(
+            "SELECT jti, expira_em FROM tokens_revogados WHERE revogado_em >= ? AND expira_em > ?",
+            rs -> { register(rs.getString(1), rs.getLong(2)); },
+            since, now);
+        lastSyncMillis = now;
+    }
+
+    /**
+     * Remove revogações de tokens que já expiraram e reconstrói o filtro de Bloom
+     */
+    @Scheduled(fixedDelayString = "${petget.jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(expectedEntries, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // Segunda passagem cobre revogações registradas no filtro antigo durante a reconstrução
+        revoked.keySet().forEach(rebuilt::put);
+
+        int deleted = shardDirectory.directoryJdbcTemplate().update("DELETE FROM tokens_revogados WHERE expira_em <= ?", now);
+        logger.debug("Expurgo de tokens revogados: {} em memória, {} no banco", before - revoked.size(), deleted);
+    }
+
+    private void register(String jti, long expiresAt) {
+        revoked.put(jti, expiresAt);
+        bloomFilter.put(jti);
+    }
+}
@@ -0,0 +1,85 @@
+package com.petget.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petget.config.DatabaseNotificationListener;
+import com.petget.config.ShardDirectory;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registro em memória da versão atual de token de cada usuário.
+ * Permite que a autenticação sem estado rejeite tokens emitidos antes de uma
+ * desativação ou mudança de perfil sem consultar o banco a cada requisição.
+ * Usuários ausentes do mapa nunca tiveram tokens revogados (versão 0).
+ * Alterações feitas em qualquer nó chegam pelo canal usuarios_alterados (V16): uma
+ * desativação ou troca de senha revoga os tokens em todos os nós, não só no que a executou.
+ */
+@Component
+public class TokenVersionRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+    
+    private final ConcurrentMap<String, Integer> versions = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private ShardDirectory shardDirectory;
+    
+    @Autowired
+    private DatabaseNotificationListener notificationListener;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PostConstruct
+    public void init() {
+        reload();
+        // Ao (re)conectar recarrega do banco as versões alteradas enquanto desconectado
+        notificationListener.subscribe(UsuarioAlterado.CHANNEL, this::onUsuariosAlterados, this::reload);
+    }
+    
+    /**
+     * Carrega as versões já revogadas (usuários ficam no shard padrão)
+     */
+    public void reload() {
+        shardDirectory.directoryJdbcTemplate().query(
+            "SELECT email, token_version FROM usuarios WHERE token_version > 0",
+            rs -> { update(rs.getString(1), rs.getInt(2)); });
+        logger.info("Versões de token carregadas para {} usuários", versions.size());
+    }
+    
+    private void onUsuariosAlterados(List<String> payloads) {
+        for (String payload : payloads) {
+            UsuarioAlterado usuario = UsuarioAlterado.parse(objectMapper, payload);
+            update(usuario.email(), usuario.tokenVersion());
+        }
+    }
+    
+    /**
+     * Verifica se a versão do token ainda é válida para o usuário
+     * @param email Email do usuário
+     * @param version Versão presente no token
+     * @return true se o token não foi revogado
+     */
+    public boolean isCurrent(String email, int version) {
+        Integer current = versions.get(email);
+        return current == null || version >= current;
+    }
+    
+    /**
+     * Registra a versão atual de token do usuário
+     * @param email Email do usuário
+     * @param version Nova versão
+     */
+    public void update(String email, Integer version) {
+        if (email != null && version != null && version > 0) {
+            versions.merge(email, version, Math::max);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.petget.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Payload das notificações do canal usuarios_alterados (V16), emitidas pelo banco a cada
+ * inserção, remoção ou alteração relevante de um usuário, em qualquer nó
+ * @param id ID do usuário
+ * @param email Email atual do usuário
+ * @param tokenVersion Versão atual de token
+ */
+public record UsuarioAlterado(Long id, String email, Integer tokenVersion) {
+    
+    public static final String CHANNEL = "usuarios_alterados";
+    
+    /**
+     * Lê o payload JSON da notificação
+     * @param objectMapper ObjectMapper da aplicação
+     * @param payload JSON com id, email e tokenVersion
+     * @return Alteração notificada
+     */
+    public static UsuarioAlterado parse(ObjectMapper objectMapper, String payload) {
+        try {
+            return objectMapper.readValue(payload, UsuarioAlterado.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Notificação de usuário inválida: " + payload, e);
+        }
+    }
+}
\ No newline at end of file
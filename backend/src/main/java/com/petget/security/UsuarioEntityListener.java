@@ -0,0 +1,75 @@
+package com.petget.security;
+
+import com.petget.entity.Usuario;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA que propaga alterações de usuários para os componentes de segurança.
+ * Instanciado pelo Hibernate através do container de beans do Spring.
+ */
+public class UsuarioEntityListener {
+    
+    // Lazy evita ciclo entre o EntityManagerFactory e os repositórios usados pelo registro
+    @Autowired
+    @Lazy
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    @Lazy
+    private UsuarioPrincipalCache usuarioPrincipalCache;
+    
+    /**
+     * Executado após atualizar um usuário.
+     * Publica a versão de token após o commit, para que tokens revogados sejam rejeitados
+     * imediatamente (o registro só avança versões, então um rollback não pode publicá-la),
+     * e remove o usuário do cache de principals.
+     */
+    @PostUpdate
+    public void onUpdate(Usuario usuario) {
+        String email = usuario.getEmail();
+        Integer tokenVersion = usuario.getTokenVersion();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenVersionRegistry.update(email, tokenVersion);
+                }
+            });
+        } else {
+            tokenVersionRegistry.update(email, tokenVersion);
+        }
+        invalidateCache(usuario);
+    }
+    
+    /**
+     * Executado após inserir ou remover um usuário
+     */
+    @PostPersist
+    @PostRemove
+    public void onPersistOrRemove(Usuario usuario) {
+        invalidateCache(usuario);
+    }
+    
+    /**
+     * Invalida imediatamente e novamente após o commit, para descartar entradas
+     * recarregadas por outras requisições antes de a transação ser confirmada
+     */
+    private void invalidateCache(Usuario usuario) {
+        Long usuarioId = usuario.getId();
+        usuarioPrincipalCache.invalidate(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    usuarioPrincipalCache.invalidate(usuarioId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.petget.security;
+
+import com.petget.entity.Usuario;
+import com.petget.enums.PerfilUsuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal autenticado com os dados do usuário e da empresa já carregados.
+ * Permite que o login monte a resposta e os tokens sem consultar o banco novamente.
+ */
+public class UsuarioPrincipal extends User {
+    
+    private final Long id;
+    private final String nome;
+    private final PerfilUsuario perfil;
+    private final String tenantId;
+    private final String empresaNome;
+    private final Integer tokenVersion;
+    
+    public UsuarioPrincipal(Usuario usuario, Collection<? extends GrantedAuthority> authorities) {
+        this(usuario, usuario.getSenha(), authorities);
+    }
+    
+    /**
+     * @param usuario Entidade Usuario
+     * @param password Hash da senha; vazio quando o principal não será usado para autenticar senha
+     * @param authorities Authorities do perfil
+     */
+    public UsuarioPrincipal(Usuario usuario, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(usuario.getEmail(), password, usuario.getAtivo(), true, true, true, authorities);
+        this.id = usuario.getId();
+        this.nome = usuario.getNome();
+        this.perfil = usuario.getPerfil();
+        this.tenantId = usuario.getTenantId();
+        this.empresaNome = usuario.getEmpresa() != null ? usuario.getEmpresa().getNome() : null;
+        this.tokenVersion = usuario.getTokenVersion();
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    public PerfilUsuario getPerfil() {
+        return perfil;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    public String getEmpresaNome() {
+        return empresaNome;
+    }
+    
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+}
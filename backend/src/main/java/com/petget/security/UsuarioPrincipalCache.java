@@ -0,0 +1,165 @@
+package com.petget.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.petget.config.DatabaseNotificationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache de principals de usuários, indexado por email e tenant.
+ * Evita consultar usuarios a cada requisição autenticada e a cada renovação de token.
+ * As entradas são invalidadas pelo UsuarioEntityListener sempre que um usuário
+ * é salvo ou removido via JPA neste nó, e pelo canal usuarios_alterados (V16) quando a
+ * alteração vem de outro nó ou de SQL direto. Ao reconectar ao canal o cache é esvaziado,
+ * pois notificações podem ter sido perdidas; a expiração por tempo é apenas uma salvaguarda.
+ * Um índice por id de usuário localiza as entradas a invalidar sem percorrer o cache.
+ * Como o id só é conhecido após a leitura, cada invalidação registra um carimbo e uma
+ * carga concorrente com ela é descartada do cache ao terminar.
+ * Métricas expostas no actuator como cache.* com a tag cache=usuarios.
+ */
+@Component
+public class UsuarioPrincipalCache {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private DatabaseNotificationListener notificationListener;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${petget.auth.user-cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${petget.auth.user-cache.expire-after-write-ms:600000}")
+    private long expireAfterWriteMs;
+    
+    private Cache<Key, UsuarioPrincipal> cache;
+    
+    // Chaves em cache de cada usuário (um usuário pode estar sob mais de um email)
+    private final ConcurrentMap<Long, Set<Key>> keysByUsuario = new ConcurrentHashMap<>();
+    
+    // Relógio lógico das invalidações e carimbo da última de cada usuário e da última geral
+    private final AtomicLong clock = new AtomicLong();
+    
+    private Cache<Long, Long> invalidatedAt;
+    
+    private volatile long allInvalidatedAt;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                // Síncrono na remoção por tamanho ou expiração; invalidações explícitas limpam o índice
+                .evictionListener((Key key, UsuarioPrincipal principal, RemovalCause cause) -> {
+                    if (key != null && principal != null) {
+                        unindex(principal.getId(), key);
+                    }
+                })
+                .recordStats()
+                .build();
+        // Carimbos só interessam a cargas em andamento; a expiração das entradas basta como limite
+        invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios");
+        notificationListener.subscribe(UsuarioAlterado.CHANNEL, this::onUsuariosAlterados, this::invalidateAll);
+    }
+    
+    /**
+     * Obtém o principal do cache, carregando-o em caso de ausência
+     * @param email Email do usuário
+     * @param tenantId ID do tenant
+     * @param loader Função de carga executada apenas em cache miss
+     * @return Principal do usuário
+     */
+    public UsuarioPrincipal get(String email, String tenantId, Function<Key, UsuarioPrincipal> loader) {
+        Key key = new Key(email, tenantId);
+        long start = clock.get();
+        UsuarioPrincipal principal = cache.get(key, k -> {
+            UsuarioPrincipal loaded = loader.apply(k);
+            if (loaded != null) {
+                index(loaded.getId(), k);
+            }
+            return loaded;
+        });
+        // Invalidado durante a carga, antes de o índice conhecer a chave: a leitura pode
+        // ser anterior ao commit da alteração, então não permanece em cache
+        if (principal != null && invalidatedSince(principal.getId(), start)) {
+            cache.asMap().remove(key, principal);
+        }
+        return principal;
+    }
+    
+    /**
+     * Remove todas as entradas de um usuário (inclusive sob um email anterior)
+     * @param usuarioId ID do usuário
+     */
+    public void invalidate(Long usuarioId) {
+        if (usuarioId == null) {
+            return;
+        }
+        invalidatedAt.put(usuarioId, clock.incrementAndGet());
+        Set<Key> keys = keysByUsuario.remove(usuarioId);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+    
+    /**
+     * Remove todas as entradas
+     */
+    public void invalidateAll() {
+        allInvalidatedAt = clock.incrementAndGet();
+        cache.invalidateAll();
+        keysByUsuario.clear();
+    }
+    
+    private void onUsuariosAlterados(List<String> payloads) {
+        for (String payload : payloads) {
+            invalidate(UsuarioAlterado.parse(objectMapper, payload).id());
+        }
+    }
+    
+    private boolean invalidatedSince(Long usuarioId, long start) {
+        Long stamp = invalidatedAt.getIfPresent(usuarioId);
+        return allInvalidatedAt > start || (stamp != null && stamp > start);
+    }
+    
+    private void index(Long usuarioId, Key key) {
+        keysByUsuario.compute(usuarioId, (id, keys) -> {
+            Set<Key> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            result.add(key);
+            return result;
+        });
+    }
+    
+    private void unindex(Long usuarioId, Key key) {
+        keysByUsuario.computeIfPresent(usuarioId, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+    
+    /**
+     * Chave do cache: email e tenant do usuário
+     */
+    public record Key(String email, String tenantId) {}
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.petget.security;
+
+import com.petget.enums.PerfilUsuario;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Representação imutável de um token JWT cuja assinatura e expiração já foram verificadas.
+ * Evita que o mesmo token seja decodificado várias vezes durante uma requisição.
+ */
+public final class VerifiedToken {
+    
+    private final Claims claims;
+    private final String id;
+    private final String username;
+    private final String tenantId;
+    private final String type;
+    private final Date expiration;
+    private final PerfilUsuario perfil;
+    private final Integer version;
+    
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+        this.id = claims.getId();
+        this.username = claims.getSubject();
+        this.tenantId = claims.get("tenantId", String.class);
+        this.type = claims.get("type", String.class);
+        this.expiration = claims.getExpiration();
+        String perfilClaim = claims.get("perfil", String.class);
+        this.perfil = perfilClaim != null ? PerfilUsuario.valueOf(perfilClaim) : null;
+        this.version = claims.get("ver", Integer.class);
+    }
+    
+    /**
+     * Identificador único do token (claim jti), usado na revogação
+     */
+    public String getId() {
+        return id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public Date getExpiration() {
+        return expiration != null ? new Date(expiration.getTime()) : null;
+    }
+    
+    /**
+     * Perfil do usuário no momento da emissão (ausente em tokens antigos)
+     */
+    public PerfilUsuario getPerfil() {
+        return perfil;
+    }
+    
+    /**
+     * Versão de token do usuário no momento da emissão (ausente em tokens antigos)
+     */
+    public Integer getVersion() {
+        return version;
+    }
+    
+    /**
+     * Verifica se o token carrega os claims necessários para autenticação sem estado
+     * @return true se perfil e versão estão presentes
+     */
+    public boolean isSelfContained() {
+        return perfil != null && version != null;
+    }
+    
+    /**
+     * Verifica se é um refresh token
+     * @return true se for refresh token
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+    
+    /**
+     * Verifica se o token está expirado
+     * @return true se expirado
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+    
+    /**
+     * Extrai um claim específico do token
+     * @param name Nome do claim
+     * @param requiredType Tipo esperado
+     * @return Valor do claim
+     */
+    public <T> T getClaim(String name, Class<T> requiredType) {
+        return claims.get(name, requiredType);
+    }
+}
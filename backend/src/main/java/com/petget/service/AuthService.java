@@ -4,9 +4,12 @@ import com.petget.dto.auth.LoginRequest;
 import com.petget.dto.auth.LoginResponse;
 import com.petget.dto.auth.RefreshTokenRequest;
 import com.petget.dto.auth.RefreshTokenResponse;
-import com.petget.entity.Usuario;
-import com.petget.repository.UsuarioRepository;
+import com.petget.security.AuthRateLimiter;
+import com.petget.security.CustomUserDetailsService;
 import com.petget.security.JwtUtil;
+import com.petget.security.TokenRevocationStore;
+import com.petget.security.UsuarioPrincipal;
+import com.petget.security.VerifiedToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,12 +21,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Serviço responsável pela autenticação de usuários.
@@ -38,26 +38,31 @@ public class AuthService {
     private AuthenticationManager authenticationManager;
     
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private JwtUtil jwtUtil;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @Autowired
+    private UltimoLoginWriter ultimoLoginWriter;
+    
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
     
     @Value("${petget.jwt.expiration:86400000}") // 24 horas em millisegundos
     private long jwtExpirationMs;
     
-    // Set para armazenar tokens invalidados (em produção, usar Redis)
-    private final Set<String> blacklistedTokens = new HashSet<>();
-    
     /**
      * Realiza o login do usuário
      * @param loginRequest Dados de login
      * @return Resposta com tokens e informações do usuário
      */
-    @Transactional
     public LoginResponse login(LoginRequest loginRequest) {
         try {
-            // Autentica o usuário
+            // Autentica o usuário (usuário e empresa carregados em uma única consulta)
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                     loginRequest.getEmail(),
@@ -65,37 +70,35 @@ public class AuthService {
                 )
             );
             
-            // Busca o usuário no banco
-            Usuario usuario = usuarioRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException(
-                    "Usuário não encontrado: " + loginRequest.getEmail()));
+            // Reaproveita os dados carregados durante a autenticação
+            UsuarioPrincipal usuario = (UsuarioPrincipal) authentication.getPrincipal();
             
             // Verifica se o usuário está ativo
-            if (!usuario.getAtivo()) {
+            if (!usuario.isEnabled()) {
                 throw new BadCredentialsException("Usuário inativo");
             }
             
             // Gera os tokens
-            String accessToken = jwtUtil.generateToken(authentication, usuario.getTenantId());
-            String refreshToken = jwtUtil.generateRefreshToken(usuario.getEmail(), usuario.getTenantId());
+            String accessToken = jwtUtil.generateAccessToken(usuario);
+            String refreshToken = jwtUtil.generateRefreshToken(usuario.getUsername(), usuario.getTenantId());
             
-            // Atualiza o último login
-            usuario.setUltimoLogin(LocalDateTime.now());
-            usuarioRepository.save(usuario);
+            // Atualiza o último login (gravação em lote, fora da requisição)
+            LocalDateTime ultimoLogin = LocalDateTime.now();
+            ultimoLoginWriter.record(usuario.getId(), ultimoLogin);
             
             // Cria as informações do usuário para a resposta
             LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
                 usuario.getId(),
                 usuario.getNome(),
-                usuario.getEmail(),
+                usuario.getUsername(),
                 usuario.getPerfil(),
                 usuario.getTenantId(),
-                usuario.getEmpresa() != null ? usuario.getEmpresa().getNome() : null,
-                usuario.getUltimoLogin()
+                usuario.getEmpresaNome(),
+                ultimoLogin
             );
             
             logger.info("Login realizado com sucesso para usuário: {} (tenant: {})", 
-                       usuario.getEmail(), usuario.getTenantId());
+                       usuario.getUsername(), usuario.getTenantId());
             
             return new LoginResponse(accessToken, refreshToken, jwtExpirationMs / 1000, userInfo);
             
@@ -113,30 +116,34 @@ public class AuthService {
     public RefreshTokenResponse refreshToken(RefreshTokenRequest refreshRequest) {
         String refreshToken = refreshRequest.getRefreshToken();
         
-        // Valida o refresh token
-        if (!jwtUtil.validateToken(refreshToken) || !jwtUtil.isRefreshToken(refreshToken)) {
+        // Valida o refresh token (assinatura e expiração verificadas uma única vez)
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(refreshToken);
+        if (verifiedToken == null || !verifiedToken.isRefreshToken()) {
             throw new BadCredentialsException("Refresh token inválido ou expirado");
         }
         
-        // Verifica se o token não está na blacklist
-        if (blacklistedTokens.contains(refreshToken)) {
+        // Verifica se o token não foi revogado
+        if (tokenRevocationStore.isRevoked(verifiedToken.getId())) {
             throw new BadCredentialsException("Refresh token foi invalidado");
         }
         
         // Extrai informações do refresh token
-        String username = jwtUtil.getUsernameFromToken(refreshToken);
-        String tenantId = jwtUtil.getTenantIdFromToken(refreshToken);
+        String username = verifiedToken.getUsername();
+        String tenantId = verifiedToken.getTenantId();
         
-        // Verifica se o usuário ainda existe e está ativo
-        Usuario usuario = usuarioRepository.findByEmailAndTenantId(username, tenantId)
-            .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
+        // Limite por tenant, com o tenant do token já verificado
+        authRateLimiter.checkTenant(tenantId);
         
-        if (!usuario.getAtivo()) {
-            throw new BadCredentialsException("Usuário inativo");
+        // Verifica se o usuário ainda existe e está ativo (consulta em cache)
+        UsuarioPrincipal usuario;
+        try {
+            usuario = userDetailsService.loadUserByUsernameAndTenant(username, tenantId);
+        } catch (UsernameNotFoundException e) {
+            throw new BadCredentialsException("Usuário não encontrado ou inativo");
         }
         
         // Gera novo access token
-        String newAccessToken = jwtUtil.generateTokenFromUsername(username, tenantId, false);
+        String newAccessToken = jwtUtil.generateAccessToken(usuario);
         
         logger.info("Token renovado para usuário: {} (tenant: {})", username, tenantId);
         
@@ -151,18 +158,15 @@ public class AuthService {
         String token = extractTokenFromHeader(authorization);
         
         if (StringUtils.hasText(token)) {
-            // Adiciona o token à blacklist
-            blacklistedTokens.add(token);
-            
-            // Se for um access token, tenta extrair informações para log
-            try {
-                if (jwtUtil.validateToken(token) && !jwtUtil.isRefreshToken(token)) {
-                    String username = jwtUtil.getUsernameFromToken(token);
-                    String tenantId = jwtUtil.getTenantIdFromToken(token);
-                    logger.info("Logout realizado para usuário: {} (tenant: {})", username, tenantId);
+            // Revoga o token até a sua expiração natural
+            VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+            if (verifiedToken != null) {
+                tokenRevocationStore.revoke(verifiedToken.getId(), verifiedToken.getExpiration());
+                
+                if (!verifiedToken.isRefreshToken()) {
+                    logger.info("Logout realizado para usuário: {} (tenant: {})", 
+                               verifiedToken.getUsername(), verifiedToken.getTenantId());
                 }
-            } catch (Exception e) {
-                logger.debug("Erro ao extrair informações do token durante logout: {}", e.getMessage());
             }
         }
     }
@@ -179,12 +183,14 @@ public class AuthService {
             return false;
         }
         
-        // Verifica se o token não está na blacklist
-        if (blacklistedTokens.contains(token)) {
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+        if (verifiedToken == null) {
             return false;
         }
+        authRateLimiter.checkTenant(verifiedToken.getTenantId());
         
-        return jwtUtil.validateToken(token);
+        // Verifica se o token não foi revogado
+        return !tokenRevocationStore.isRevoked(verifiedToken.getId());
     }
     
     /**
@@ -0,0 +1,41 @@
+package com.petget.service;
+
+import com.petget.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validação das listas de IDs das consultas em lote (GET /clientes/batch, /pets/batch).
+ * O limite protege o banco de consultas IN muito grandes.
+ */
+@Component
+public class BatchIds {
+    
+    @Value("${petget.batch.max-ids:100}")
+    private int maxIds;
+    
+    /**
+     * Remove IDs nulos e repetidos, mantendo a ordem da primeira ocorrência
+     * @param ids IDs solicitados
+     * @return IDs únicos
+     * @throws BadRequestException se a quantidade de IDs exceder o limite
+     */
+    public Set<Long> validar(List<Long> ids) {
+        Set<Long> unicos = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    unicos.add(id);
+                }
+            }
+        }
+        if (unicos.size() > maxIds) {
+            throw new BadRequestException("Máximo de " + maxIds + " IDs por consulta em lote");
+        }
+        return unicos;
+    }
+}
\ No newline at end of file
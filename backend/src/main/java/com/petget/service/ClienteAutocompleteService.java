@@ -0,0 +1,231 @@
+package com.petget.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.petget.config.ShardDirectory;
+import com.petget.config.TenantContext;
+import com.petget.dto.AutocompleteResponse;
+import com.petget.entity.Cliente;
+import com.petget.entity.Pet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Autocomplete de clientes e pets a partir de índices de prefixo em memória (TenantPrefixIndex).
+ * O índice de cada tenant é carregado na primeira consulta e mantido pelas alterações
+ * de clientes e pets feitas neste nó, aplicadas após o commit. Os índices compartilham um
+ * orçamento global de memória: acima dele os tenants menos usados são descartados
+ * e recarregados sob demanda. A expiração por tempo limita a defasagem em relação
+ * a alterações feitas por outros nós.
+ * Métricas expostas no actuator como cache.* com a tag cache=autocomplete.
+ */
+@Service
+public class ClienteAutocompleteService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClienteAutocompleteService.class);
+    
+    private static final int MAX_LIMIT = 50;
+    
+    private static final String CLIENTES_SQL =
+        "SELECT id, nome, cpf_cnpj, telefone, celular FROM clientes WHERE tenant_id = ? AND ativo = true";
+    
+    private static final String PETS_SQL =
+        "SELECT p.id, p.nome, p.cliente_id FROM pets p " +
+        "JOIN clientes c ON c.tenant_id = p.tenant_id AND c.id = p.cliente_id " +
+        "WHERE p.tenant_id = ? AND p.ativo = true AND c.ativo = true";
+    
+    @Autowired
+    private ShardDirectory shardDirectory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${petget.autocomplete.max-memory-mb:256}")
+    private long maxMemoryMb;
+    
+    @Value("${petget.autocomplete.expire-after-write-ms:1800000}")
+    private long expireAfterWriteMs;
+    
+    private Cache<String, TenantPrefixIndex> indexes;
+    
+    @PostConstruct
+    public void init() {
+        indexes = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryMb * 1024 * 1024)
+                .weigher((String tenantId, TenantPrefixIndex index) ->
+                    (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "autocomplete");
+    }
+    
+    /**
+     * Sugere clientes e pets cujo nome (ou documento/telefone de clientes) começa com o termo
+     * @param termo Texto digitado; cada palavra deve ser prefixo de alguma palavra do item
+     * @param limit Máximo de sugestões
+     * @return Sugestões
+     */
+    public List<AutocompleteResponse> sugerir(String termo, int limit) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        TenantPrefixIndex index = indexes.get(tenantId, this::load);
+        List<AutocompleteResponse> sugestoes = new ArrayList<>();
+        for (TenantPrefixIndex.Entry entry : index.search(termo, Math.min(Math.max(limit, 1), MAX_LIMIT))) {
+            if (entry.pet()) {
+                TenantPrefixIndex.Entry cliente = index.get(false, entry.clienteId());
+                sugestoes.add(new AutocompleteResponse("PET", entry.id(), entry.nome(),
+                    entry.clienteId(), cliente != null ? cliente.nome() : null));
+            } else {
+                sugestoes.add(new AutocompleteResponse("CLIENTE", entry.id(), entry.nome(),
+                    entry.id(), entry.nome()));
+            }
+        }
+        return sugestoes;
+    }
+    
+    /**
+     * Atualiza o índice do tenant após o commit da inclusão ou alteração de um cliente
+     * @param cliente Cliente salvo
+     */
+    public void onClienteSaved(Cliente cliente) {
+        String tenantId = cliente.getTenantId();
+        if (!Boolean.TRUE.equals(cliente.getAtivo())) {
+            onClienteRemoved(tenantId, cliente.getId());
+            return;
+        }
+        TenantPrefixIndex.Entry entry = clienteEntry(cliente.getId(), cliente.getNome(),
+            cliente.getCpfCnpj(), cliente.getTelefone(), cliente.getCelular());
+        afterCommit(() -> {
+            TenantPrefixIndex index = indexes.getIfPresent(tenantId);
+            if (index != null && index.put(entry)) {
+                // Reinsere para recalcular o peso após a fusão do delta
+                indexes.asMap().replace(tenantId, index, index);
+            }
+        });
+    }
+    
+    /**
+     * Remove um cliente (e seus pets) do índice do tenant após o commit
+     * @param tenantId ID do tenant
+     * @param clienteId ID do cliente
+     */
+    public void onClienteRemoved(String tenantId, Long clienteId) {
+        afterCommit(() -> {
+            TenantPrefixIndex index = indexes.getIfPresent(tenantId);
+            if (index != null) {
+                index.removeCliente(clienteId);
+            }
+        });
+    }
+    
+    /**
+     * Inclui ou atualiza um pet no índice do tenant após o commit. Pets inativos, ou de
+     * clientes fora do índice (inativos), são removidos, como na carga do índice.
+     * @param pet Pet salvo
+     */
+    public void onPetSaved(Pet pet) {
+        String tenantId = pet.getTenantId();
+        Long petId = pet.getId();
+        if (!Boolean.TRUE.equals(pet.getAtivo()) || pet.getCliente() == null) {
+            onPetRemoved(tenantId, petId);
+            return;
+        }
+        TenantPrefixIndex.Entry entry = new TenantPrefixIndex.Entry(true, petId, pet.getNome(),
+            pet.getCliente().getId(), TenantPrefixIndex.tokenize(pet.getNome()));
+        afterCommit(() -> {
+            TenantPrefixIndex index = indexes.getIfPresent(tenantId);
+            if (index == null) {
+                return;
+            }
+            if (index.get(false, entry.clienteId()) == null) {
+                index.remove(true, petId);
+            } else if (index.put(entry)) {
+                indexes.asMap().replace(tenantId, index, index);
+            }
+        });
+    }
+    
+    /**
+     * Remove um pet do índice do tenant após o commit
+     * @param tenantId ID do tenant
+     * @param petId ID do pet
+     */
+    public void onPetRemoved(String tenantId, Long petId) {
+        afterCommit(() -> {
+            TenantPrefixIndex index = indexes.getIfPresent(tenantId);
+            if (index != null) {
+                index.remove(true, petId);
+            }
+        });
+    }
+    
+    /**
+     * Descarta o índice do tenant após alterações em massa (ex: importação);
+     * a próxima consulta o recarrega
+     * @param tenantId ID do tenant
+     */
+    public void invalidate(String tenantId) {
+        indexes.invalidate(tenantId);
+    }
+    
+    /**
+     * Carrega o índice de um tenant diretamente do seu shard
+     * @param tenantId ID do tenant
+     * @return Índice carregado
+     */
+    private TenantPrefixIndex load(String tenantId) {
+        long inicio = System.currentTimeMillis();
+        List<TenantPrefixIndex.Entry> entries = new ArrayList<>();
+        var jdbcTemplate = shardDirectory.jdbcTemplate(shardDirectory.shardOf(tenantId));
+        jdbcTemplate.query(CLIENTES_SQL,
+            rs -> { entries.add(clienteEntry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5))); },
+            tenantId);
+        jdbcTemplate.query(PETS_SQL,
+            rs -> { entries.add(new TenantPrefixIndex.Entry(true, rs.getLong(1), rs.getString(2), rs.getLong(3),
+                TenantPrefixIndex.tokenize(rs.getString(2)))); },
+            tenantId);
+        
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        index.load(entries);
+        logger.debug("Índice de autocomplete do tenant {} carregado: {} itens, ~{} KB em {} ms",
+            tenantId, entries.size(), index.estimatedBytes() / 1024, System.currentTimeMillis() - inicio);
+        return index;
+    }
+    
+    private TenantPrefixIndex.Entry clienteEntry(Long id, String nome, String cpfCnpj, String telefone, String celular) {
+        List<String> tokens = new ArrayList<>(List.of(TenantPrefixIndex.tokenize(nome)));
+        tokens.addAll(TenantPrefixIndex.digitTokens(cpfCnpj, false));
+        tokens.addAll(TenantPrefixIndex.digitTokens(telefone, true));
+        tokens.addAll(TenantPrefixIndex.digitTokens(celular, true));
+        return new TenantPrefixIndex.Entry(false, id, nome, id, tokens.stream().distinct().toArray(String[]::new));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.petget.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petget.config.TenantContext;
+import com.petget.config.TenantContextPropagation;
+import com.petget.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação completa dos clientes de um tenant (opcionalmente com os pets) em NDJSON ou CSV.
+ * As linhas são lidas por um cursor do PostgreSQL (fetch size dentro de uma transação
+ * somente leitura) e escritas na resposta à medida que chegam: o uso de memória não
+ * depende do tamanho do tenant. A transação passa pelo TenantTransactionManager, que
+ * aplica o shard, o bulkhead de conexões e o isolamento (RLS) do tenant.
+ *
+ * A conexão fica presa enquanto o cliente HTTP consome a resposta: um consumidor lento
+ * segura a conexão e a vaga do bulkhead do tenant. A exportação é interrompida (e a
+ * transação desfeita) ao passar de max-duration-ms; um consumidor parado é desconectado
+ * antes pelo timeout de escrita do servidor. O tempo da requisição assíncrona é
+ * ajustado só para o endpoint de exportação (ClienteController).
+ */
+@Service
+public class ClienteExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClienteExportService.class);
+    
+    private static final String CLIENTES_COLUMNS =
+        "c.id, c.nome, c.cpf_cnpj, c.email, c.telefone, c.celular, c.endereco, c.bairro, c.cidade, " +
+        "c.estado, c.cep, c.observacoes, c.ativo, c.created_at, c.updated_at";
+    
+    private static final String CLIENTES_SQL =
+        "SELECT " + CLIENTES_COLUMNS + " FROM clientes c WHERE c.tenant_id = ? ORDER BY c.id";
+    
+    // Uma linha por pet; clientes sem pets aparecem uma vez, com as colunas pet_* nulas
+    private static final String CLIENTES_PETS_SQL =
+        "SELECT " + CLIENTES_COLUMNS + ", p.id AS pet_id, p.nome AS pet_nome, p.especie AS pet_especie, " +
+        "p.raca AS pet_raca, p.sexo AS pet_sexo, p.data_nascimento AS pet_data_nascimento, " +
+        "p.peso AS pet_peso, p.cor AS pet_cor, p.microchip AS pet_microchip, p.ativo AS pet_ativo " +
+        "FROM clientes c LEFT JOIN pets p ON p.tenant_id = c.tenant_id AND p.cliente_id = c.id " +
+        "WHERE c.tenant_id = ? ORDER BY c.id, p.id";
+    
+    public enum Formato { NDJSON, CSV }
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${petget.clientes.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    @Value("${petget.clientes.export.max-duration-ms:600000}")
+    private long maxDurationMs;
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Cria o corpo da resposta de exportação, escrito pelo Spring MVC em outra thread
+     * com o tenant e a autenticação da requisição
+     * @param formato NDJSON ou CSV
+     * @param incluirPets true para incluir os pets de cada cliente
+     * @param gzip true para comprimir a saída
+     * @return Corpo da resposta
+     */
+    public StreamingResponseBody criarExportacao(Formato formato, boolean incluirPets, boolean gzip) {
+        if (TenantContext.getCurrentTenant() == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        Consumer<OutputStream> exportacao = saida -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream gzipSaida = new GZIPOutputStream(saida, 64 * 1024);
+                    exportar(gzipSaida, formato, incluirPets);
+                    gzipSaida.finish();
+                } else {
+                    exportar(saida, formato, incluirPets);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return TenantContextPropagation.wrap(exportacao)::accept;
+    }
+    
+    /**
+     * Escreve todos os clientes do tenant atual no stream
+     * @param saida Stream de saída (não é fechado)
+     * @param formato NDJSON (um objeto por linha) ou CSV (com cabeçalho)
+     * @param incluirPets true para incluir os pets de cada cliente
+     */
+    public void exportar(OutputStream saida, Formato formato, boolean incluirPets) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        long inicio = System.nanoTime();
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = formato == Formato.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        readOnlyTransaction.executeWithoutResult(status ->
+            jdbcTemplate.query(incluirPets ? CLIENTES_PETS_SQL : CLIENTES_SQL, rs -> {
+                if (System.nanoTime() - limite > 0) {
+                    logger.warn("Exportação de clientes do tenant {} interrompida após {} ms ({} linhas)",
+                        tenantId, maxDurationMs, rowWriter.rows);
+                    throw new ServiceUnavailableException(
+                        "Exportação excedeu o tempo máximo de " + maxDurationMs + " ms", 60);
+                }
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, tenantId));
+        try {
+            rowWriter.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        double segundos = Math.max((System.nanoTime() - inicio) / 1e9, 0.001);
+        logger.info("Exportação de clientes do tenant {}: {} linhas em {} s ({} linhas/s)",
+            tenantId, rowWriter.rows, String.format("%.1f", segundos), Math.round(rowWriter.rows / segundos));
+    }
+    
+    /**
+     * Tempo máximo de uma exportação, usado também como base do timeout da requisição
+     * @return Tempo máximo em milissegundos
+     */
+    public long getMaxDurationMs() {
+        return maxDurationMs;
+    }
+    
+    /**
+     * Valor de uma coluna convertido para texto ou tipo serializável (datas em ISO-8601)
+     */
+    private static Object valor(ResultSet rs, int coluna, int tipo) throws SQLException {
+        if (tipo == Types.TIMESTAMP) {
+            Timestamp timestamp = rs.getTimestamp(coluna);
+            return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+        }
+        if (tipo == Types.DATE) {
+            Date date = rs.getDate(coluna);
+            return date == null ? null : date.toLocalDate().toString();
+        }
+        return rs.getObject(coluna);
+    }
+    
+    private abstract static class RowWriter {
+        
+        protected final Writer writer;
+        protected String[] colunas;
+        protected int[] tipos;
+        long rows;
+        
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+        
+        void write(ResultSet rs) throws SQLException, IOException {
+            if (colunas == null) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                colunas = new String[metaData.getColumnCount()];
+                tipos = new int[colunas.length];
+                for (int i = 0; i < colunas.length; i++) {
+                    colunas[i] = metaData.getColumnLabel(i + 1);
+                    tipos[i] = metaData.getColumnType(i + 1);
+                }
+                start();
+            }
+            writeRow(rs);
+            rows++;
+        }
+        
+        protected void start() throws IOException {
+        }
+        
+        protected abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+        
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+    
+    private class NdjsonRowWriter extends RowWriter {
+        
+        private JsonGenerator generator;
+        
+        NdjsonRowWriter(Writer writer) {
+            super(writer);
+        }
+        
+        @Override
+        protected void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        }
+        
+        @Override
+        protected void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < colunas.length; i++) {
+                generator.writeFieldName(colunas[i]);
+                generator.writeObject(valor(rs, i + 1, tipos[i]));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        void finish() throws IOException {
+            if (generator != null) {
+                generator.flush();
+            }
+            super.finish();
+        }
+    }
+    
+    private static class CsvRowWriter extends RowWriter {
+        
+        CsvRowWriter(Writer writer) {
+            super(writer);
+        }
+        
+        @Override
+        protected void start() throws IOException {
+            for (int i = 0; i < colunas.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(colunas[i]);
+            }
+            writer.write("\r\n");
+        }
+        
+        @Override
+        protected void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < colunas.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object valor = valor(rs, i + 1, tipos[i]);
+                if (valor != null) {
+                    writeField(valor.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+        
+        private void writeField(String valor) throws IOException {
+            boolean aspas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+            if (!aspas) {
+                writer.write(valor);
+                return;
+            }
+            writer.write('"');
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
\ No newline at end of file
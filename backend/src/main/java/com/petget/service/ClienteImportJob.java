@@ -0,0 +1,96 @@
+package com.petget.service;
+
+import com.petget.dto.ImportacaoResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação de clientes e pets em andamento, consultado pelo endpoint de progresso
+ * enquanto o ClienteImportWorker processa o arquivo.
+ */
+public class ClienteImportJob {
+    
+    public enum Status { PROCESSANDO, CONCLUIDO, FALHOU }
+    
+    private final String id;
+    private final String tenantId;
+    private final int maxErros;
+    private final LocalDateTime iniciadoEm = LocalDateTime.now();
+    
+    private final AtomicLong linhasProcessadas = new AtomicLong();
+    private final AtomicLong importados = new AtomicLong();
+    private final AtomicLong petsImportados = new AtomicLong();
+    private final AtomicLong rejeitados = new AtomicLong();
+    private final List<ImportacaoResponse.ErroLinha> erros = new ArrayList<>();
+    
+    private volatile Status status = Status.PROCESSANDO;
+    private volatile LocalDateTime concluidoEm;
+    
+    public ClienteImportJob(String id, String tenantId, int maxErros) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.maxErros = maxErros;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    public void linhasProcessadas(int quantidade) {
+        linhasProcessadas.addAndGet(quantidade);
+    }
+    
+    public void importados(int quantidade) {
+        importados.addAndGet(quantidade);
+    }
+    
+    public void petsImportados(int quantidade) {
+        petsImportados.addAndGet(quantidade);
+    }
+    
+    /**
+     * Registra a rejeição de uma linha; apenas os primeiros maxErros erros são mantidos
+     * @param linha Número da linha
+     * @param mensagem Motivo da rejeição
+     */
+    public void rejeitar(long linha, String mensagem) {
+        rejeitados.incrementAndGet();
+        synchronized (erros) {
+            if (erros.size() < maxErros) {
+                erros.add(new ImportacaoResponse.ErroLinha(linha, mensagem));
+            }
+        }
+    }
+    
+    public void concluir(Status statusFinal) {
+        this.concluidoEm = LocalDateTime.now();
+        this.status = statusFinal;
+    }
+    
+    /**
+     * Cria um retrato do andamento para a resposta da API
+     * @return Andamento da importação
+     */
+    public ImportacaoResponse toResponse() {
+        ImportacaoResponse response = new ImportacaoResponse();
+        response.setId(id);
+        response.setStatus(status.name());
+        response.setLinhasProcessadas(linhasProcessadas.get());
+        response.setImportados(importados.get());
+        response.setPetsImportados(petsImportados.get());
+        response.setRejeitados(rejeitados.get());
+        synchronized (erros) {
+            response.setErros(List.copyOf(erros));
+        }
+        response.setIniciadoEm(iniciadoEm);
+        response.setConcluidoEm(concluidoEm);
+        return response;
+    }
+}
\ No newline at end of file
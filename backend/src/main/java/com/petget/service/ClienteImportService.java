@@ -0,0 +1,185 @@
+package com.petget.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.petget.config.TenantContext;
+import com.petget.dto.ImportacaoResponse;
+import com.petget.exception.BadRequestException;
+import com.petget.exception.NotFoundException;
+import com.petget.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Importação em massa de clientes e pets a partir de CSV ou NDJSON.
+ * O corpo da requisição é copiado em fluxo para um arquivo temporário (memória constante)
+ * e processado em segundo plano pelo ClienteImportWorker; o andamento e os erros por linha
+ * ficam disponíveis para consulta durante retention-ms.
+ *
+ * O arquivo é limitado a max-bytes e cada tenant tem no máximo max-concurrent-per-tenant
+ * importações entre o envio e o fim do processamento, o que limita o disco temporário e
+ * a fila do executor assíncrono ocupados por um tenant.
+ */
+@Service
+public class ClienteImportService {
+    
+    @Autowired
+    private ClienteImportWorker clienteImportWorker;
+    
+    @Value("${petget.clientes.import.max-errors:1000}")
+    private int maxErrors;
+    
+    @Value("${petget.clientes.import.retention-ms:3600000}")
+    private long retentionMs;
+    
+    @Value("${petget.clientes.import.max-bytes:104857600}")
+    private long maxBytes;
+    
+    @Value("${petget.clientes.import.max-concurrent-per-tenant:2}")
+    private int maxConcurrentPerTenant;
+    
+    @Value("${petget.clientes.import.retry-after-seconds:60}")
+    private long retryAfterSeconds;
+    
+    private Cache<String, ClienteImportJob> jobs;
+    
+    // Importações em andamento por tenant (do envio ao fim do processamento)
+    private final ConcurrentMap<String, Integer> emAndamento = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(retentionMs))
+                .build();
+    }
+    
+    /**
+     * Recebe o arquivo e inicia a importação
+     * @param conteudo Corpo da requisição
+     * @param contentType text/csv ou application/x-ndjson
+     * @return Andamento inicial da importação
+     * @throws BadRequestException se o formato não for suportado ou o arquivo exceder max-bytes
+     * @throws TooManyRequestsException se o tenant já tiver max-concurrent-per-tenant importações em andamento
+     */
+    public ImportacaoResponse iniciar(InputStream conteudo, String contentType) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        boolean csv = contentType != null && contentType.contains("csv");
+        if (!csv && (contentType == null || !contentType.contains("ndjson"))) {
+            throw new BadRequestException("Formato não suportado: use text/csv ou application/x-ndjson");
+        }
+        
+        reservar(tenantId);
+        Path arquivo = null;
+        try {
+            arquivo = receber(conteudo, csv);
+            ClienteImportJob job = new ClienteImportJob(UUID.randomUUID().toString(), tenantId, maxErrors);
+            clienteImportWorker.processar(job, arquivo, csv)
+                .whenComplete((resultado, erro) -> liberar(tenantId));
+            // Aceito pelo worker, que exclui o arquivo ao terminar
+            arquivo = null;
+            jobs.put(job.getId(), job);
+            return job.toResponse();
+        } catch (TaskRejectedException e) {
+            excluir(arquivo);
+            liberar(tenantId);
+            throw new TooManyRequestsException("Fila de importações cheia, tente novamente mais tarde", retryAfterSeconds, e);
+        } catch (RuntimeException e) {
+            excluir(arquivo);
+            liberar(tenantId);
+            throw e;
+        }
+    }
+    
+    /**
+     * Copia o corpo da requisição para um arquivo temporário, até max-bytes
+     */
+    private Path receber(InputStream conteudo, boolean csv) {
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile("clientes-import-", csv ? ".csv" : ".ndjson");
+            long total = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream saida = Files.newOutputStream(arquivo)) {
+                int lidos;
+                while ((lidos = conteudo.read(buffer)) != -1) {
+                    total += lidos;
+                    if (total > maxBytes) {
+                        throw new BadRequestException("Arquivo de importação excede o limite de " + maxBytes + " bytes");
+                    }
+                    saida.write(buffer, 0, lidos);
+                }
+            }
+            return arquivo;
+        } catch (IOException e) {
+            excluir(arquivo);
+            throw new UncheckedIOException("Erro ao receber o arquivo de importação", e);
+        } catch (RuntimeException e) {
+            excluir(arquivo);
+            throw e;
+        }
+    }
+    
+    private void reservar(String tenantId) {
+        boolean[] reservado = new boolean[1];
+        emAndamento.compute(tenantId, (id, quantidade) -> {
+            int atual = quantidade != null ? quantidade : 0;
+            reservado[0] = atual < maxConcurrentPerTenant;
+            return reservado[0] ? atual + 1 : quantidade;
+        });
+        if (!reservado[0]) {
+            throw new TooManyRequestsException("Limite de " + maxConcurrentPerTenant +
+                " importações simultâneas por empresa atingido", retryAfterSeconds);
+        }
+    }
+    
+    private void liberar(String tenantId) {
+        emAndamento.computeIfPresent(tenantId, (id, quantidade) -> quantidade > 1 ? quantidade - 1 : null);
+    }
+    
+    private static void excluir(Path arquivo) {
+        if (arquivo != null) {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                // Arquivo temporário: removido pelo sistema operacional
+            }
+        }
+    }
+    
+    /**
+     * Consulta o andamento de uma importação do tenant atual
+     * @param id ID da importação
+     * @return Andamento da importação
+     * @throws NotFoundException se não existir ou pertencer a outro tenant
+     */
+    public ImportacaoResponse consultar(String id) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        ClienteImportJob job = jobs.getIfPresent(id);
+        if (job == null || !job.getTenantId().equals(tenantId)) {
+            throw new NotFoundException("Importação não encontrada com ID: " + id);
+        }
+        return job.toResponse();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,507 @@
+package com.petget.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.petget.dto.ClienteImportRequest;
+import com.petget.dto.ClienteRequest;
+import com.petget.dto.PetRequest;
+import com.petget.entity.Cliente;
+import com.petget.entity.Pet;
+import com.petget.enums.EspeciePet;
+import com.petget.enums.SexoPet;
+import com.petget.exception.ConflictException;
+import com.petget.repository.ClienteRepository;
+import com.petget.repository.PetRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Processamento assíncrono das importações de clientes e pets (ClienteImportService).
+ * O arquivo é lido em fluxo e processado em lotes: cada lote é validado com as restrições
+ * do ClienteImportRequest, tem CPF/CNPJ e email conferidos contra o próprio arquivo e contra
+ * o banco (uma consulta por lote) e é gravado em uma única transação, com INSERTs em
+ * lote JDBC (IDs por sequência pooled-lo).
+ *
+ * Um cadastro concorrente pode violar os índices únicos (V14) entre a conferência e a
+ * gravação; nesse caso o lote é regravado linha a linha e só as linhas em conflito são
+ * rejeitadas.
+ *
+ * Pets: no NDJSON, no array pets de cada cliente; no CSV, nas colunas pet_* (as mesmas
+ * da exportação), um pet por linha. Linhas consecutivas com os mesmos dados de cliente
+ * (como na exportação com pets) acrescentam pets ao mesmo cliente.
+ */
+@Component
+public class ClienteImportWorker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClienteImportWorker.class);
+    
+    private static final Set<String> INATIVO = Set.of("false", "0", "nao", "não", "n");
+    
+    // Cabeçalhos aceitos no CSV (sem acentos, maiúsculas ou separadores) -> campo do ClienteRequest
+    private static final Map<String, BiConsumer<ClienteRequest, String>> CSV_COLUMNS = Map.ofEntries(
+        Map.entry("nome", ClienteRequest::setNome),
+        Map.entry("cpfcnpj", ClienteRequest::setCpfCnpj),
+        Map.entry("cpf", ClienteRequest::setCpfCnpj),
+        Map.entry("cnpj", ClienteRequest::setCpfCnpj),
+        Map.entry("email", ClienteRequest::setEmail),
+        Map.entry("telefone", ClienteRequest::setTelefone),
+        Map.entry("celular", ClienteRequest::setCelular),
+        Map.entry("endereco", ClienteRequest::setEndereco),
+        Map.entry("cidade", ClienteRequest::setCidade),
+        Map.entry("estado", ClienteRequest::setEstado),
+        Map.entry("uf", ClienteRequest::setEstado),
+        Map.entry("cep", ClienteRequest::setCep),
+        Map.entry("observacoes", ClienteRequest::setObservacoes),
+        Map.entry("ativo", (request, valor) -> request.setAtivo(ativo(valor)))
+    );
+    
+    // Colunas pet_* aceitas no CSV, normalizadas como as de cliente -> campo do PetRequest
+    private static final Map<String, BiConsumer<PetRequest, String>> CSV_PET_COLUMNS = Map.ofEntries(
+        Map.entry("petnome", PetRequest::setNome),
+        Map.entry("petespecie", (pet, valor) -> pet.setEspecie(EspeciePet.valueOf(normalizarEnum(valor)))),
+        Map.entry("petraca", PetRequest::setRaca),
+        Map.entry("petsexo", (pet, valor) -> pet.setSexo(sexo(valor))),
+        Map.entry("petdatanascimento", (pet, valor) -> pet.setDataNascimento(data(valor))),
+        Map.entry("petnascimento", (pet, valor) -> pet.setDataNascimento(data(valor))),
+        Map.entry("petpeso", (pet, valor) -> pet.setPeso(new BigDecimal(valor.replace(',', '.')))),
+        Map.entry("petcor", PetRequest::setCor),
+        Map.entry("petmicrochip", PetRequest::setMicrochip),
+        Map.entry("petobservacoes", PetRequest::setObservacoes),
+        Map.entry("petativo", (pet, valor) -> pet.setAtivo(ativo(valor)))
+    );
+    
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    
+    // Caminho de uma violação em um pet (ex.: pets[0].nome)
+    private static final Pattern PET_PATH = Pattern.compile("pets\\[(\\d+)]");
+    
+    @Autowired
+    private ClienteRepository clienteRepository;
+    
+    @Autowired
+    private PetRepository petRepository;
+    
+    @Autowired
+    private ClienteService clienteService;
+    
+    @Autowired
+    private ClienteAutocompleteService clienteAutocompleteService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${petget.clientes.import.batch-size:1000}")
+    private int batchSize;
+    
+    /**
+     * Processa o arquivo de uma importação e o remove ao final.
+     * Executa no executor assíncrono com o tenant de quem enviou o arquivo.
+     * @param job Importação
+     * @param arquivo Arquivo recebido
+     * @param csv true para CSV, false para NDJSON (um objeto JSON por linha)
+     * @return Concluído ao final do processamento, com sucesso ou não
+     */
+    @Async
+    public CompletableFuture<Void> processar(ClienteImportJob job, Path arquivo, boolean csv) {
+        long inicio = System.currentTimeMillis();
+        Lote lote = new Lote(job);
+        try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            if (csv) {
+                lerCsv(reader, lote);
+            } else {
+                lerNdjson(reader, lote);
+            }
+            lote.gravar();
+            job.concluir(ClienteImportJob.Status.CONCLUIDO);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Erro na importação de clientes {}: {}", job.getId(), e.getMessage(), e);
+            job.rejeitar(0, "Importação interrompida: " + e.getMessage());
+            job.concluir(ClienteImportJob.Status.FALHOU);
+        } finally {
+            clienteAutocompleteService.invalidate(job.getTenantId());
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                logger.warn("Não foi possível remover o arquivo de importação {}: {}", arquivo, e.getMessage());
+            }
+        }
+        logger.info("Importação de clientes {} finalizada em {} ms", job.getId(), System.currentTimeMillis() - inicio);
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    private void lerCsv(BufferedReader reader, Lote lote) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        char separator = CsvRecordReader.detectSeparator(header);
+        List<ColunaCsv> colunas = new ArrayList<>();
+        for (String coluna : new CsvRecordReader(new StringReader(header), separator, 1).next()) {
+            String normalizada = normalizarCabecalho(coluna);
+            colunas.add(new ColunaCsv(coluna, CSV_COLUMNS.get(normalizada), CSV_PET_COLUMNS.get(normalizada)));
+        }
+        if (colunas.stream().noneMatch(coluna -> coluna.cliente() == CSV_COLUMNS.get("nome"))) {
+            throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna nome");
+        }
+        
+        CsvRecordReader records = new CsvRecordReader(reader, separator, 2);
+        List<String> campos;
+        Linha atual = null;
+        List<String> dadosAtual = null;
+        while ((campos = records.next()) != null) {
+            long numero = records.getRecordLine();
+            ClienteImportRequest request = new ClienteImportRequest();
+            PetRequest pet = new PetRequest();
+            boolean temPet = false;
+            // Valores das colunas de cliente, para reconhecer linhas do mesmo cliente
+            List<String> dados = new ArrayList<>();
+            String erro = null;
+            for (int i = 0; i < campos.size() && i < colunas.size(); i++) {
+                String valor = campos.get(i).trim();
+                ColunaCsv coluna = colunas.get(i);
+                if (coluna.cliente() != null) {
+                    dados.add(valor);
+                    if (!valor.isEmpty()) {
+                        coluna.cliente().accept(request, valor);
+                    }
+                } else if (coluna.pet() != null && !valor.isEmpty()) {
+                    try {
+                        coluna.pet().accept(pet, valor);
+                        temPet = true;
+                    } catch (RuntimeException e) {
+                        erro = "Valor inválido na coluna " + coluna.nome() + ": " + valor;
+                    }
+                }
+            }
+            
+            if (erro != null) {
+                lote.job.linhasProcessadas(1);
+                lote.job.rejeitar(numero, erro);
+            } else if (temPet && atual != null && dados.equals(dadosAtual)) {
+                atual.request().getPets().add(pet);
+                atual = atual.comMaisUmaLinha();
+            } else {
+                if (atual != null) {
+                    lote.adicionar(atual);
+                }
+                if (temPet) {
+                    request.getPets().add(pet);
+                }
+                atual = new Linha(numero, request, 1);
+                dadosAtual = dados;
+            }
+        }
+        if (atual != null) {
+            lote.adicionar(atual);
+        }
+    }
+    
+    private void lerNdjson(BufferedReader reader, Lote lote) throws IOException {
+        ObjectReader jsonReader = objectMapper.readerFor(ClienteImportRequest.class);
+        String linha;
+        long numero = 0;
+        while ((linha = reader.readLine()) != null) {
+            numero++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                lote.adicionar(new Linha(numero, jsonReader.readValue(linha), 1));
+            } catch (JsonProcessingException e) {
+                lote.job.linhasProcessadas(1);
+                lote.job.rejeitar(numero, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+    
+    private static String normalizarCabecalho(String coluna) {
+        return semAcentos(coluna).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+    
+    /**
+     * Valor de enum sem acentos e em maiúsculas (ex.: Pássaro -> PASSARO)
+     */
+    private static String normalizarEnum(String valor) {
+        return semAcentos(valor).toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+    }
+    
+    private static String semAcentos(String valor) {
+        return Normalizer.normalize(valor, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+    }
+    
+    private static boolean ativo(String valor) {
+        return !INATIVO.contains(valor.toLowerCase(Locale.ROOT));
+    }
+    
+    /**
+     * Sexo pelo nome (Macho, Fêmea) ou pela sigla (M, F, I)
+     */
+    private static SexoPet sexo(String valor) {
+        return valor.length() == 1 ? SexoPet.porSigla(valor) : SexoPet.valueOf(normalizarEnum(valor));
+    }
+    
+    /**
+     * Data no formato ISO (como na exportação) ou dd/MM/yyyy
+     */
+    private static LocalDate data(String valor) {
+        return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+    }
+    
+    /**
+     * CPF/CNPJ apenas com dígitos, como a coluna cpf_cnpj_digitos (V14)
+     */
+    private static String normalizarCpfCnpj(String valor) {
+        String digitos = valor == null ? "" : valor.replaceAll("[^0-9]", "");
+        return digitos.isEmpty() ? null : digitos;
+    }
+    
+    /**
+     * Email sem espaços e em minúsculas, como a coluna email_normalizado (V14)
+     */
+    private static String normalizarEmail(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Linhas acumuladas até o tamanho do lote, com os CPF/CNPJ e emails já vistos no arquivo
+     */
+    private class Lote {
+        
+        private final ClienteImportJob job;
+        private final List<Linha> linhas = new ArrayList<>();
+        private final Set<String> cpfCnpjVistos = new HashSet<>();
+        private final Set<String> emailsVistos = new HashSet<>();
+        
+        Lote(ClienteImportJob job) {
+            this.job = job;
+        }
+        
+        void adicionar(Linha linha) {
+            linhas.add(linha);
+            if (linhas.size() >= batchSize) {
+                gravar();
+            }
+        }
+        
+        /**
+         * Valida, remove duplicados e grava as linhas acumuladas
+         */
+        void gravar() {
+            if (linhas.isEmpty()) {
+                return;
+            }
+            List<Linha> validas = new ArrayList<>(linhas.size());
+            for (Linha linha : linhas) {
+                Set<ConstraintViolation<ClienteImportRequest>> violacoes = validator.validate(linha.request());
+                if (!violacoes.isEmpty()) {
+                    job.rejeitar(linha.numero(), violacoes.stream()
+                        .map(ClienteImportWorker::mensagem).sorted().collect(Collectors.joining("; ")));
+                } else if (!vistoPelaPrimeiraVez(cpfCnpjVistos, normalizarCpfCnpj(linha.request().getCpfCnpj()))) {
+                    job.rejeitar(linha.numero(), "CPF/CNPJ repetido no arquivo");
+                } else if (!vistoPelaPrimeiraVez(emailsVistos, normalizarEmail(linha.request().getEmail()))) {
+                    job.rejeitar(linha.numero(), "Email repetido no arquivo");
+                } else {
+                    validas.add(linha);
+                }
+            }
+            
+            int processadas = linhas.stream().mapToInt(Linha::linhasArquivo).sum();
+            linhas.clear();
+            if (!validas.isEmpty()) {
+                gravarValidas(validas);
+            }
+            job.linhasProcessadas(processadas);
+        }
+        
+        private void gravarValidas(List<Linha> validas) {
+            String tenantId = job.getTenantId();
+            Map<String, Linha> porCpfCnpj = new HashMap<>();
+            Map<String, Linha> porEmail = new HashMap<>();
+            for (Linha linha : validas) {
+                String cpfCnpj = normalizarCpfCnpj(linha.request().getCpfCnpj());
+                String email = normalizarEmail(linha.request().getEmail());
+                if (cpfCnpj != null) {
+                    porCpfCnpj.put(cpfCnpj, linha);
+                }
+                if (email != null) {
+                    porEmail.put(email, linha);
+                }
+            }
+            
+            Set<Linha> existentes = new HashSet<>();
+            if (!porCpfCnpj.isEmpty()) {
+                for (String cpfCnpj : clienteRepository.findExistingCpfCnpj(tenantId, porCpfCnpj.keySet())) {
+                    Linha linha = porCpfCnpj.get(cpfCnpj);
+                    if (existentes.add(linha)) {
+                        job.rejeitar(linha.numero(), "Já existe um cliente com este CPF/CNPJ");
+                    }
+                }
+            }
+            if (!porEmail.isEmpty()) {
+                for (String email : clienteRepository.findExistingEmails(tenantId, porEmail.keySet())) {
+                    Linha linha = porEmail.get(email);
+                    if (existentes.add(linha)) {
+                        job.rejeitar(linha.numero(), "Já existe um cliente com este email");
+                    }
+                }
+            }
+            
+            List<Linha> novas = validas.stream().filter(linha -> !existentes.contains(linha)).toList();
+            if (novas.isEmpty()) {
+                return;
+            }
+            
+            try {
+                gravarNovas(novas);
+            } catch (DataIntegrityViolationException e) {
+                // Cadastro concorrente depois da conferência: regrava linha a linha
+                logger.info("Conflito ao gravar lote da importação {}, gravando linha a linha: {}",
+                    job.getId(), e.getMostSpecificCause().getMessage());
+                for (Linha linha : novas) {
+                    gravarLinha(linha);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Erro ao gravar lote da importação {}: {}", job.getId(), e.getMessage());
+                for (Linha linha : novas) {
+                    job.rejeitar(linha.numero(), "Erro ao gravar o lote: " + e.getMessage());
+                }
+            }
+        }
+        
+        private void gravarLinha(Linha linha) {
+            try {
+                gravarNovas(List.of(linha));
+            } catch (DataIntegrityViolationException e) {
+                ConflictException conflito = ClienteService.conflito(e);
+                job.rejeitar(linha.numero(), conflito != null
+                    ? conflito.getMessage()
+                    : "Erro ao gravar: " + e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                job.rejeitar(linha.numero(), "Erro ao gravar: " + e.getMessage());
+            }
+        }
+        
+        /**
+         * Grava clientes e pets em uma transação. As entidades são criadas a cada tentativa:
+         * as de uma transação desfeita já receberam IDs da sequência.
+         */
+        private void gravarNovas(List<Linha> novas) {
+            String tenantId = job.getTenantId();
+            LocalDateTime agora = LocalDateTime.now();
+            List<Cliente> clientes = new ArrayList<>(novas.size());
+            List<Pet> pets = new ArrayList<>();
+            for (Linha linha : novas) {
+                Cliente cliente = clienteService.convertToEntity(linha.request());
+                cliente.setTenantId(tenantId);
+                cliente.setCreatedAt(agora);
+                cliente.setUpdatedAt(agora);
+                clientes.add(cliente);
+                for (PetRequest petRequest : linha.request().getPets()) {
+                    pets.add(novoPet(petRequest, cliente, agora));
+                }
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                clienteRepository.saveAll(clientes);
+                petRepository.saveAll(pets);
+            });
+            job.importados(clientes.size());
+            job.petsImportados(pets.size());
+        }
+        
+        private boolean vistoPelaPrimeiraVez(Set<String> vistos, String normalizado) {
+            return normalizado == null || vistos.add(normalizado);
+        }
+    }
+    
+    private static Pet novoPet(PetRequest request, Cliente cliente, LocalDateTime agora) {
+        Pet pet = new Pet();
+        pet.setNome(request.getNome());
+        pet.setEspecie(request.getEspecie());
+        pet.setRaca(request.getRaca());
+        pet.setSexo(request.getSexo());
+        pet.setDataNascimento(request.getDataNascimento());
+        pet.setPeso(request.getPeso());
+        pet.setCor(request.getCor());
+        pet.setMicrochip(request.getMicrochip());
+        pet.setObservacoes(request.getObservacoes());
+        pet.setAtivo(request.getAtivo() != null ? request.getAtivo() : true);
+        pet.setCliente(cliente);
+        pet.setTenantId(cliente.getTenantId());
+        pet.setCreatedAt(agora);
+        pet.setUpdatedAt(agora);
+        return pet;
+    }
+    
+    /**
+     * Mensagem de uma violação; as dos pets indicam a posição do pet no cliente
+     */
+    private static String mensagem(ConstraintViolation<?> violacao) {
+        Matcher pet = PET_PATH.matcher(violacao.getPropertyPath().toString());
+        if (pet.lookingAt()) {
+            return "Pet " + (Integer.parseInt(pet.group(1)) + 1) + ": " + violacao.getMessage();
+        }
+        return violacao.getMessage();
+    }
+    
+    /**
+     * Cliente a importar
+     * @param numero Linha do arquivo em que o cliente começa
+     * @param request Dados do cliente e dos pets
+     * @param linhasArquivo Linhas do arquivo lidas para o cliente (uma por pet no CSV)
+     */
+    private record Linha(long numero, ClienteImportRequest request, int linhasArquivo) {
+        
+        Linha comMaisUmaLinha() {
+            return new Linha(numero, request, linhasArquivo + 1);
+        }
+    }
+    
+    /**
+     * Coluna do cabeçalho do CSV, mapeada para um campo do cliente ou do pet (ou ignorada)
+     */
+    private record ColunaCsv(String nome, BiConsumer<ClienteRequest, String> cliente,
+                             BiConsumer<PetRequest, String> pet) {}
+}
\ No newline at end of file
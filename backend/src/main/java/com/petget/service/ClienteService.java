@@ -2,19 +2,33 @@ package com.petget.service;
 
 import com.petget.config.TenantContext;
 import com.petget.dto.ClienteRequest;
+import com.petget.dto.BatchResponse;
 import com.petget.dto.ClienteResponse;
+import com.petget.dto.CursorPage;
 import com.petget.entity.Cliente;
+import com.petget.exception.BadRequestException;
 import com.petget.exception.ConflictException;
 import com.petget.exception.NotFoundException;
 import com.petget.repository.ClienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Serviço responsável pela lógica de negócio de clientes.
@@ -24,9 +38,17 @@ import java.util.Optional;
 @Transactional
 public class ClienteService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     @Autowired
     private ClienteRepository clienteRepository;
     
+    @Autowired
+    private ClienteAutocompleteService clienteAutocompleteService;
+    
+    @Autowired
+    private BatchIds batchIds;
+    
     /**
      * Lista todos os clientes com paginação
      * @param pageable Configuração de paginação
@@ -39,9 +61,59 @@ public class ClienteService {
             throw new IllegalStateException("Tenant não definido");
         }
         
-        // Usando findAll() para deixar o filtro Hibernate fazer o trabalho
-        Page<Cliente> clientes = clienteRepository.findAll(pageable);
-        return clientes.map(this::convertToResponse);
+        return clienteRepository.findResponsesByTenantId(tenantId, pageable);
+    }
+    
+    /**
+     * Lista clientes selecionando apenas os campos solicitados (parâmetro fields=)
+     * @param fields Campos do ClienteResponse; id é sempre incluído
+     * @param somenteAtivos true para listar apenas clientes ativos
+     * @param pageable Configuração de paginação
+     * @return Página de mapas campo -> valor
+     * @throws BadRequestException se algum campo não existir
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listarCampos(Collection<String> fields, boolean somenteAtivos, Pageable pageable) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        for (String field : fields) {
+            if (!ClienteRepository.PROJECTABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Campo inválido em fields: " + field);
+            }
+        }
+        return clienteRepository.findFieldsByTenantId(tenantId, somenteAtivos, fields, pageable);
+    }
+    
+    /**
+     * Lista os clientes ordenados por nome, paginando por cursor (keyset).
+     * O custo de cada página não depende da sua profundidade e não há contagem total.
+     * @param cursor Cursor retornado pela página anterior (nulo na primeira página)
+     * @param size Tamanho da página
+     * @return Página de clientes com o cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ClienteResponse> listarClientes(String cursor, int size) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        KeysetCursor after = KeysetCursor.decodeByNome(cursor);
+        int pageSize = cursorPageSize(size);
+        // Um item a mais indica se existe próxima página
+        List<ClienteResponse> clientes = clienteRepository.findNextPageByNome(
+            tenantId, after.getNome(), after.getId(), PageRequest.of(0, pageSize + 1));
+        
+        String next = null;
+        if (clientes.size() > pageSize) {
+            clientes = clientes.subList(0, pageSize);
+            ClienteResponse ultimo = clientes.get(pageSize - 1);
+            next = KeysetCursor.encode(ultimo.getNome(), ultimo.getId());
+        }
+        return new CursorPage<>(clientes, pageSize, next);
     }
     
     /**
@@ -63,6 +135,27 @@ public class ClienteService {
         return convertToResponse(cliente);
     }
     
+    /**
+     * Busca vários clientes por ID em uma única consulta
+     * @param ids IDs dos clientes, na ordem desejada
+     * @return Clientes na ordem dos IDs e IDs não encontrados
+     * @throws BadRequestException se a quantidade de IDs exceder petget.batch.max-ids
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<ClienteResponse> buscarPorIds(List<Long> ids) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        Set<Long> unicos = batchIds.validar(ids);
+        if (unicos.isEmpty()) {
+            return new BatchResponse<>(List.of(), List.of());
+        }
+        List<ClienteResponse> clientes = clienteRepository.findResponsesByIdInAndTenantId(unicos, tenantId);
+        return BatchResponse.of(unicos, clientes, ClienteResponse::getId);
+    }
+    
     /**
      * Cria um novo cliente
      * @param clienteRequest Dados do cliente
@@ -74,30 +167,14 @@ public class ClienteService {
             throw new IllegalStateException("Tenant não definido");
         }
         
-        // Verifica se já existe cliente com mesmo CPF/CNPJ
-        if (clienteRequest.getCpfCnpj() != null && !clienteRequest.getCpfCnpj().trim().isEmpty()) {
-            Optional<Cliente> existente = clienteRepository.findByCpfCnpjAndTenantId(
-                clienteRequest.getCpfCnpj().trim(), tenantId);
-            if (existente.isPresent()) {
-                throw new ConflictException("Já existe um cliente com este CPF/CNPJ");
-            }
-        }
-        
-        // Verifica se já existe cliente com mesmo email
-        if (clienteRequest.getEmail() != null && !clienteRequest.getEmail().trim().isEmpty()) {
-            Optional<Cliente> existente = clienteRepository.findByEmailAndTenantId(
-                clienteRequest.getEmail().trim(), tenantId);
-            if (existente.isPresent()) {
-                throw new ConflictException("Já existe um cliente com este email");
-            }
-        }
-        
         Cliente cliente = convertToEntity(clienteRequest);
         cliente.setTenantId(tenantId);
         cliente.setCreatedAt(LocalDateTime.now());
         cliente.setUpdatedAt(LocalDateTime.now());
         
-        Cliente clienteSalvo = clienteRepository.save(cliente);
+        // CPF/CNPJ e email duplicados são rejeitados pelos índices únicos (V14)
+        Cliente clienteSalvo = salvar(cliente);
+        clienteAutocompleteService.onClienteSaved(clienteSalvo);
         return convertToResponse(clienteSalvo);
     }
     
@@ -120,29 +197,12 @@ public class ClienteService {
         
         Cliente cliente = clienteExistente.get();
         
-        // Verifica conflitos de CPF/CNPJ
-        if (clienteRequest.getCpfCnpj() != null && !clienteRequest.getCpfCnpj().trim().isEmpty()) {
-            Optional<Cliente> existente = clienteRepository.findByCpfCnpjAndTenantId(
-                clienteRequest.getCpfCnpj().trim(), tenantId);
-            if (existente.isPresent() && !existente.get().getId().equals(id)) {
-                throw new ConflictException("Já existe um cliente com este CPF/CNPJ");
-            }
-        }
-        
-        // Verifica conflitos de email
-        if (clienteRequest.getEmail() != null && !clienteRequest.getEmail().trim().isEmpty()) {
-            Optional<Cliente> existente = clienteRepository.findByEmailAndTenantId(
-                clienteRequest.getEmail().trim(), tenantId);
-            if (existente.isPresent() && !existente.get().getId().equals(id)) {
-                throw new ConflictException("Já existe um cliente com este email");
-            }
-        }
-        
         // Atualiza os campos
         updateEntityFromRequest(cliente, clienteRequest);
         cliente.setUpdatedAt(LocalDateTime.now());
         
-        Cliente clienteAtualizado = clienteRepository.save(cliente);
+        Cliente clienteAtualizado = salvar(cliente);
+        clienteAutocompleteService.onClienteSaved(clienteAtualizado);
         return convertToResponse(clienteAtualizado);
     }
     
@@ -165,10 +225,12 @@ public class ClienteService {
         clienteEntity.setAtivo(false);
         clienteEntity.setUpdatedAt(LocalDateTime.now());
         clienteRepository.save(clienteEntity);
+        clienteAutocompleteService.onClienteRemoved(tenantId, id);
     }
     
     /**
-     * Busca clientes por nome
+     * Busca clientes por nome ou parte do nome, ignorando acentos e maiúsculas
+     * ("joao" encontra "João"). Resultados ordenados pela similaridade com o termo.
      * @param nome Nome ou parte do nome
      * @param pageable Configuração de paginação
      * @return Página de clientes
@@ -180,9 +242,76 @@ public class ClienteService {
             throw new IllegalStateException("Tenant não definido");
         }
         
-        // Por enquanto, usar busca simples até implementar busca por nome
-        Page<Cliente> clientes = clienteRepository.findByTenantId(tenantId, pageable);
-        return clientes.map(this::convertToResponse);
+        String termo = nome != null ? nome.trim() : "";
+        if (termo.isEmpty()) {
+            return clienteRepository.findResponsesByTenantId(tenantId, pageable);
+        }
+        
+        // A ordenação é sempre por similaridade: a busca retorna os IDs na ordem e
+        // a projeção carrega apenas as colunas da resposta, pela chave primária
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Long> ids = clienteRepository.searchIdsByNome(termo, escapeLike(termo), tenantId, pagina);
+        if (ids.isEmpty()) {
+            return ids.map(id -> null);
+        }
+        List<ClienteResponse> clientes = carregarNaOrdem(ids.getContent(), tenantId);
+        long removidos = ids.getNumberOfElements() - clientes.size();
+        return new PageImpl<>(clientes, ids.getPageable(), ids.getTotalElements() - removidos);
+    }
+    
+    /**
+     * Busca clientes por nome como buscarPorNome, sem a contagem total: a resposta indica
+     * apenas se há uma próxima página. Para telas que não exibem o total de resultados.
+     * @param nome Nome ou parte do nome
+     * @param pageable Configuração de paginação
+     * @return Fatia de clientes
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClienteResponse> buscarPorNomeSemContagem(String nome, Pageable pageable) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        String termo = nome != null ? nome.trim() : "";
+        if (termo.isEmpty()) {
+            return clienteRepository.findResponseSliceByTenantId(tenantId, pageable);
+        }
+        
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Slice<Long> ids = clienteRepository.searchIdSliceByNome(termo, escapeLike(termo), tenantId, pagina);
+        if (ids.isEmpty()) {
+            return ids.map(id -> null);
+        }
+        return new SliceImpl<>(carregarNaOrdem(ids.getContent(), tenantId), ids.getPageable(), ids.hasNext());
+    }
+    
+    /**
+     * Carrega as respostas dos clientes preservando a ordem dos IDs
+     * @param ids IDs na ordem da busca
+     * @param tenantId ID do tenant
+     * @return Clientes na ordem dos IDs
+     */
+    private List<ClienteResponse> carregarNaOrdem(List<Long> ids, String tenantId) {
+        Map<Long, ClienteResponse> porId = new HashMap<>();
+        for (ClienteResponse cliente : clienteRepository.findResponsesByIdInAndTenantId(ids, tenantId)) {
+            porId.put(cliente.getId(), cliente);
+        }
+        // Cada consulta vê o banco no seu próprio início (READ COMMITTED): clientes removidos
+        // entre as duas ficam fora da página e da contagem, em vez de virarem itens nulos
+        return ids.stream()
+            .map(porId::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
+    /**
+     * Escapa os curingas de LIKE digitados pelo usuário
+     * @param termo Termo de busca
+     * @return Termo com %, _ e \ escapados
+     */
+    private String escapeLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
     
     /**
@@ -217,8 +346,77 @@ public class ClienteService {
             throw new IllegalStateException("Tenant não definido");
         }
         
-        Page<Cliente> clientes = clienteRepository.findByAtivoTrueAndTenantId(tenantId, pageable);
-        return clientes.map(this::convertToResponse);
+        return clienteRepository.findResponsesByAtivoTrueAndTenantId(tenantId, pageable);
+    }
+    
+    /**
+     * Lista apenas clientes ativos, ordenados por id, paginando por cursor (keyset)
+     * @param cursor Cursor retornado pela página anterior (nulo na primeira página)
+     * @param size Tamanho da página
+     * @return Página de clientes ativos com o cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ClienteResponse> listarClientesAtivos(String cursor, int size) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        KeysetCursor after = KeysetCursor.decodeById(cursor);
+        int pageSize = cursorPageSize(size);
+        List<ClienteResponse> clientes = clienteRepository.findNextPageByAtivoTrue(
+            tenantId, after.getId(), PageRequest.of(0, pageSize + 1));
+        
+        String next = null;
+        if (clientes.size() > pageSize) {
+            clientes = clientes.subList(0, pageSize);
+            next = KeysetCursor.encode(clientes.get(pageSize - 1).getId());
+        }
+        return new CursorPage<>(clientes, pageSize, next);
+    }
+    
+    /**
+     * Limita o tamanho das páginas por cursor
+     * @param size Tamanho solicitado
+     * @return Tamanho entre 1 e MAX_CURSOR_PAGE_SIZE
+     */
+    private int cursorPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+    }
+    
+    /**
+     * Grava o cliente imediatamente, convertendo violações dos índices únicos de
+     * CPF/CNPJ e email em ConflictException
+     * @param cliente Cliente a gravar
+     * @return Cliente gravado
+     * @throws ConflictException se o CPF/CNPJ ou o email já pertencer a outro cliente do tenant
+     */
+    private Cliente salvar(Cliente cliente) {
+        try {
+            return clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            ConflictException conflito = conflito(e);
+            if (conflito != null) {
+                throw conflito;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Converte a violação de um índice único de CPF/CNPJ ou email (V14) em ConflictException
+     * @param e Violação de integridade
+     * @return Conflito, ou null se a violação for de outra restrição
+     */
+    static ConflictException conflito(DataIntegrityViolationException e) {
+        String violacao = e.getMostSpecificCause().getMessage();
+        if (violacao != null && violacao.contains("cpf_cnpj_digitos")) {
+            return new ConflictException("Já existe um cliente com este CPF/CNPJ", e);
+        }
+        if (violacao != null && violacao.contains("email_normalizado")) {
+            return new ConflictException("Já existe um cliente com este email", e);
+        }
+        return null;
     }
     
     /**
@@ -248,11 +446,11 @@ public class ClienteService {
     }
     
     /**
-     * Converte DTO de requisição para entidade
+     * Converte DTO de requisição para entidade (usado também pela importação em lote)
      * @param request DTO de requisição
      * @return Entidade cliente
      */
-    private Cliente convertToEntity(ClienteRequest request) {
+    public Cliente convertToEntity(ClienteRequest request) {
         Cliente cliente = new Cliente();
         updateEntityFromRequest(cliente, request);
         return cliente;
@@ -0,0 +1,116 @@
+package com.petget.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV em fluxo (RFC 4180): campos entre aspas podem conter o separador,
+ * quebras de linha e aspas duplicadas. Lê um registro por vez, sem carregar o arquivo.
+ */
+class CsvRecordReader {
+    
+    private final Reader reader;
+    private final char separator;
+    private int pending = -2;
+    private long line;
+    private long recordLine;
+    
+    /**
+     * @param reader Conteúdo a partir do primeiro registro a ler
+     * @param separator Separador de campos
+     * @param firstLine Número da linha do arquivo em que o conteúdo começa
+     */
+    CsvRecordReader(Reader reader, char separator, long firstLine) {
+        this.reader = reader;
+        this.separator = separator;
+        this.line = firstLine;
+    }
+    
+    /**
+     * Detecta o separador pela linha de cabeçalho: ponto e vírgula (planilhas em português) ou vírgula
+     * @param header Linha de cabeçalho
+     * @return Separador
+     */
+    static char detectSeparator(String header) {
+        return header.chars().filter(c -> c == ';').count() > header.chars().filter(c -> c == ',').count() ? ';' : ',';
+    }
+    
+    /**
+     * Linha do arquivo onde começa o último registro lido
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+    
+    /**
+     * Lê o próximo registro
+     * @return Campos do registro, ou null no fim do arquivo
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        // Ignora linhas em branco
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Aspas não fechadas no registro da linha " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+    
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.petget.service;
+
+import com.petget.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco das listagens paginadas por keyset: a chave de ordenação do último item
+ * da página, (nome, id) ou apenas id, codificada em Base64 URL-safe.
+ * O primeiro componente identifica a ordenação, para rejeitar cursores de outra listagem.
+ */
+public final class KeysetCursor {
+    
+    private static final String SEPARATOR = "\u0000";
+    private static final String BY_ID = "i";
+    private static final String BY_NOME = "n";
+    
+    // Início das listagens: menor que qualquer chave existente
+    public static final KeysetCursor FIRST = new KeysetCursor("", 0L);
+    
+    private final String nome;
+    private final Long id;
+    
+    private KeysetCursor(String nome, Long id) {
+        this.nome = nome;
+        this.id = id;
+    }
+    
+    public String getNome() {
+        return nome;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * Codifica o cursor de uma listagem ordenada por id
+     * @param id ID do último item da página
+     * @return Cursor opaco
+     */
+    public static String encode(Long id) {
+        return encodeParts(BY_ID, id.toString());
+    }
+    
+    /**
+     * Codifica o cursor de uma listagem ordenada por (nome, id)
+     * @param nome Nome do último item da página
+     * @param id ID do último item da página
+     * @return Cursor opaco
+     */
+    public static String encode(String nome, Long id) {
+        return encodeParts(BY_NOME, id.toString(), nome);
+    }
+    
+    /**
+     * Decodifica o cursor de uma listagem ordenada por id
+     * @param cursor Cursor recebido (nulo ou vazio para a primeira página)
+     * @return Chave a partir da qual a página começa
+     * @throws BadRequestException se o cursor for inválido
+     */
+    public static KeysetCursor decodeById(String cursor) {
+        return decode(cursor, BY_ID);
+    }
+    
+    /**
+     * Decodifica o cursor de uma listagem ordenada por (nome, id)
+     * @param cursor Cursor recebido (nulo ou vazio para a primeira página)
+     * @return Chave a partir da qual a página começa
+     * @throws BadRequestException se o cursor for inválido
+     */
+    public static KeysetCursor decodeByNome(String cursor) {
+        return decode(cursor, BY_NOME);
+    }
+    
+    private static String encodeParts(String... parts) {
+        byte[] bytes = String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+    
+    private static KeysetCursor decode(String cursor, String ordenacao) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            if (!ordenacao.equals(parts[0]) || parts.length != (BY_NOME.equals(ordenacao) ? 3 : 2)) {
+                throw new BadRequestException("Cursor de paginação inválido");
+            }
+            Long id = Long.valueOf(parts[1]);
+            return new KeysetCursor(BY_NOME.equals(ordenacao) ? parts[2] : "", id);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor de paginação inválido", e);
+        }
+    }
+}
\ No newline at end of file
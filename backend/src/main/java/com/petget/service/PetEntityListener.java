@@ -0,0 +1,37 @@
+package com.petget.service;
+
+import com.petget.entity.Pet;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Listener JPA que mantém o índice de autocomplete atualizado com os pets salvos ou removidos,
+ * qualquer que seja o caminho de gravação. Instanciado pelo Hibernate através do container de beans do Spring.
+ */
+public class PetEntityListener {
+    
+    // Lazy evita ciclo entre o EntityManagerFactory e os serviços que usam repositórios
+    @Autowired
+    @Lazy
+    private ClienteAutocompleteService clienteAutocompleteService;
+    
+    /**
+     * Executado após inserir ou atualizar um pet
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSave(Pet pet) {
+        clienteAutocompleteService.onPetSaved(pet);
+    }
+    
+    /**
+     * Executado após remover um pet
+     */
+    @PostRemove
+    public void onRemove(Pet pet) {
+        clienteAutocompleteService.onPetRemoved(pet.getTenantId(), pet.getId());
+    }
+}
\ No newline at end of file
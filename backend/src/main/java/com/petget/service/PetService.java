@@ -0,0 +1,79 @@
+package com.petget.service;
+
+import com.petget.config.TenantContext;
+import com.petget.dto.BatchResponse;
+import com.petget.dto.CursorPage;
+import com.petget.dto.PetResponse;
+import com.petget.repository.PetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serviço responsável pela lógica de negócio de pets.
+ * Implementa consultas com suporte a multi-tenancy.
+ */
+@Service
+@Transactional
+public class PetService {
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
+    @Autowired
+    private PetRepository petRepository;
+    
+    @Autowired
+    private BatchIds batchIds;
+    
+    /**
+     * Busca vários pets por ID em uma única consulta
+     * @param ids IDs dos pets, na ordem desejada
+     * @return Pets na ordem dos IDs e IDs não encontrados
+     * @throws com.petget.exception.BadRequestException se a quantidade de IDs exceder petget.batch.max-ids
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<PetResponse> buscarPorIds(List<Long> ids) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        Set<Long> unicos = batchIds.validar(ids);
+        if (unicos.isEmpty()) {
+            return new BatchResponse<>(List.of(), List.of());
+        }
+        List<PetResponse> pets = petRepository.findResponsesByIdInAndTenantId(unicos, tenantId);
+        return BatchResponse.of(unicos, pets, PetResponse::getId);
+    }
+    
+    /**
+     * Lista apenas pets ativos, ordenados por id, paginando por cursor (keyset)
+     * @param cursor Cursor retornado pela página anterior (nulo na primeira página)
+     * @param size Tamanho da página
+     * @return Página de pets ativos com o cursor da próxima página
+     * @throws com.petget.exception.BadRequestException se o cursor for inválido
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PetResponse> listarPetsAtivos(String cursor, int size) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant não definido");
+        }
+        
+        KeysetCursor after = KeysetCursor.decodeById(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        List<PetResponse> pets = petRepository.findNextPageByAtivoTrue(
+            tenantId, after.getId(), PageRequest.of(0, pageSize + 1));
+        
+        String next = null;
+        if (pets.size() > pageSize) {
+            pets = pets.subList(0, pageSize);
+            next = KeysetCursor.encode(pets.get(pageSize - 1).getId());
+        }
+        return new CursorPage<>(pets, pageSize, next);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+package com.petget.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefixos em memória dos clientes e pets de um tenant, para autocomplete.
+ *
+ * Estrutura:
+ * - Base compacta: tokens normalizados em um array ordenado, com as referências em um
+ *   array paralelo de long; a busca por prefixo é uma busca binária seguida de varredura
+ * - Delta: tokens incluídos depois da carga, em um mapa ordenado concorrente
+ * - Removidos: referências cujos tokens da base ficaram desatualizados
+ * Quando o delta cresce, base e delta são fundidos em uma nova base. Leituras não usam locks.
+ *
+ * Referências codificam o tipo no bit menos significativo: (id << 1) | 1 para pets.
+ */
+public final class TenantPrefixIndex {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern NUMERIC_QUERY = Pattern.compile("[\\d\\s().,/+-]*\\d[\\d\\s().,/+-]*");
+    
+    // Estimativas de memória (bytes) usadas no orçamento global de índices
+    private static final int TOKEN_OVERHEAD_BYTES = 56;
+    private static final int ENTRY_OVERHEAD_BYTES = 120;
+    
+    private static final int MIN_DELTA_BEFORE_MERGE = 1024;
+    
+    private volatile Base base = new Base(new String[0], new long[0]);
+    private final ConcurrentSkipListMap<String, Set<Long>> delta = new ConcurrentSkipListMap<>();
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    private volatile long estimatedBytes;
+    
+    /**
+     * Item indexado: cliente ou pet
+     * @param pet true para pet
+     * @param id ID do cliente ou pet
+     * @param nome Nome exibido
+     * @param clienteId Cliente do pet (ou o próprio cliente)
+     * @param tokens Tokens normalizados do item
+     */
+    public record Entry(boolean pet, Long id, String nome, Long clienteId, String[] tokens) {
+    }
+    
+    private record Base(String[] tokens, long[] refs) {
+    }
+    
+    /**
+     * Monta a base do índice a partir da carga inicial
+     * @param loaded Itens carregados
+     */
+    public synchronized void load(List<Entry> loaded) {
+        for (Entry entry : loaded) {
+            entries.put(ref(entry.pet(), entry.id()), entry);
+        }
+        rebuild();
+    }
+    
+    /**
+     * Inclui ou atualiza um item
+     * @param entry Item
+     * @return true se o delta foi fundido à base (o tamanho estimado mudou)
+     */
+    public synchronized boolean put(Entry entry) {
+        long ref = ref(entry.pet(), entry.id());
+        entries.put(ref, entry);
+        removed.add(ref);
+        for (String token : entry.tokens()) {
+            delta.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+        if (delta.size() > Math.max(MIN_DELTA_BEFORE_MERGE, base.tokens().length / 8)) {
+            rebuild();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Remove um item
+     * @param pet true para pet
+     * @param id ID do item
+     */
+    public synchronized void remove(boolean pet, Long id) {
+        long ref = ref(pet, id);
+        Entry entry = entries.remove(ref);
+        removed.add(ref);
+        if (entry != null) {
+            for (String token : entry.tokens()) {
+                Set<Long> refs = delta.get(token);
+                if (refs != null) {
+                    refs.remove(ref);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Remove um cliente e os seus pets
+     * @param clienteId ID do cliente
+     */
+    public synchronized void removeCliente(Long clienteId) {
+        remove(false, clienteId);
+        for (Entry entry : List.copyOf(entries.values())) {
+            if (entry.pet() && clienteId.equals(entry.clienteId())) {
+                remove(true, entry.id());
+            }
+        }
+    }
+    
+    /**
+     * Busca itens cujos tokens começam com as palavras da consulta (todas devem casar)
+     * @param query Texto digitado
+     * @param limit Máximo de itens
+     * @return Itens encontrados, na ordem dos tokens
+     */
+    public List<Entry> search(String query, int limit) {
+        // Documentos e telefones digitados com máscara são buscados só pelos dígitos
+        String[] words = query != null && NUMERIC_QUERY.matcher(query).matches()
+            ? new String[] { NON_DIGITS.matcher(query).replaceAll("") }
+            : tokenize(query);
+        if (words.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // A palavra mais longa é a mais seletiva; as demais são conferidas nos tokens do item
+        String lead = words[0];
+        for (String word : words) {
+            if (word.length() > lead.length()) {
+                lead = word;
+            }
+        }
+        
+        Set<Long> found = new LinkedHashSet<>();
+        Base current = base;
+        int start = lowerBound(current.tokens(), lead);
+        for (int i = start; i < current.tokens().length && current.tokens()[i].startsWith(lead); i++) {
+            long ref = current.refs()[i];
+            if (!removed.contains(ref) && collect(ref, words, found) && found.size() >= limit) {
+                return toEntries(found);
+            }
+        }
+        for (Map.Entry<String, Set<Long>> match : delta.subMap(lead, true, lead + Character.MAX_VALUE, false).entrySet()) {
+            for (Long ref : match.getValue()) {
+                if (collect(ref, words, found) && found.size() >= limit) {
+                    return toEntries(found);
+                }
+            }
+        }
+        return toEntries(found);
+    }
+    
+    public Entry get(boolean pet, Long id) {
+        return entries.get(ref(pet, id));
+    }
+    
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+    
+    /**
+     * Normaliza um texto em tokens: minúsculas, sem acentos, separados por pontuação e espaços
+     * @param text Texto
+     * @return Tokens
+     */
+    public static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(normalized.toLowerCase()))
+            .filter(token -> !token.isEmpty())
+            .toArray(String[]::new);
+    }
+    
+    /**
+     * Tokens de documentos e telefones: apenas dígitos; telefones também sem o DDD
+     * @param text Texto
+     * @param phone true para telefone
+     * @return Tokens
+     */
+    public static List<String> digitTokens(String text, boolean phone) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        String digits = NON_DIGITS.matcher(text).replaceAll("");
+        if (digits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (phone && digits.length() > 9) {
+            return List.of(digits, digits.substring(2));
+        }
+        return List.of(digits);
+    }
+    
+    private boolean collect(long ref, String[] words, Set<Long> found) {
+        if (found.contains(ref)) {
+            return false;
+        }
+        Entry entry = entries.get(ref);
+        if (entry == null || !matchesAll(entry, words)) {
+            return false;
+        }
+        found.add(ref);
+        return true;
+    }
+    
+    private static boolean matchesAll(Entry entry, String[] words) {
+        for (String word : words) {
+            boolean matched = false;
+            for (String token : entry.tokens()) {
+                if (token.startsWith(word)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private List<Entry> toEntries(Set<Long> refs) {
+        List<Entry> result = new ArrayList<>(refs.size());
+        for (Long ref : refs) {
+            Entry entry = entries.get(ref);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Reconstrói a base a partir de todos os itens e descarta delta e removidos.
+     * A nova base é publicada antes da limpeza, para que leituras concorrentes não percam itens.
+     */
+    private void rebuild() {
+        List<Map.Entry<String, Long>> pairs = new ArrayList<>();
+        long bytes = 0;
+        for (Map.Entry<Long, Entry> item : entries.entrySet()) {
+            Entry entry = item.getValue();
+            bytes += ENTRY_OVERHEAD_BYTES + 2L * entry.nome().length();
+            for (String token : entry.tokens()) {
+                pairs.add(Map.entry(token, item.getKey()));
+                bytes += TOKEN_OVERHEAD_BYTES + 2L * token.length();
+            }
+        }
+        pairs.sort(Map.Entry.comparingByKey());
+        
+        String[] tokens = new String[pairs.size()];
+        long[] refs = new long[pairs.size()];
+        for (int i = 0; i < pairs.size(); i++) {
+            // Tokens iguais compartilham a mesma instância
+            String token = pairs.get(i).getKey();
+            tokens[i] = i > 0 && token.equals(tokens[i - 1]) ? tokens[i - 1] : token;
+            refs[i] = pairs.get(i).getValue();
+        }
+        base = new Base(tokens, refs);
+        delta.clear();
+        removed.clear();
+        estimatedBytes = bytes;
+    }
+    
+    private static int lowerBound(String[] tokens, String prefix) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private static long ref(boolean pet, Long id) {
+        return (id << 1) | (pet ? 1 : 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package com.petget.service;
+
+import com.petget.config.ShardDirectory;
+import com.petget.config.ShardingProperties;
+import com.petget.config.TenantRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Move os dados de um tenant entre shards sem tirá-lo do ar.
+ *
+ * Etapas:
+ * - Cópia inicial em lotes (keyset por id), com o tenant operando normalmente
+ * - Bloqueio de escritas (empresas.shard_bloqueado), propagado aos nós via NOTIFY;
+ *   leituras continuam sendo atendidas pelo shard de origem
+ * - Cópia das linhas alteradas durante a cópia inicial e remoção das excluídas
+ * - Conferência das contagens, troca do shard no diretório e liberação das escritas
+ * - Remoção dos dados do shard de origem
+ *
+ * Os IDs são preservados; shards adicionais devem ter faixas de IDs próprias (id-start).
+ * Um ID já usado por outro tenant no destino interrompe a migração, nunca é sobrescrito.
+ * Empresas e usuários ficam no shard padrão (diretório): o login localiza o usuário
+ * pelo email antes de conhecer o tenant.
+ */
+@Service
+@ConditionalOnProperty(name = "petget.sharding.enabled", havingValue = "true")
+public class TenantShardMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantShardMigrator.class);
+
+    // Ordem de cópia respeita as chaves estrangeiras (pets -> clientes); a remoção usa a ordem inversa
+    private static final List<String> TENANT_TABLES = List.of("clientes", "pets", "produtos");
+
+    // Tabelas particionadas por tenant (V9): a unicidade de id é garantida por (tenant_id, id)
+    private static final Set<String> PARTITIONED_TABLES = Set.of("clientes", "pets");
+
+    // Colunas geradas (V14): calculadas pelo banco, não aceitam valores no INSERT
+    private static final Set<String> GENERATED_COLUMNS = Set.of("cpf_cnpj_digitos", "email_normalizado");
+
+    // Margem para diferenças de relógio entre a aplicação e os bancos na cópia incremental
+    private static final long DELTA_MARGIN_MS = 60_000L;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    /**
+     * Move os dados do tenant para o shard informado
+     * @param tenantId ID do tenant
+     * @param targetShard Nome do shard de destino
+     */
+    public void migrate(String tenantId, String targetShard) {
+        JdbcTemplate directory = shardDirectory.directoryJdbcTemplate();
+        List<String> current = directory.queryForList(
+            "SELECT shard FROM empresas WHERE tenant_id = ?", String.class, tenantId);
+        if (current.isEmpty()) {
+            throw new IllegalArgumentException("Tenant não encontrado: " + tenantId);
+        }
+        String sourceShard = current.get(0);
+        if (sourceShard.equals(targetShard)) {
+            logger.info("Tenant {} já está no shard {}", tenantId, targetShard);
+            return;
+        }
+
+        JdbcTemplate source = shardDirectory.jdbcTemplate(sourceShard);
+        JdbcTemplate target = shardDirectory.jdbcTemplate(targetShard);
+        logger.info("Migrando tenant {} do shard {} para {}", tenantId, sourceShard, targetShard);
+
+        Timestamp copyStartedAt = new Timestamp(System.currentTimeMillis() - DELTA_MARGIN_MS);
+        deleteRemoved(source, target, tenantId);
+        for (String table : TENANT_TABLES) {
+            int copied = copyRows(source, target, table, tenantId, null);
+            logger.info("Cópia inicial de {}: {} linhas", table, copied);
+        }
+
+        setBlocked(directory, tenantId, true);
+        boolean switched = false;
+        try {
+            Thread.sleep(shardingProperties.getMigration().getFreezeGraceMs());
+
+            for (String table : TENANT_TABLES) {
+                int copied = copyRows(source, target, table, tenantId, copyStartedAt);
+                logger.info("Cópia incremental de {}: {} linhas", table, copied);
+            }
+            deleteRemoved(source, target, tenantId);
+            verifyCounts(source, target, tenantId);
+
+            directory.update("UPDATE empresas SET shard = ?, shard_bloqueado = false WHERE tenant_id = ?",
+                targetShard, tenantId);
+            switched = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Migração do tenant interrompida", e);
+        } finally {
+            if (!switched) {
+                setBlocked(directory, tenantId, false);
+            }
+        }
+        tenantRegistry.reload();
+        logger.info("Tenant {} passou a usar o shard {}", tenantId, targetShard);
+
+        for (String table : reversed(TENANT_TABLES)) {
+            int deleted = source.update("DELETE FROM " + table + " WHERE tenant_id = ?", tenantId);
+            logger.info("Removidas {} linhas de {} no shard {}", deleted, table, sourceShard);
+        }
+    }
+
+    /**
+     * Copia as linhas do tenant em lotes ordenados por id
+     * @param since Quando informado, copia apenas linhas criadas ou alteradas a partir desta data
+     * @return Número de linhas copiadas
+     */
+    private int copyRows(JdbcTemplate source, JdbcTemplate target, String table, String tenantId, Timestamp since) {
+        int batchSize = shardingProperties.getMigration().getBatchSize();
+        long lastId = 0;
+        int copied = 0;
+        while (true) {
+            List<Map<String, Object>> rows = since == null
+                ? source.queryForList(
+                    "SELECT * FROM " + table + " WHERE tenant_id = ? AND id > ? ORDER BY id LIMIT ?",
+                    tenantId, lastId, batchSize)
+                : source.queryForList(
+                    "SELECT * FROM " + table + " WHERE tenant_id = ? AND id > ? " +
+                    "AND COALESCE(updated_at, created_at) >= ? ORDER BY id LIMIT ?",
+                    tenantId, lastId, since, batchSize);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            upsert(target, table, tenantId, rows);
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            copied += rows.size();
+        }
+    }
+
+    /**
+     * Insere ou atualiza linhas pela chave primária, mantendo os valores da origem.
+     * Linhas do destino com o mesmo id e outro tenant não são alteradas e interrompem a migração.
+     */
+    private void upsert(JdbcTemplate target, String table, String tenantId, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = rows.get(0).keySet().stream()
+            .filter(column -> !GENERATED_COLUMNS.contains(column))
+            .toList();
+        List<String> conflictColumns = PARTITIONED_TABLES.contains(table) ? List.of("tenant_id", "id") : List.of("id");
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" +
+            columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") " +
+            "ON CONFLICT (" + String.join(", ", conflictColumns) + ") DO UPDATE SET " +
+            columns.stream().filter(column -> !conflictColumns.contains(column))
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", ")) +
+            " WHERE " + table + ".tenant_id = EXCLUDED.tenant_id";
+
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            args.add(columns.stream().map(row::get).toArray());
+        }
+        target.batchUpdate(sql, args);
+
+        // Contagens do lote não são confiáveis com reWriteBatchedInserts: confere pelos ids
+        Long[] ids = rows.stream().map(row -> ((Number) row.get("id")).longValue()).toArray(Long[]::new);
+        List<Long> foreignIds = target.queryForList(
+            "SELECT id FROM " + table + " WHERE id = ANY(?) AND tenant_id <> ?", Long.class, ids, tenantId);
+        if (!foreignIds.isEmpty()) {
+            throw new IllegalStateException("IDs de " + table + " já usados por outro tenant no shard de destino: " +
+                foreignIds.subList(0, Math.min(foreignIds.size(), 10)));
+        }
+    }
+
+    /**
+     * Remove do destino as linhas do tenant que não existem mais na origem
+     */
+    private void deleteRemoved(JdbcTemplate source, JdbcTemplate target, String tenantId) {
+        for (String table : reversed(TENANT_TABLES)) {
+            Set<Long> targetIds = new HashSet<>(target.queryForList(
+                "SELECT id FROM " + table + " WHERE tenant_id = ?", Long.class, tenantId));
+            targetIds.removeAll(source.queryForList(
+                "SELECT id FROM " + table + " WHERE tenant_id = ?", Long.class, tenantId));
+            if (!targetIds.isEmpty()) {
+                target.batchUpdate("DELETE FROM " + table + " WHERE tenant_id = ? AND id = ?",
+                    targetIds.stream().map(id -> new Object[]{tenantId, id}).toList());
+                logger.info("Removidas {} linhas excluídas de {} no destino", targetIds.size(), table);
+            }
+        }
+    }
+
+    private void verifyCounts(JdbcTemplate source, JdbcTemplate target, String tenantId) {
+        for (String table : TENANT_TABLES) {
+            String sql = "SELECT COUNT(*) FROM " + table + " WHERE tenant_id = ?";
+            Long sourceCount = source.queryForObject(sql, Long.class, tenantId);
+            Long targetCount = target.queryForObject(sql, Long.class, tenantId);
+            if (!sourceCount.equals(targetCount)) {
+                throw new IllegalStateException("Contagem divergente em " + table +
+                    ": origem " + sourceCount + ", destino " + targetCount);
+            }
+        }
+    }
+
+    private void setBlocked(JdbcTemplate directory, String tenantId, boolean blocked) {
+        directory.update("UPDATE empresas SET shard_bloqueado = ? WHERE tenant_id = ?", blocked, tenantId);
+        tenantRegistry.reload();
+    }
+
+    private static List<String> reversed(List<String> tables) {
+        List<String> result = new ArrayList<>(tables);
+        Collections.reverse(result);
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package com.petget.service;
+
+import com.petget.config.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Buffer write-behind para o campo ultimo_login dos usuários.
+ * O login apenas registra o horário em memória; as atualizações pendentes são
+ * gravadas periodicamente em um único UPDATE no shard padrão (onde ficam os usuários),
+ * evitando disputa de locks em usuarios durante picos de login. Vários logins do mesmo
+ * usuário no intervalo resultam em uma única escrita.
+ */
+@Component
+public class UltimoLoginWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UltimoLoginWriter.class);
+
+    private static final String BATCH_UPDATE_SQL =
+        "UPDATE usuarios u SET ultimo_login = v.ultimo_login " +
+        "FROM (SELECT unnest(?::bigint[]) AS id, unnest(?::timestamp[]) AS ultimo_login) v " +
+        "WHERE u.id = v.id AND (u.ultimo_login IS NULL OR u.ultimo_login < v.ultimo_login)";
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    private final ConcurrentMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Registra o login de um usuário para gravação posterior
+     * @param usuarioId ID do usuário
+     * @param ultimoLogin Data/hora do login
+     */
+    public void record(Long usuarioId, LocalDateTime ultimoLogin) {
+        pending.merge(usuarioId, ultimoLogin, (atual, novo) -> novo.isAfter(atual) ? novo : atual);
+    }
+
+    /**
+     * Grava as atualizações pendentes em um único UPDATE
+     */
+    @Scheduled(fixedDelayString = "${petget.auth.ultimo-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalDateTime> logins = new HashMap<>();
+        for (Long id : pending.keySet()) {
+            LocalDateTime login = pending.remove(id);
+            if (login != null) {
+                logins.put(id, login);
+            }
+        }
+        if (!logins.isEmpty()) {
+            write(logins);
+        }
+    }
+
+    private void write(Map<Long, LocalDateTime> logins) {
+        List<Long> ids = new ArrayList<>(logins.keySet());
+        Timestamp[] timestamps = new Timestamp[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            timestamps[i] = Timestamp.valueOf(logins.get(ids.get(i)));
+        }
+
+        try {
+            int updated = shardDirectory.directoryJdbcTemplate().update(con -> {
+                PreparedStatement ps = con.prepareStatement(BATCH_UPDATE_SQL);
+                Array idArray = con.createArrayOf("bigint", ids.toArray());
+                Array loginArray = con.createArrayOf("timestamp", timestamps);
+                ps.setArray(1, idArray);
+                ps.setArray(2, loginArray);
+                return ps;
+            });
+            logger.debug("Último login gravado para {} usuários", updated);
+        } catch (RuntimeException e) {
+            // Devolve ao buffer para a próxima tentativa, sem sobrescrever logins mais recentes
+            logins.forEach(this::record);
+            logger.error("Erro ao gravar último login de {} usuários: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Grava as atualizações pendentes no encerramento da aplicação
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
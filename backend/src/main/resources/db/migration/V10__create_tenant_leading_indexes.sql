@@ -0,0 +1,49 @@
+-- Índices compostos iniciados por tenant_id
+-- As consultas dos repositórios sempre combinam tenant_id com outra coluna; índices de
+-- coluna única levavam a varreduras de índices de todos os tenants ou a BitmapAnd de dois
+-- índices. Listagens de ativos usam índices parciais (WHERE ativo), menores e ordenados
+-- por id. A chave primária (tenant_id, id) de clientes e pets (V9) atende tenant_id isolado.
+
+-- Usuários (email já é coberto pela restrição UNIQUE)
+DROP INDEX IF EXISTS idx_usuarios_email;
+DROP INDEX IF EXISTS idx_usuarios_tenant_id;
+DROP INDEX IF EXISTS idx_usuarios_ativo;
+DROP INDEX IF EXISTS idx_usuarios_perfil;
+CREATE INDEX idx_usuarios_tenant_perfil ON usuarios(tenant_id, perfil);
+CREATE INDEX idx_usuarios_tenant_perfil_ativo ON usuarios(tenant_id, perfil) WHERE ativo = true;
+
+-- Clientes
+DROP INDEX IF EXISTS idx_clientes_nome;
+DROP INDEX IF EXISTS idx_clientes_cpf_cnpj;
+DROP INDEX IF EXISTS idx_clientes_email;
+DROP INDEX IF EXISTS idx_clientes_ativo;
+CREATE INDEX idx_clientes_tenant_nome ON clientes(tenant_id, nome);
+CREATE INDEX idx_clientes_tenant_cpf_cnpj ON clientes(tenant_id, cpf_cnpj);
+CREATE INDEX idx_clientes_tenant_email ON clientes(tenant_id, email);
+CREATE INDEX idx_clientes_tenant_ativo ON clientes(tenant_id, id) WHERE ativo = true;
+
+-- Pets (idx_pets_cliente_id já é (tenant_id, cliente_id))
+DROP INDEX IF EXISTS idx_pets_nome;
+DROP INDEX IF EXISTS idx_pets_especie;
+DROP INDEX IF EXISTS idx_pets_ativo;
+DROP INDEX IF EXISTS idx_pets_microchip;
+CREATE INDEX idx_pets_tenant_nome ON pets(tenant_id, nome);
+CREATE INDEX idx_pets_tenant_especie ON pets(tenant_id, especie);
+CREATE INDEX idx_pets_tenant_sexo ON pets(tenant_id, sexo);
+CREATE INDEX idx_pets_tenant_data_nascimento ON pets(tenant_id, data_nascimento);
+CREATE INDEX idx_pets_tenant_microchip ON pets(tenant_id, microchip);
+CREATE INDEX idx_pets_tenant_ativo ON pets(tenant_id, id) WHERE ativo = true;
+
+-- Produtos
+DROP INDEX IF EXISTS idx_produtos_tenant_id;
+DROP INDEX IF EXISTS idx_produtos_nome;
+DROP INDEX IF EXISTS idx_produtos_categoria;
+DROP INDEX IF EXISTS idx_produtos_ativo;
+CREATE INDEX idx_produtos_tenant_nome ON produtos(tenant_id, nome);
+CREATE INDEX idx_produtos_tenant_categoria ON produtos(tenant_id, categoria);
+CREATE INDEX idx_produtos_tenant_ativo ON produtos(tenant_id, id) WHERE ativo = true;
+
+ANALYZE usuarios;
+ANALYZE clientes;
+ANALYZE pets;
+ANALYZE produtos;
@@ -0,0 +1,15 @@
+-- Busca aproximada de clientes por nome, sem distinção de acentos e maiúsculas
+-- unaccent() não é IMMUTABLE e não pode ser usada em índices; f_unaccent fixa o
+-- dicionário e pode. O índice GIN combina tenant_id (btree_gin) com os trigramas do
+-- nome normalizado e atende tanto LIKE '%termo%' quanto o operador <% (word_similarity).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text AS $$
+    SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+CREATE INDEX idx_clientes_tenant_nome_trgm ON clientes
+    USING gin (tenant_id, f_unaccent(lower(nome)) gin_trgm_ops);
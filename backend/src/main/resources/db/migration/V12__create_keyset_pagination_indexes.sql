@@ -0,0 +1,8 @@
+-- Paginação por cursor (keyset) das listagens de clientes e pets
+-- A listagem geral de clientes avança por (nome, id) a partir do último item da página:
+-- o índice precisa conter id para que a comparação (nome, id) > (?, ?) e o ORDER BY nome, id
+-- sejam resolvidos por uma única varredura do índice, sem ordenação adicional.
+-- As listagens de ativos avançam por id e já são atendidas pelos índices parciais
+-- idx_clientes_tenant_ativo e idx_pets_tenant_ativo (tenant_id, id) WHERE ativo (V10).
+DROP INDEX IF EXISTS idx_clientes_tenant_nome;
+CREATE INDEX idx_clientes_tenant_nome ON clientes(tenant_id, nome, id);
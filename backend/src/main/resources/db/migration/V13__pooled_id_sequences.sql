@@ -0,0 +1,10 @@
+-- IDs gerados pelo Hibernate com sequências e otimizador pooled-lo
+-- Com IDENTITY o Hibernate executa cada INSERT isoladamente para obter a chave gerada,
+-- o que desabilita lotes JDBC. Com INCREMENT BY 50 cada nextval reserva um bloco de 50 IDs
+-- [valor, valor + 49] usado pela aplicação sem novas consultas. INSERTs feitos diretamente
+-- em SQL (DEFAULT nextval) também consomem um bloco inteiro, sem colisão com a aplicação.
+-- O incremento deve coincidir com allocationSize de BaseEntity (validado na inicialização).
+ALTER SEQUENCE empresas_id_seq INCREMENT BY 50;
+ALTER SEQUENCE usuarios_id_seq INCREMENT BY 50;
+ALTER SEQUENCE clientes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE pets_id_seq INCREMENT BY 50;
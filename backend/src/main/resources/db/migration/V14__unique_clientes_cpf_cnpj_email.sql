@@ -0,0 +1,34 @@
+-- Unicidade de CPF/CNPJ e email por tenant garantida pelo banco
+-- As verificações por SELECT antes de cada gravação tinham condição de corrida (dois
+-- cadastros simultâneos passavam pela verificação). Os valores normalizados ficam em
+-- colunas geradas: CPF/CNPJ apenas com dígitos ("123.456.789-09" = "12345678909") e
+-- email sem espaços e em minúsculas. Valores vazios viram NULL e não conflitam entre si.
+-- Os índices incluem tenant_id, exigência de índices únicos na tabela particionada (V9).
+ALTER TABLE clientes
+    ADD COLUMN cpf_cnpj_digitos VARCHAR(18)
+        GENERATED ALWAYS AS (NULLIF(regexp_replace(cpf_cnpj, '[^0-9]', '', 'g'), '')) STORED,
+    ADD COLUMN email_normalizado VARCHAR(100)
+        GENERATED ALWAYS AS (NULLIF(lower(btrim(email)), '')) STORED;
+
+-- Duplicidades já existentes precisam ser resolvidas manualmente antes da migração
+DO $$
+DECLARE
+    duplicados INTEGER;
+BEGIN
+    SELECT count(*) INTO duplicados FROM (
+        SELECT 1 FROM clientes WHERE cpf_cnpj_digitos IS NOT NULL
+        GROUP BY tenant_id, cpf_cnpj_digitos HAVING count(*) > 1
+        UNION ALL
+        SELECT 1 FROM clientes WHERE email_normalizado IS NOT NULL
+        GROUP BY tenant_id, email_normalizado HAVING count(*) > 1
+    ) d;
+    IF duplicados > 0 THEN
+        RAISE EXCEPTION 'Existem % CPF/CNPJ ou emails de clientes duplicados no mesmo tenant', duplicados;
+    END IF;
+END $$;
+
+-- Substituem os índices não únicos de V10
+DROP INDEX IF EXISTS idx_clientes_tenant_cpf_cnpj;
+DROP INDEX IF EXISTS idx_clientes_tenant_email;
+CREATE UNIQUE INDEX uq_clientes_tenant_cpf_cnpj ON clientes(tenant_id, cpf_cnpj_digitos);
+CREATE UNIQUE INDEX uq_clientes_tenant_email ON clientes(tenant_id, email_normalizado);
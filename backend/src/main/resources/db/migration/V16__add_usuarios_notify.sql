@@ -0,0 +1,28 @@
+-- Notificação de alterações em usuários
+-- Versões de token (revogação) e o cache de principals ficam em memória em cada nó;
+-- sem notificação, uma desativação ou troca de senha feita em um nó só seria vista
+-- pelos demais após reiniciar ou expirar o cache. O payload traz id, email e
+-- token_version para que os nós atualizem o estado sem consultar o banco.
+-- UPDATEs apenas de ultimo_login (a cada login) não notificam.
+
+CREATE OR REPLACE FUNCTION notify_usuarios_alterados() RETURNS TRIGGER AS $$
+DECLARE
+    usuario usuarios;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        usuario := OLD;
+    ELSE
+        usuario := NEW;
+    END IF;
+    PERFORM pg_notify('usuarios_alterados', json_build_object(
+        'id', usuario.id,
+        'email', usuario.email,
+        'tokenVersion', usuario.token_version)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_usuarios_notify
+    AFTER INSERT OR DELETE OR UPDATE OF nome, email, senha, perfil, ativo, empresa_id, tenant_id, token_version
+    ON usuarios
+    FOR EACH ROW EXECUTE FUNCTION notify_usuarios_alterados();
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Nome normalizado (sem acentos e em minúsculas) em coluna gerada para a busca por nome
+-- O índice de V11 sobre f_unaccent(lower(nome)) só localiza os candidatos: o recheck do
+-- bitmap, o filtro e a ordenação por word_similarity recalculavam f_unaccent várias vezes
+-- por linha, e em termos comuns (milhares de candidatos) isso dominava o tempo da busca.
+-- Com a coluna gerada o valor é calculado uma vez, na gravação.
+ALTER TABLE clientes
+    ADD COLUMN nome_normalizado TEXT
+        GENERATED ALWAYS AS (f_unaccent(lower(nome))) STORED;
+
+-- Substitui o índice de V11, mantendo o nome usado nas verificações de plano
+DROP INDEX IF EXISTS idx_clientes_tenant_nome_trgm;
+CREATE INDEX idx_clientes_tenant_nome_trgm ON clientes
+    USING gin (tenant_id, nome_normalizado gin_trgm_ops);
\ No newline at end of file
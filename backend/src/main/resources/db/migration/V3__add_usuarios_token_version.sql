@@ -0,0 +1,8 @@
+-- Versão de token por usuário
+-- Permite revogar imediatamente tokens emitidos quando o usuário é desativado
+-- ou tem o perfil alterado, sem consultar o banco a cada requisição
+
+ALTER TABLE usuarios ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+
+-- Índice parcial: apenas usuários com tokens revogados são carregados na inicialização
+CREATE INDEX idx_usuarios_token_version ON usuarios(email, token_version) WHERE token_version > 0;
@@ -0,0 +1,13 @@
+-- Tabela de tokens revogados (logout)
+-- Camada durável do armazenamento de revogação: sobrevive a reinicializações
+-- e é compartilhada entre os nós da aplicação. Datas em epoch millis.
+
+CREATE TABLE tokens_revogados (
+    jti VARCHAR(36) PRIMARY KEY,
+    expira_em BIGINT NOT NULL,
+    revogado_em BIGINT NOT NULL
+);
+
+-- Índices para expurgo de tokens expirados e sincronização entre nós
+CREATE INDEX idx_tokens_revogados_expira_em ON tokens_revogados(expira_em);
+CREATE INDEX idx_tokens_revogados_revogado_em ON tokens_revogados(revogado_em);
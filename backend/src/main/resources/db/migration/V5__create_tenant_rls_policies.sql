@@ -0,0 +1,67 @@
+-- Row-Level Security por tenant
+-- Usado quando petget.multitenancy.mode = rls. A aplicação continua conectando com o
+-- usuário dono das tabelas (que ignora RLS); no início de cada transação com tenant
+-- definido ela executa SET LOCAL ROLE petget_tenant e define app.tenant_id, passando a
+-- ser restringida pelas políticas abaixo. No modo filter (padrão) nada muda.
+
+-- O role só é necessário no modo rls. Ele é criado aqui quando o usuário da migração pode
+-- criar roles (CREATEROLE ou superusuário); caso contrário a migração segue sem ele e o
+-- modo rls exige a criação manual, indicada no NOTICE. As políticas abaixo não dependem do role.
+DO $$
+DECLARE
+    pode_criar BOOLEAN;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'petget_tenant') THEN
+        SELECT rolcreaterole OR rolsuper INTO pode_criar FROM pg_roles WHERE rolname = current_user;
+        IF NOT pode_criar THEN
+            RAISE NOTICE 'Role petget_tenant não criado (sem CREATEROLE). Para o modo rls, execute como administrador: '
+                'CREATE ROLE petget_tenant NOLOGIN; GRANT petget_tenant TO %; '
+                'GRANT USAGE ON SCHEMA public TO petget_tenant; '
+                'GRANT SELECT, INSERT, UPDATE, DELETE ON ALL TABLES IN SCHEMA public TO petget_tenant; '
+                'GRANT USAGE, SELECT ON ALL SEQUENCES IN SCHEMA public TO petget_tenant', current_user;
+            RETURN;
+        END IF;
+        CREATE ROLE petget_tenant NOLOGIN;
+    END IF;
+
+    -- SET LOCAL ROLE exige que o usuário da aplicação seja membro do role
+    IF NOT pg_has_role(current_user, 'petget_tenant', 'SET') THEN
+        IF pg_has_role(current_user, 'petget_tenant', 'MEMBER WITH ADMIN OPTION') THEN
+            GRANT petget_tenant TO CURRENT_USER;
+        ELSE
+            RAISE NOTICE 'Para o modo rls, um administrador deve executar: GRANT petget_tenant TO %', current_user;
+        END IF;
+    END IF;
+    GRANT USAGE ON SCHEMA public TO petget_tenant;
+    GRANT SELECT, INSERT, UPDATE, DELETE ON ALL TABLES IN SCHEMA public TO petget_tenant;
+    GRANT USAGE, SELECT ON ALL SEQUENCES IN SCHEMA public TO petget_tenant;
+    ALTER DEFAULT PRIVILEGES IN SCHEMA public GRANT SELECT, INSERT, UPDATE, DELETE ON TABLES TO petget_tenant;
+    ALTER DEFAULT PRIVILEGES IN SCHEMA public GRANT USAGE, SELECT ON SEQUENCES TO petget_tenant;
+END
+$$;
+
+-- Políticas de isolamento: comparação simples de igualdade, aproveitando os índices por tenant_id
+ALTER TABLE empresas ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON empresas
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
+
+ALTER TABLE usuarios ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON usuarios
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
+
+ALTER TABLE clientes ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON clientes
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
+
+ALTER TABLE pets ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON pets
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
+
+ALTER TABLE produtos ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON produtos
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
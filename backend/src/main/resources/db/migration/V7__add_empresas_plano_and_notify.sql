@@ -0,0 +1,18 @@
+-- Plano e limites por empresa, e notificação de alterações em empresas
+-- O registro de tenants da aplicação mantém um snapshot das empresas ativas em
+-- memória e o recarrega ao receber NOTIFY no canal empresas_alteradas.
+
+ALTER TABLE empresas ADD COLUMN plano VARCHAR(30) NOT NULL DEFAULT 'BASICO';
+-- Limites nulos indicam plano sem limite
+ALTER TABLE empresas ADD COLUMN limite_usuarios INTEGER;
+ALTER TABLE empresas ADD COLUMN limite_clientes INTEGER;
+
+CREATE OR REPLACE FUNCTION notify_empresas_alteradas() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('empresas_alteradas', COALESCE(NEW.tenant_id, OLD.tenant_id));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_empresas_notify AFTER INSERT OR UPDATE OR DELETE ON empresas
+    FOR EACH ROW EXECUTE FUNCTION notify_empresas_alteradas();
@@ -0,0 +1,7 @@
+-- Diretório de shards
+-- empresas.shard indica o banco que guarda os dados do tenant (petget.sharding.shards).
+-- shard_bloqueado suspende escritas do tenant durante a migração entre shards.
+-- As colunas são lidas do shard padrão, que mantém o diretório de tenants.
+
+ALTER TABLE empresas ADD COLUMN shard VARCHAR(50) NOT NULL DEFAULT 'default';
+ALTER TABLE empresas ADD COLUMN shard_bloqueado BOOLEAN NOT NULL DEFAULT false;
@@ -0,0 +1,121 @@
+-- Particionamento de clientes e pets por HASH (tenant_id)
+-- Todas as consultas dos repositórios filtram por tenant_id (e as políticas RLS também),
+-- então o planejador descarta as partições de outros tenants. Restrições de unicidade
+-- em tabelas particionadas precisam incluir a chave de partição: a chave primária passa
+-- a ser (tenant_id, id) e pets referencia clientes por (tenant_id, cliente_id), o que
+-- também impede um pet de apontar para cliente de outro tenant. O índice em id atende
+-- buscas apenas por id (carregamento de associações, UPDATE/DELETE do Hibernate).
+--
+-- 16 partições: para aumentar, recrie as tabelas com novo MODULUS (não há divisão online).
+
+-- As sequências sobrevivem à troca das tabelas
+ALTER SEQUENCE clientes_id_seq OWNED BY NONE;
+ALTER SEQUENCE pets_id_seq OWNED BY NONE;
+
+ALTER TABLE pets RENAME TO pets_old;
+ALTER TABLE clientes RENAME TO clientes_old;
+
+CREATE TABLE clientes (
+    id BIGINT NOT NULL DEFAULT nextval('clientes_id_seq'),
+    nome VARCHAR(100) NOT NULL,
+    cpf_cnpj VARCHAR(18),
+    email VARCHAR(100),
+    telefone VARCHAR(20),
+    celular VARCHAR(20),
+    endereco VARCHAR(100),
+    bairro VARCHAR(50),
+    cidade VARCHAR(50),
+    estado VARCHAR(2),
+    cep VARCHAR(10),
+    observacoes TEXT,
+    ativo BOOLEAN NOT NULL DEFAULT true,
+    tenant_id VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY HASH (tenant_id);
+
+CREATE TABLE pets (
+    id BIGINT NOT NULL DEFAULT nextval('pets_id_seq'),
+    nome VARCHAR(50) NOT NULL,
+    especie VARCHAR(20) NOT NULL CHECK (especie IN ('CACHORRO', 'GATO', 'PASSARO', 'PEIXE', 'HAMSTER', 'COELHO', 'TARTARUGA', 'IGUANA', 'CHINCHILA', 'FERRET', 'OUTRO')),
+    raca VARCHAR(50),
+    sexo VARCHAR(10) CHECK (sexo IN ('MACHO', 'FEMEA', 'INDEFINIDO')),
+    data_nascimento DATE,
+    peso DECIMAL(5,2),
+    cor VARCHAR(50),
+    foto_url TEXT,
+    observacoes TEXT,
+    ativo BOOLEAN NOT NULL DEFAULT true,
+    microchip VARCHAR(20),
+    pedigree VARCHAR(50),
+    cliente_id BIGINT NOT NULL,
+    tenant_id VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE clientes_p%s PARTITION OF clientes FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+        EXECUTE format('CREATE TABLE pets_p%s PARTITION OF pets FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END
+$$;
+
+-- Carga antes das restrições e índices
+INSERT INTO clientes (id, nome, cpf_cnpj, email, telefone, celular, endereco, bairro, cidade, estado, cep,
+                      observacoes, ativo, tenant_id, created_at, updated_at)
+SELECT id, nome, cpf_cnpj, email, telefone, celular, endereco, bairro, cidade, estado, cep,
+       observacoes, ativo, tenant_id, created_at, updated_at
+FROM clientes_old;
+
+INSERT INTO pets (id, nome, especie, raca, sexo, data_nascimento, peso, cor, foto_url, observacoes, ativo,
+                  microchip, pedigree, cliente_id, tenant_id, created_at, updated_at)
+SELECT id, nome, especie, raca, sexo, data_nascimento, peso, cor, foto_url, observacoes, ativo,
+       microchip, pedigree, cliente_id, tenant_id, created_at, updated_at
+FROM pets_old;
+
+DROP TABLE pets_old;
+DROP TABLE clientes_old;
+
+ALTER SEQUENCE clientes_id_seq OWNED BY clientes.id;
+ALTER SEQUENCE pets_id_seq OWNED BY pets.id;
+
+-- Chaves
+ALTER TABLE clientes ADD CONSTRAINT pk_clientes PRIMARY KEY (tenant_id, id);
+ALTER TABLE pets ADD CONSTRAINT pk_pets PRIMARY KEY (tenant_id, id);
+ALTER TABLE pets ADD CONSTRAINT fk_pets_cliente FOREIGN KEY (tenant_id, cliente_id) REFERENCES clientes(tenant_id, id);
+
+-- Índices (criados em cada partição); tenant_id isolado é coberto pela chave primária
+CREATE INDEX idx_clientes_id ON clientes(id);
+CREATE INDEX idx_clientes_nome ON clientes(nome);
+CREATE INDEX idx_clientes_cpf_cnpj ON clientes(cpf_cnpj);
+CREATE INDEX idx_clientes_email ON clientes(email);
+CREATE INDEX idx_clientes_ativo ON clientes(ativo);
+
+CREATE INDEX idx_pets_id ON pets(id);
+CREATE INDEX idx_pets_cliente_id ON pets(tenant_id, cliente_id);
+CREATE INDEX idx_pets_nome ON pets(nome);
+CREATE INDEX idx_pets_especie ON pets(especie);
+CREATE INDEX idx_pets_ativo ON pets(ativo);
+CREATE INDEX idx_pets_microchip ON pets(microchip);
+
+-- Row-Level Security (V5); o role pode não existir quando o modo rls não é usado
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'petget_tenant') THEN
+        GRANT SELECT, INSERT, UPDATE, DELETE ON clientes, pets TO petget_tenant;
+    END IF;
+END
+$$;
+
+ALTER TABLE clientes ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON clientes
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
+
+ALTER TABLE pets ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON pets
+    USING (tenant_id = current_setting('app.tenant_id', true))
+    WITH CHECK (tenant_id = current_setting('app.tenant_id', true));
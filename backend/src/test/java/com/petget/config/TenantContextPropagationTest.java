@@ -0,0 +1,196 @@
+package com.petget.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Isolamento do tenant entre threads: o contexto de quem agenda chega à tarefa e
+ * nunca fica na thread do pool para a tarefa seguinte. Executores de uma única thread
+ * forçam o reaproveitamento da thread entre tarefas.
+ */
+class TenantContextPropagationTest {
+    
+    private ExecutorService pool;
+    
+    @BeforeEach
+    void criarPool() {
+        pool = Executors.newSingleThreadExecutor();
+    }
+    
+    @AfterEach
+    void limpar() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void executorDoAsyncPropagaTenantEAutenticacao() throws Exception {
+        ThreadPoolTaskExecutor asyncExecutor = new ThreadPoolTaskExecutor();
+        asyncExecutor.setCorePoolSize(1);
+        asyncExecutor.setTaskDecorator(new AsyncConfig().tenantContextTaskDecorator());
+        asyncExecutor.initialize();
+        try {
+            Authentication authentication = autenticar("ana@clinica-a.com");
+            TenantContext.setCurrentTenant("clinica-a");
+            
+            Future<List<Object>> contexto = asyncExecutor.submit(() -> List.of(
+                TenantContext.getCurrentTenant(), SecurityContextHolder.getContext().getAuthentication()));
+            
+            assertThat(contexto.get(5, TimeUnit.SECONDS)).containsExactly("clinica-a", authentication);
+        } finally {
+            asyncExecutor.shutdown();
+        }
+    }
+    
+    @Test
+    void completableFuturePropagaTenantComSupplierOuExecutorEnvolvido() throws Exception {
+        TenantContext.setCurrentTenant("clinica-a");
+        
+        CompletableFuture<String> comSupplier = CompletableFuture.supplyAsync(
+            TenantContextPropagation.wrap((Supplier<String>) TenantContext::getCurrentTenant), pool);
+        CompletableFuture<String> comExecutor = CompletableFuture.supplyAsync(
+            TenantContext::getCurrentTenant, TenantContextPropagation.wrap((Executor) pool));
+        
+        assertThat(comSupplier.get(5, TimeUnit.SECONDS)).isEqualTo("clinica-a");
+        assertThat(comExecutor.get(5, TimeUnit.SECONDS)).isEqualTo("clinica-a");
+    }
+    
+    @Test
+    void completableFutureSemPropagacaoNaoEnxergaOTenant() throws Exception {
+        TenantContext.setCurrentTenant("clinica-a");
+        
+        assertThat(CompletableFuture.supplyAsync(TenantContext::getCurrentTenant, pool).get(5, TimeUnit.SECONDS))
+            .isNull();
+    }
+    
+    @Test
+    void threadReaproveitadaNaoMantemOTenantDaTarefaAnterior() throws Exception {
+        Executor executor = TenantContextPropagation.wrap((Executor) pool);
+        
+        TenantContext.setCurrentTenant("clinica-a");
+        String primeira = submeter(executor, TenantContext::getCurrentTenant);
+        TenantContext.clear();
+        String segunda = submeter(executor, TenantContext::getCurrentTenant);
+        String semDecorador = pool.submit(TenantContext::getCurrentTenant).get(5, TimeUnit.SECONDS);
+        
+        assertThat(primeira).isEqualTo("clinica-a");
+        assertThat(segunda).isNull();
+        assertThat(semDecorador).isNull();
+    }
+    
+    @Test
+    void tenantDefinidoDentroDaTarefaNaoVazaParaAProxima() throws Exception {
+        Executor executor = TenantContextPropagation.wrap((Executor) pool);
+        
+        TenantContext.setCurrentTenant("clinica-a");
+        submeter(executor, () -> {
+            TenantContext.setCurrentTenant("clinica-b");
+            autenticar("invasor@clinica-b.com");
+            return null;
+        });
+        TenantContext.clear();
+        
+        assertThat(pool.submit(TenantContext::getCurrentTenant).get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(pool.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get(5, TimeUnit.SECONDS))
+            .isNull();
+    }
+    
+    @Test
+    void tarefasDeTenantsDiferentesNaoSeMisturam() throws Exception {
+        Executor executor = TenantContextPropagation.wrap((Executor) pool);
+        List<String> vistos = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+        
+        for (int i = 0; i < 50; i++) {
+            String tenantId = "clinica-" + (i % 3);
+            TenantContext.setCurrentTenant(tenantId);
+            tarefas.add(CompletableFuture.runAsync(
+                () -> vistos.add(tenantId + "=" + TenantContext.getCurrentTenant()), executor));
+        }
+        CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        
+        assertThat(vistos).hasSize(50).allSatisfy(visto -> {
+            String[] partes = visto.split("=");
+            assertThat(partes[1]).isEqualTo(partes[0]);
+        });
+    }
+    
+    @Test
+    void execucaoNaPropriaThreadRestauraOContextoAnterior() {
+        TenantContext.setCurrentTenant("clinica-a");
+        Runnable tarefa = TenantContextPropagation.wrap(() -> TenantContext.setCurrentTenant("clinica-b"));
+        
+        // Como em CallerRunsPolicy: a tarefa roda na thread de quem a agendou
+        TenantContext.setCurrentTenant("clinica-c");
+        tarefa.run();
+        
+        assertThat(TenantContext.getCurrentTenant()).isEqualTo("clinica-c");
+    }
+    
+    @Test
+    void callableRepassaExcecaoERestauraOContexto() {
+        TenantContext.setCurrentTenant("clinica-a");
+        Callable<String> tarefa = TenantContextPropagation.wrap((Callable<String>) () -> {
+            throw new IllegalStateException("falha na tarefa");
+        });
+        TenantContext.clear();
+        
+        assertThatThrownBy(() -> pool.submit(tarefa).get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(tarefa::call).isInstanceOf(IllegalStateException.class);
+        assertThat(TenantContext.getCurrentTenant()).isNull();
+    }
+    
+    @Test
+    void tarefaNaoAlteraOContextoDeSegurancaDeQuemAgendou() throws Exception {
+        Authentication original = autenticar("ana@clinica-a.com");
+        Runnable tarefa = TenantContextPropagation.wrap((Runnable) () -> autenticar("outro@clinica-a.com"));
+        
+        pool.submit(tarefa).get(5, TimeUnit.SECONDS);
+        tarefa.run();
+        
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(original);
+    }
+    
+    private static <T> T submeter(Executor executor, Callable<T> tarefa) throws Exception {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                resultado.complete(tarefa.call());
+            } catch (Exception e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        return resultado.get(5, TimeUnit.SECONDS);
+    }
+    
+    private static Authentication autenticar(String email) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(email, null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+}
\ No newline at end of file
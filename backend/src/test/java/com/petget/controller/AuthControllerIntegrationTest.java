@@ -0,0 +1,94 @@
+package com.petget.controller;
+
+import com.petget.security.AuthRateLimiter;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * O limite de login por tenant usa o tenant do usuário encontrado, não o header
+ * X-Tenant-ID: omiti-lo ou trocá-lo não escapa do bucket do tenant.
+ */
+class AuthControllerIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+    
+    private Object tenantCapacity;
+    
+    private Object tenantRefillPerMinute;
+    
+    @BeforeEach
+    void preparar() {
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode(SENHA), EMAIL);
+        // Um login por tenant; IP e email continuam com os limites configurados
+        tenantCapacity = ReflectionTestUtils.getField(authRateLimiter, "tenantCapacity");
+        tenantRefillPerMinute = ReflectionTestUtils.getField(authRateLimiter, "tenantRefillPerMinute");
+        ReflectionTestUtils.setField(authRateLimiter, "tenantCapacity", 1);
+        ReflectionTestUtils.setField(authRateLimiter, "tenantRefillPerMinute", 1);
+        authRateLimiter.init();
+    }
+    
+    @AfterEach
+    void restaurar() {
+        ReflectionTestUtils.setField(authRateLimiter, "tenantCapacity", tenantCapacity);
+        ReflectionTestUtils.setField(authRateLimiter, "tenantRefillPerMinute", tenantRefillPerMinute);
+        authRateLimiter.init();
+    }
+    
+    @Test
+    void limiteDoTenantIndependeDoHeader() throws Exception {
+        mockMvc.perform(login("10.0.0.1"))
+            .andExpect(status().isOk());
+        
+        mockMvc.perform(login("10.0.0.2"))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(login("10.0.0.3").header("X-Tenant-ID", "outro-tenant"))
+            .andExpect(status().isTooManyRequests());
+    }
+    
+    @Test
+    void emailInexistenteNaoConsomeOBucketDoTenant() throws Exception {
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"ninguem@clinicademo.com\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isUnauthorized());
+        
+        mockMvc.perform(login("10.0.0.1"))
+            .andExpect(status().isOk());
+    }
+    
+    private MockHttpServletRequestBuilder login(String clientIp) {
+        return post("/auth/login")
+            .with(request -> {
+                request.setRemoteAddr(clientIp);
+                return request;
+            })
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.petget.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Criação concorrente de clientes: os índices únicos de V14 decidem a corrida entre duas
+ * requisições com o mesmo CPF/CNPJ ou email (em formatos diferentes), e a perdedora
+ * recebe 409 em vez de um cliente duplicado ou de um erro 500.
+ */
+class ClienteControllerIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "demo-clinic";
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    private String accessToken;
+    
+    @BeforeEach
+    void login() throws Exception {
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode(SENHA), EMAIL);
+        String login = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        accessToken = JsonPath.read(login, "$.accessToken");
+    }
+    
+    @Test
+    void criacaoConcorrenteComMesmoCpfCnpjRetornaUmConflito() throws Exception {
+        List<Integer> statuses = criarEmParalelo(
+            "{\"nome\":\"Corrida CPF 1\",\"cpfCnpj\":\"529.982.247-25\"}",
+            "{\"nome\":\"Corrida CPF 2\",\"cpfCnpj\":\"52998224725\"}");
+        
+        assertThat(statuses).containsExactlyInAnyOrder(201, 409);
+    }
+    
+    @Test
+    void criacaoConcorrenteComMesmoEmailRetornaUmConflito() throws Exception {
+        List<Integer> statuses = criarEmParalelo(
+            "{\"nome\":\"Corrida email 1\",\"email\":\"Corrida@Clinicademo.com\"}",
+            "{\"nome\":\"Corrida email 2\",\"email\":\"corrida@clinicademo.com\"}");
+        
+        assertThat(statuses).containsExactlyInAnyOrder(201, 409);
+    }
+    
+    /**
+     * Envia as requisições ao mesmo tempo, liberadas juntas por uma barreira
+     * @return Status HTTP das respostas
+     */
+    private List<Integer> criarEmParalelo(String... corpos) throws Exception {
+        CyclicBarrier largada = new CyclicBarrier(corpos.length);
+        ExecutorService executor = Executors.newFixedThreadPool(corpos.length);
+        try {
+            List<Future<Integer>> respostas = new ArrayList<>();
+            for (String corpo : corpos) {
+                respostas.add(executor.submit(() -> {
+                    largada.await(10, TimeUnit.SECONDS);
+                    return mockMvc.perform(post("/clientes")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .header("X-Tenant-ID", TENANT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+                        .andReturn().getResponse().getStatus();
+                }));
+            }
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> resposta : respostas) {
+                statuses.add(resposta.get(30, TimeUnit.SECONDS));
+            }
+            return statuses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.petget.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.petget.config.TenantContext;
+import com.petget.exception.ServiceUnavailableException;
+import com.petget.service.ClienteExportService;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação em fluxo: o tempo estendido da requisição assíncrona vale só para o endpoint
+ * de exportação, e a exportação não segura a conexão além de max-duration-ms.
+ */
+class ClienteExportIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "demo-clinic";
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private ClienteExportService clienteExportService;
+    
+    private String accessToken;
+    
+    @BeforeEach
+    void login() throws Exception {
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode(SENHA), EMAIL);
+        String login = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        accessToken = JsonPath.read(login, "$.accessToken");
+    }
+    
+    @AfterEach
+    void limparContexto() {
+        TenantContext.clear();
+    }
+    
+    @Test
+    void exportacaoEstendeOTimeoutApenasDaPropriaRequisicao() throws Exception {
+        MvcResult exportacao = mockMvc.perform(get("/clientes/export")
+                .param("formato", "csv")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("X-Tenant-ID", TENANT))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        
+        assertThat(exportacao.getRequest().getAsyncContext().getTimeout())
+            .isEqualTo(clienteExportService.getMaxDurationMs() + 60_000);
+        mockMvc.perform(asyncDispatch(exportacao)).andExpect(status().isOk());
+        assertThat(exportacao.getResponse().getContentAsString(StandardCharsets.UTF_8))
+            .startsWith("id,").contains("João Silva");
+    }
+    
+    @Test
+    void exportacaoAcimaDoTempoMaximoEInterrompida() {
+        long maxDurationMs = clienteExportService.getMaxDurationMs();
+        ReflectionTestUtils.setField(clienteExportService, "maxDurationMs", 0L);
+        try {
+            TenantContext.setCurrentTenant(TENANT);
+            
+            assertThatThrownBy(() -> clienteExportService.exportar(
+                    new ByteArrayOutputStream(), ClienteExportService.Formato.NDJSON, false))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("tempo máximo");
+        } finally {
+            ReflectionTestUtils.setField(clienteExportService, "maxDurationMs", maxDurationMs);
+        }
+    }
+}
\ No newline at end of file
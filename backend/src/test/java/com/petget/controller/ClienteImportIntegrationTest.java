@@ -0,0 +1,175 @@
+package com.petget.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importação de clientes e pets: pets no CSV (uma linha por pet, como na exportação) e
+ * no NDJSON, conflitos com cadastros concorrentes rejeitando só as linhas em conflito e
+ * limite de importações simultâneas por empresa.
+ */
+class ClienteImportIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "demo-clinic";
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private String accessToken;
+    
+    @BeforeEach
+    void login() throws Exception {
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode(SENHA), EMAIL);
+        String login = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        accessToken = JsonPath.read(login, "$.accessToken");
+    }
+    
+    @Test
+    void csvComUmaLinhaPorPetAgrupaOsPetsDoMesmoCliente() throws Exception {
+        String csv = """
+            id;nome;cpf_cnpj;email;pet_id;pet_nome;pet_especie;pet_sexo;pet_data_nascimento;pet_peso
+            1;Maria Importada;111.444.777-35;maria.importada@clinicademo.com;10;Rex;CACHORRO;MACHO;2020-01-15;12.5
+            1;Maria Importada;111.444.777-35;maria.importada@clinicademo.com;11;Mia;Gato;F;15/03/2021;4,2
+            2;João Sem Pet;;joao.sempet@clinicademo.com;;;;;;
+            3;Pet Inválido;;;;Bob;Dinossauro;;;
+            """;
+        
+        Map<String, Object> importacao = aguardarConclusao(importar("text/csv", csv));
+        
+        assertThat(importacao).containsEntry("status", "CONCLUIDO")
+            .containsEntry("linhasProcessadas", 4)
+            .containsEntry("importados", 2)
+            .containsEntry("petsImportados", 2)
+            .containsEntry("rejeitados", 1);
+        assertThat(JsonPath.<List<String>>read(importacao, "$.erros[*].mensagem"))
+            .containsExactly("Valor inválido na coluna pet_especie: Dinossauro");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT p.nome || ':' || p.especie || ':' || p.sexo || ':' || p.peso FROM pets p " +
+                "JOIN clientes c ON c.tenant_id = p.tenant_id AND c.id = p.cliente_id " +
+                "WHERE c.tenant_id = ? AND c.email = 'maria.importada@clinicademo.com' ORDER BY p.nome",
+                String.class, TENANT))
+            .containsExactly("Mia:GATO:FEMEA:4.20", "Rex:CACHORRO:MACHO:12.50");
+    }
+    
+    @Test
+    void ndjsonImportaPetsDoArrayERejeitaPetInvalido() throws Exception {
+        String ndjson = """
+            {"nome":"Carlos Json","email":"carlos.json@clinicademo.com","pets":[{"nome":"Thor","especie":"CACHORRO"},{"nome":"Luna","especie":"GATO"}]}
+            {"nome":"Pet Sem Nome","pets":[{"nome":"Nina","especie":"GATO"},{"nome":"","especie":"GATO"}]}
+            """;
+        
+        Map<String, Object> importacao = aguardarConclusao(importar("application/x-ndjson", ndjson));
+        
+        assertThat(importacao).containsEntry("importados", 1)
+            .containsEntry("petsImportados", 2)
+            .containsEntry("rejeitados", 1);
+        assertThat(JsonPath.<List<String>>read(importacao, "$.erros[*].mensagem"))
+            .containsExactly("Pet 2: Nome do pet é obrigatório");
+    }
+    
+    @Test
+    void cadastroConcorrenteRejeitaSoALinhaEmConflitoELimitaImportacoesSimultaneas() throws Exception {
+        String cpfDisputado = "390.533.447-05";
+        try (Connection concorrente = dataSource.getConnection()) {
+            concorrente.setAutoCommit(false);
+            try (PreparedStatement insert = concorrente.prepareStatement(
+                    "INSERT INTO clientes (nome, cpf_cnpj, ativo, tenant_id) VALUES ('Concorrente', ?, true, ?)")) {
+                insert.setString(1, cpfDisputado);
+                insert.setString(2, TENANT);
+                insert.executeUpdate();
+            }
+            
+            // A conferência não enxerga o cadastro não confirmado: os INSERTs dos lotes esperam por ele
+            String primeira = importar("text/csv", "nome;cpf\nLote A1;" + cpfDisputado +
+                "\nLote A2;714.602.380-01\nLote A3;\n");
+            String segunda = importar("text/csv", "nome;cpf\nLote B1;" + cpfDisputado +
+                "\nLote B2;248.438.034-80\n");
+            await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND datname = current_database()",
+                Integer.class) >= 2);
+            
+            mockMvc.perform(post("/clientes/import")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .header("X-Tenant-ID", TENANT)
+                    .contentType("text/csv")
+                    .content("nome\nTerceira\n"))
+                .andExpect(status().isTooManyRequests());
+            
+            concorrente.commit();
+            
+            for (String id : List.of(primeira, segunda)) {
+                Map<String, Object> importacao = aguardarConclusao(id);
+                assertThat(importacao).containsEntry("status", "CONCLUIDO").containsEntry("rejeitados", 1);
+                assertThat(JsonPath.<List<String>>read(importacao, "$.erros[*].mensagem"))
+                    .containsExactly("Já existe um cliente com este CPF/CNPJ");
+            }
+        }
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT nome FROM clientes WHERE tenant_id = ? AND nome IN ('Concorrente', 'Lote A1', 'Lote A2', " +
+                "'Lote A3', 'Lote B1', 'Lote B2') ORDER BY nome", String.class, TENANT))
+            .containsExactly("Concorrente", "Lote A2", "Lote A3", "Lote B2");
+        
+        // Vagas liberadas ao fim do processamento
+        aguardarConclusao(importar("text/csv", "nome\nDepois do limite\n"));
+    }
+    
+    private String importar(String contentType, String conteudo) throws Exception {
+        String resposta = mockMvc.perform(post("/clientes/import")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("X-Tenant-ID", TENANT)
+                .contentType(contentType)
+                .content(conteudo.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(resposta, "$.id");
+    }
+    
+    private Map<String, Object> aguardarConclusao(String id) {
+        return await().atMost(Duration.ofSeconds(30)).until(() -> {
+            String resposta = mockMvc.perform(get("/clientes/import/" + id)
+                    .header("Authorization", "Bearer " + accessToken)
+                    .header("X-Tenant-ID", TENANT))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            return JsonPath.<Map<String, Object>>read(resposta, "$");
+        }, importacao -> !"PROCESSANDO".equals(importacao.get("status")));
+    }
+}
\ No newline at end of file
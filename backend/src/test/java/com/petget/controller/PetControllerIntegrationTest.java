@@ -0,0 +1,111 @@
+package com.petget.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.petget.service.KeysetCursor;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listagem de pets ativos por cursor: percorre todas as páginas sem repetir nem pular
+ * pets e rejeita cursores inválidos ou de outra listagem.
+ */
+class PetControllerIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "demo-clinic";
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    private static final String PREFIXO = "Scroll ";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    private String accessToken;
+    
+    @BeforeEach
+    void preparar() throws Exception {
+        jdbcTemplate.update(
+            "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+            "SELECT ? || n, 'GATO', 'FEMEA', n % 3 <> 0, c.id, c.tenant_id " +
+            "FROM clientes c CROSS JOIN generate_series(1, 7) n " +
+            "WHERE c.tenant_id = ? AND c.id = (SELECT min(id) FROM clientes WHERE tenant_id = ?)",
+            PREFIXO, TENANT, TENANT);
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode(SENHA), EMAIL);
+        String login = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        accessToken = JsonPath.read(login, "$.accessToken");
+    }
+    
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM pets WHERE tenant_id = ? AND nome LIKE ?", TENANT, PREFIXO + "%");
+    }
+    
+    @Test
+    void cursorPercorreTodosOsPetsAtivosEmOrdemDeId() throws Exception {
+        List<Long> esperados = jdbcTemplate.queryForList(
+            "SELECT id FROM pets WHERE tenant_id = ? AND ativo ORDER BY id", Long.class, TENANT);
+        
+        List<Long> lidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            String pagina = scroll(cursor, 2)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(pagina, "$.content[*].id");
+            ids.forEach(id -> lidos.add(id.longValue()));
+            cursor = JsonPath.read(pagina, "$.next");
+            paginas++;
+        } while (cursor != null && paginas <= esperados.size());
+        
+        assertThat(lidos).containsExactlyElementsOf(esperados);
+    }
+    
+    @Test
+    void cursorInvalidoOuDeOutraListagemEhRejeitado() throws Exception {
+        scroll("nao-e-um-cursor", 2).andExpect(status().isBadRequest());
+        
+        String cursorPorNome = KeysetCursor.encode("Scroll 1", 1L);
+        
+        scroll(cursorPorNome, 2).andExpect(status().isBadRequest());
+    }
+    
+    private ResultActions scroll(String cursor, int size) throws Exception {
+        var request = get("/pets/ativos/scroll")
+            .param("size", String.valueOf(size))
+            .header("Authorization", "Bearer " + accessToken)
+            .header("X-Tenant-ID", TENANT);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        return mockMvc.perform(request);
+    }
+}
\ No newline at end of file
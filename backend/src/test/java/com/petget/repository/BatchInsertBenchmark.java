@@ -0,0 +1,137 @@
+package com.petget.repository;
+
+import com.petget.config.TenantContext;
+import com.petget.entity.Cliente;
+import com.petget.entity.Pet;
+import com.petget.enums.EspeciePet;
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de clientes com um pet cada (clientes=50000: 100 mil linhas), em transações de
+ * 1000 clientes como na importação:
+ * <ul>
+ *   <li>identity: um INSERT ... RETURNING id por linha, os comandos que o Hibernate emitia
+ *       com GenerationType.IDENTITY (antes da V13), via JDBC;</li>
+ *   <li>sequencia: entidades com IDs pooled-lo, mas sem lotes JDBC (batch_size=0);</li>
+ *   <li>lotes: configuração da aplicação, IDs pooled-lo e lotes de 50 reescritos pelo driver.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    private static final int POR_TRANSACAO = 1000;
+
+    private static final String TENANT = "insercao-lote";
+
+    @Param({"50000"})
+    private int clientes;
+
+    @Param({"identity", "sequencia", "lotes"})
+    private String modo;
+
+    private BenchmarkEnvironment environment;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ClienteRepository clienteRepository;
+
+    private PetRepository petRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = "sequencia".equals(modo)
+            ? BenchmarkEnvironment.start("spring.jpa.properties.hibernate.jdbc.batch_size=0")
+            : BenchmarkEnvironment.start();
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id = '" + TENANT + "'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Inserção em lote', '58000000000158', '" + TENANT + "')");
+        jdbcTemplate = environment.jdbcTemplate();
+        transactionTemplate = new TransactionTemplate(environment.getBean(PlatformTransactionManager.class));
+        clienteRepository = environment.getBean(ClienteRepository.class);
+        petRepository = environment.getBean(PetRepository.class);
+        limpar();
+    }
+
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        jdbcTemplate.update("DELETE FROM pets WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM clientes WHERE tenant_id = ?", TENANT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void gravar() {
+        TenantContext.setCurrentTenant(TENANT);
+        try {
+            for (int inicio = 0; inicio < clientes; inicio += POR_TRANSACAO) {
+                int primeiro = inicio;
+                int fim = Math.min(inicio + POR_TRANSACAO, clientes);
+                if ("identity".equals(modo)) {
+                    transactionTemplate.executeWithoutResult(status -> gravarPorLinha(primeiro, fim));
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> gravarEntidades(primeiro, fim));
+                }
+            }
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void gravarEntidades(int inicio, int fim) {
+        List<Cliente> lote = new ArrayList<>(fim - inicio);
+        List<Pet> pets = new ArrayList<>(fim - inicio);
+        for (int n = inicio; n < fim; n++) {
+            Cliente cliente = new Cliente("Cliente " + n, TENANT);
+            cliente.setEmail("cliente" + n + "@lote.test");
+            Pet pet = new Pet("Pet " + n, EspeciePet.CACHORRO, TENANT);
+            pet.setCliente(cliente);
+            lote.add(cliente);
+            pets.add(pet);
+        }
+        clienteRepository.saveAll(lote);
+        petRepository.saveAll(pets);
+    }
+
+    private void gravarPorLinha(int inicio, int fim) {
+        for (int n = inicio; n < fim; n++) {
+            Long clienteId = jdbcTemplate.queryForObject(
+                "INSERT INTO clientes (nome, email, ativo, tenant_id, created_at, updated_at) " +
+                "VALUES (?, ?, true, ?, now(), now()) RETURNING id",
+                Long.class, "Cliente " + n, "cliente" + n + "@lote.test", TENANT);
+            jdbcTemplate.queryForObject(
+                "INSERT INTO pets (nome, especie, ativo, cliente_id, tenant_id, created_at, updated_at) " +
+                "VALUES (?, 'CACHORRO', true, ?, ?, now(), now()) RETURNING id",
+                Long.class, "Pet " + n, clienteId, TENANT);
+        }
+    }
+}
\ No newline at end of file
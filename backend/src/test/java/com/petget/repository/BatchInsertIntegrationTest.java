@@ -0,0 +1,112 @@
+package com.petget.repository;
+
+import com.petget.config.TenantContext;
+import com.petget.entity.Cliente;
+import com.petget.entity.Pet;
+import com.petget.enums.EspeciePet;
+import com.petget.support.PostgresIntegrationTest;
+import com.petget.support.StatementRecorder;
+import com.petget.support.StatementRecorder.RecordedStatement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IDs por sequência com pooled-lo (V13, allocationSize 50): cada nextval reserva 50 IDs e
+ * os INSERTs de clientes e pets saem em lotes JDBC de até 50 linhas (hibernate.jdbc.batch_size),
+ * em vez de um comando por linha como com IDENTITY.
+ */
+class BatchInsertIntegrationTest extends PostgresIntegrationTest {
+
+    private static final String TENANT = "lote-insert";
+
+    private static final int CLIENTES = 120;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void popular() {
+        jdbcTemplate.update("INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Lote', '87000000000187', ?)", TENANT);
+        TenantContext.setCurrentTenant(TENANT);
+    }
+
+    @AfterEach
+    void limpar() {
+        TenantContext.clear();
+        jdbcTemplate.update("DELETE FROM pets WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM clientes WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM empresas WHERE tenant_id = ?", TENANT);
+    }
+
+    @Test
+    void insertsDeClientesEPetsSaemEmLotes() {
+        List<RecordedStatement> statements = StatementRecorder.record(this::gravar);
+
+        List<RecordedStatement> clientes = comandos(statements, "insert into clientes");
+        List<RecordedStatement> pets = comandos(statements, "insert into pets");
+        assertThat(clientes).extracting(RecordedStatement::rows).containsExactly(50, 50, 20);
+        assertThat(pets).extracting(RecordedStatement::rows).containsExactly(50, 50, 20);
+    }
+
+    @Test
+    void idsSaoReservadosEmBlocosDaSequencia() {
+        List<RecordedStatement> statements = StatementRecorder.record(this::gravar);
+
+        // 120 IDs em no máximo três blocos de 50 por sequência (o primeiro pode ser a sobra
+        // de um bloco reservado antes, mantida em memória pelo otimizador)
+        assertThat(comandos(statements, "select nextval('clientes_id_seq')")).hasSizeBetween(1, 3);
+        assertThat(comandos(statements, "select nextval('pets_id_seq')")).hasSizeBetween(1, 3);
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM clientes WHERE tenant_id = ? ORDER BY id", Long.class, TENANT);
+        assertThat(ids).hasSize(CLIENTES).doesNotHaveDuplicates();
+        // pooled-lo: IDs consecutivos dentro de cada bloco, saltos apenas na troca de bloco
+        int saltos = 0;
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i) - ids.get(i - 1) != 1) {
+                saltos++;
+            }
+        }
+        assertThat(saltos).isLessThanOrEqualTo(2);
+    }
+
+    private void gravar() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Cliente> clientes = new ArrayList<>();
+            List<Pet> pets = new ArrayList<>();
+            for (int i = 0; i < CLIENTES; i++) {
+                Cliente cliente = new Cliente("Cliente lote " + i, TENANT);
+                Pet pet = new Pet("Pet lote " + i, EspeciePet.GATO, TENANT);
+                pet.setCliente(cliente);
+                clientes.add(cliente);
+                pets.add(pet);
+            }
+            clienteRepository.saveAll(clientes);
+            petRepository.saveAll(pets);
+        });
+    }
+
+    private static List<RecordedStatement> comandos(List<RecordedStatement> statements, String prefixo) {
+        return statements.stream()
+            .filter(statement -> statement.sql().toLowerCase().replaceAll("\\s+", " ").startsWith(prefixo))
+            .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.petget.repository;
+
+import com.petget.dto.ClienteResponse;
+import com.petget.entity.Cliente;
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Páginas de 500 clientes lidas como entidades gerenciadas e copiadas para o DTO (o
+ * caminho anterior da listagem) contra a projeção direta em ClienteResponse e a projeção
+ * restrita por fields=. Cada cliente tem observacoes de ~2 KB, lidas pela projeção completa
+ * e deixadas de fora pela restrita.
+ * Com o perfil benchmark, -prof gc informa a alocação por operação (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteProjectionBenchmark {
+
+    private static final int TAMANHO_PAGINA = 500;
+
+    private static final List<String> CAMPOS = List.of("nome", "email", "telefone");
+
+    @Param({"50000"})
+    private int clientes;
+
+    private BenchmarkEnvironment environment;
+
+    private ClienteRepository clienteRepository;
+
+    private String tenantId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        tenantId = "projecao-" + clientes;
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id = '" + tenantId + "'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Projeção', '57' || lpad('" + clientes + "', 12, '0'), '"
+                + tenantId + "')",
+            "INSERT INTO clientes (nome, cpf_cnpj, email, telefone, celular, endereco, bairro, cidade, estado, cep, " +
+            "observacoes, ativo, tenant_id) " +
+            "SELECT 'Cliente ' || n, lpad(n::text, 11, '0'), 'cliente' || n || '@projecao.test', '1133330000', " +
+            "'11999990000', 'Rua ' || n || ', 100', 'Centro', 'São Paulo', 'SP', '01000-000', " +
+            "repeat('Histórico de atendimento ' || n || '. ', 64), true, '" + tenantId + "' " +
+            "FROM generate_series(1, " + clientes + ") n");
+        clienteRepository = environment.getBean(ClienteRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object entidades() {
+        return environment.readOnly(tenantId, () ->
+            clienteRepository.findByTenantId(tenantId, pagina()).map(ClienteProjectionBenchmark::toResponse));
+    }
+
+    @Benchmark
+    public Object projecao() {
+        return environment.readOnly(tenantId, () -> clienteRepository.findResponsesByTenantId(tenantId, pagina()));
+    }
+
+    @Benchmark
+    public Object campos() {
+        return environment.readOnly(tenantId, () ->
+            clienteRepository.findFieldsByTenantId(tenantId, false, CAMPOS, pagina()));
+    }
+
+    private PageRequest pagina() {
+        int paginas = clientes / TAMANHO_PAGINA;
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(paginas), TAMANHO_PAGINA, Sort.by("id"));
+    }
+
+    /**
+     * Cópia campo a campo feita pela listagem antes das projeções
+     */
+    private static ClienteResponse toResponse(Cliente cliente) {
+        ClienteResponse response = new ClienteResponse();
+        response.setId(cliente.getId());
+        response.setNome(cliente.getNome());
+        response.setCpfCnpj(cliente.getCpfCnpj());
+        response.setEmail(cliente.getEmail());
+        response.setTelefone(cliente.getTelefone());
+        response.setCelular(cliente.getCelular());
+        response.setEndereco(cliente.getEndereco());
+        response.setBairro(cliente.getBairro());
+        response.setCidade(cliente.getCidade());
+        response.setEstado(cliente.getEstado());
+        response.setCep(cliente.getCep());
+        response.setObservacoes(cliente.getObservacoes());
+        response.setAtivo(cliente.getAtivo());
+        response.setTenantId(cliente.getTenantId());
+        response.setCreatedAt(cliente.getCreatedAt());
+        response.setUpdatedAt(cliente.getUpdatedAt());
+        return response;
+    }
+}
\ No newline at end of file
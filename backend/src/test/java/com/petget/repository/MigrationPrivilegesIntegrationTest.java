@@ -0,0 +1,66 @@
+package com.petget.repository;
+
+import com.petget.support.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * As migrações rodam com um usuário dono do banco sem CREATEROLE (o caso comum em bancos
+ * gerenciados): o role do modo rls (V5) não é exigido, e as políticas são criadas mesmo
+ * sem permissão para administrá-lo.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MigrationPrivilegesIntegrationTest extends PostgresIntegrationTest {
+
+    private static final String USUARIO = "migracao_restrita";
+
+    private static final String SENHA = "migracao";
+
+    private static final String BANCO = "petget_restrito";
+
+    private JdbcTemplate administrador;
+
+    @BeforeAll
+    void criarBanco() {
+        administrador = new JdbcTemplate(
+            new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        administrador.execute("CREATE ROLE " + USUARIO + " LOGIN NOCREATEROLE PASSWORD '" + SENHA + "'");
+        administrador.execute("CREATE DATABASE " + BANCO + " OWNER " + USUARIO);
+    }
+
+    @AfterAll
+    void excluirBanco() {
+        administrador.execute("DROP DATABASE IF EXISTS " + BANCO + " WITH (FORCE)");
+        administrador.execute("DROP ROLE IF EXISTS " + USUARIO);
+    }
+
+    @Test
+    void migracoesNaoExigemCreateRole() {
+        String url = POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + BANCO);
+        Flyway flyway = Flyway.configure()
+            .dataSource(url, USUARIO, SENHA)
+            .locations("classpath:db/migration")
+            .load();
+
+        assertThat(flyway.migrate().success).isTrue();
+
+        JdbcTemplate restrito = new JdbcTemplate(new DriverManagerDataSource(url, USUARIO, SENHA));
+        assertThat(restrito.queryForObject(
+                "SELECT count(*) FROM pg_policies WHERE policyname = 'tenant_isolation' AND tablename IN ('clientes', 'pets')",
+                Integer.class))
+            .isEqualTo(2);
+        // Sem ADMIN OPTION o usuário não se torna membro: o modo rls depende de um administrador
+        assertThat(restrito.queryForObject(
+                "SELECT count(*) FROM pg_auth_members m JOIN pg_roles r ON r.oid = m.roleid " +
+                "WHERE r.rolname = 'petget_tenant' AND m.member = (SELECT oid FROM pg_roles WHERE rolname = current_user)",
+                Integer.class))
+            .isZero();
+    }
+}
\ No newline at end of file
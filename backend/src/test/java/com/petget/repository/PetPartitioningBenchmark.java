@@ -0,0 +1,126 @@
+package com.petget.repository;
+
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pets particionados por HASH (tenant_id) (V9, V10) contra o layout anterior: uma tabela
+ * única com os índices de coluna única da V1, reconstruída ao lado com os mesmos dados.
+ * Mede a leitura por ID, os pets de um cliente e a primeira página dos pets ativos, com
+ * 20 mil tenants. A escala é definida por petsPorTenant (-p petsPorTenant=5000 para 100M).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PetPartitioningBenchmark {
+
+    private static final int TENANTS = 20_000;
+
+    private static final int PETS_POR_CLIENTE = 4;
+
+    @Param({"100"})
+    private int petsPorTenant;
+
+    @Param({"particionada", "heap"})
+    private String layout;
+
+    private BenchmarkEnvironment environment;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private String tabela;
+
+    private String[] tenants;
+
+    private long[] petIds;
+
+    private long[] clienteIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        jdbcTemplate = environment.jdbcTemplate();
+        String prefixo = "layout" + petsPorTenant + "-";
+        int clientesPorTenant = Math.max(1, petsPorTenant / PETS_POR_CLIENTE);
+        String heap = "bench_pets_heap_" + petsPorTenant;
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id LIKE '" + prefixo + "%'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) " +
+            "SELECT 'Empresa ' || t, lpad('" + petsPorTenant + "', 4, '0') || lpad(t::text, 10, '0'), '" + prefixo + "' || lpad(t::text, 5, '0') " +
+            "FROM generate_series(1, " + TENANTS + ") t",
+            "INSERT INTO clientes (nome, ativo, tenant_id) " +
+            "SELECT 'Cliente ' || n, true, e.tenant_id " +
+            "FROM empresas e CROSS JOIN generate_series(1, " + clientesPorTenant + ") n " +
+            "WHERE e.tenant_id LIKE '" + prefixo + "%'",
+            "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+            "SELECT 'Pet ' || c.id || '-' || n, 'GATO', 'FEMEA', n % 5 <> 0, c.id, c.tenant_id " +
+            "FROM clientes c CROSS JOIN generate_series(1, " + PETS_POR_CLIENTE + ") n " +
+            "WHERE c.tenant_id LIKE '" + prefixo + "%'",
+            // Layout anterior à V9: heap único, chave primária em id e índices de coluna única
+            "CREATE TABLE " + heap + " AS SELECT * FROM pets WHERE tenant_id LIKE '" + prefixo + "%'",
+            "ALTER TABLE " + heap + " ADD PRIMARY KEY (id)",
+            "CREATE INDEX ON " + heap + " (tenant_id)",
+            "CREATE INDEX ON " + heap + " (cliente_id)",
+            "CREATE INDEX ON " + heap + " (ativo)");
+        tabela = "heap".equals(layout) ? heap : "pets";
+
+        List<Map<String, Object>> amostras = jdbcTemplate.queryForList(
+            "SELECT tenant_id, min(id) AS pet_id, min(cliente_id) AS cliente_id FROM pets " +
+            "WHERE tenant_id LIKE '" + prefixo + "%' GROUP BY tenant_id");
+        tenants = amostras.stream().map(row -> (String) row.get("tenant_id")).toArray(String[]::new);
+        petIds = amostras.stream().mapToLong(row -> ((Number) row.get("pet_id")).longValue()).toArray();
+        clienteIds = amostras.stream().mapToLong(row -> ((Number) row.get("cliente_id")).longValue()).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object buscarPorId() {
+        int i = amostra();
+        return jdbcTemplate.queryForList(
+            "SELECT id, nome, especie, ativo FROM " + tabela + " WHERE tenant_id = ? AND id = ?", tenants[i], petIds[i]);
+    }
+
+    @Benchmark
+    public Object listarPorCliente() {
+        int i = amostra();
+        return jdbcTemplate.queryForList(
+            "SELECT id, nome, especie, ativo FROM " + tabela + " WHERE tenant_id = ? AND cliente_id = ?",
+            tenants[i], clienteIds[i]);
+    }
+
+    @Benchmark
+    public Object paginarAtivos() {
+        int i = amostra();
+        return jdbcTemplate.queryForList(
+            "SELECT id, nome, especie FROM " + tabela + " WHERE tenant_id = ? AND ativo = true ORDER BY id LIMIT 20",
+            tenants[i]);
+    }
+
+    private int amostra() {
+        return ThreadLocalRandom.current().nextInt(tenants.length);
+    }
+}
\ No newline at end of file
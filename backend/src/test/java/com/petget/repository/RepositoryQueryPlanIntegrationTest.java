@@ -0,0 +1,218 @@
+package com.petget.repository;
+
+import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
+import com.petget.enums.EspeciePet;
+import com.petget.enums.PerfilUsuario;
+import com.petget.support.PostgresIntegrationTest;
+import com.petget.support.QueryPlan;
+import com.petget.support.StatementRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regressão de planos das consultas mais frequentes dos repositórios.
+ * Cada consulta é executada pelo repositório (com o filtro de tenant do Hibernate), o SQL
+ * gerado é repetido com EXPLAIN e os mesmos parâmetros, e o plano precisa:
+ * - usar o índice composto esperado (V10 a V14);
+ * - não ter Seq Scan nem BitmapAnd (combinação de índices de coluna única);
+ * - ler uma única partição de clientes e pets (poda pela chave tenant_id, V9).
+ * A massa tem muitos tenants pequenos e um tenant grande: a busca por trigramas só
+ * compensa sobre a varredura do tenant inteiro em tenants com muitos clientes.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanIntegrationTest extends PostgresIntegrationTest {
+
+    private static final int TENANTS = 400;
+
+    private static final String TENANT = "plano-0007";
+
+    private static final String TENANT_GRANDE = "plano-0001";
+
+    private static final PageRequest PRIMEIRA_PAGINA = PageRequest.of(0, 20);
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    private long clienteId;
+
+    private long petId;
+
+    @BeforeAll
+    void popular() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        jdbcTemplate.update(
+            "INSERT INTO empresas (nome, cnpj, tenant_id) " +
+            "SELECT 'Empresa ' || t, '99' || lpad(t::text, 12, '0'), 'plano-' || lpad(t::text, 4, '0') " +
+            "FROM generate_series(1, ?) t", TENANTS);
+        jdbcTemplate.update(
+            "INSERT INTO usuarios (nome, email, senha, perfil, empresa_id, tenant_id) " +
+            "SELECT 'Usuário ' || u, e.tenant_id || '-' || u || '@plano.test', 'x', " +
+            "(ARRAY['ADMIN_EMPRESA','VETERINARIO','ATENDENTE','FINANCEIRO','USUARIO'])[1 + u % 5], e.id, e.tenant_id " +
+            "FROM empresas e CROSS JOIN generate_series(1, 10) u WHERE e.tenant_id LIKE 'plano-%'");
+        jdbcTemplate.update(
+            "INSERT INTO clientes (nome, cpf_cnpj, email, ativo, tenant_id) " +
+            "SELECT (ARRAY['Ana','Bruno','Carla','Diego','Elisa','Fábio','Gabriela','Heitor'])[1 + n % 8] || ' ' || " +
+            "(ARRAY['Silva','Souza','Oliveira','Santos','Pereira','Lima','Costa','Almeida','Ribeiro','Gomes'])[1 + (n / 8) % 10] || ' ' || n, " +
+            "lpad(n::text, 11, '0'), 'cliente' || n || '@' || e.tenant_id || '.test', n % 10 <> 0, e.tenant_id " +
+            "FROM empresas e CROSS JOIN generate_series(1, CASE WHEN e.tenant_id = ? THEN 20000 ELSE 100 END) n " +
+            "WHERE e.tenant_id LIKE 'plano-%'", TENANT_GRANDE);
+        jdbcTemplate.update(
+            "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+            "SELECT 'Pet ' || c.id, " +
+            "(ARRAY['CACHORRO','GATO','PASSARO','PEIXE','HAMSTER','COELHO','TARTARUGA','IGUANA','CHINCHILA','FERRET','OUTRO'])" +
+            "[1 + abs(hashtext(c.id::text)) % 11], " +
+            "(ARRAY['MACHO','FEMEA'])[1 + abs(hashtext(c.nome)) % 2], c.ativo, c.id, c.tenant_id " +
+            "FROM clientes c WHERE c.tenant_id LIKE 'plano-%'");
+        for (String table : List.of("empresas", "usuarios", "clientes", "pets")) {
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        }
+        tenantRegistry.reload();
+
+        clienteId = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM clientes WHERE tenant_id = ?", Long.class, TENANT);
+        petId = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM pets WHERE tenant_id = ?", Long.class, TENANT);
+    }
+
+    @Test
+    void listagemDeClientesPorNomeUsaIndiceTenantNome() {
+        assertPlans(() -> clienteRepository.findResponsesByTenantId(TENANT,
+                PageRequest.of(0, 20, Sort.by("nome", "id"))),
+            "idx_clientes_tenant_nome");
+        assertPlans(() -> clienteRepository.findNextPageByNome(TENANT, "Carla", clienteId, PRIMEIRA_PAGINA),
+            "idx_clientes_tenant_nome");
+    }
+
+    @Test
+    void listagemDeClientesAtivosUsaIndiceParcial() {
+        assertPlans(() -> clienteRepository.findNextPageByAtivoTrue(TENANT, clienteId, PRIMEIRA_PAGINA),
+            "idx_clientes_tenant_ativo");
+        assertPlans(() -> clienteRepository.countByAtivoTrueAndTenantId(TENANT),
+            "idx_clientes_tenant_ativo");
+    }
+
+    @Test
+    void buscaDeClientesPorNomeUsaIndiceDeTrigramas() {
+        assertPlans(TENANT_GRANDE,
+            () -> clienteRepository.searchIdsByNome("gomes", "gomes", TENANT_GRANDE, PRIMEIRA_PAGINA),
+            "idx_clientes_tenant_nome_trgm");
+    }
+
+    @Test
+    void buscaDeClientePorCpfCnpjEEmailUsaIndicesUnicos() {
+        assertPlans(() -> clienteRepository.findByCpfCnpjAndTenantId("000.000.000-42", TENANT),
+            "uq_clientes_tenant_cpf_cnpj");
+        assertPlans(() -> clienteRepository.findByEmailAndTenantId("Cliente42@" + TENANT + ".test", TENANT),
+            "uq_clientes_tenant_email");
+        assertPlans(() -> clienteRepository.findExistingCpfCnpj(TENANT, List.of("00000000042", "99999999999")),
+            "uq_clientes_tenant_cpf_cnpj");
+        assertPlans(() -> clienteRepository.findExistingEmails(TENANT, List.of("cliente42@" + TENANT + ".test")),
+            "uq_clientes_tenant_email");
+    }
+
+    @Test
+    void leituraDeClientesEPetsPorIdsUsaChavePrimaria() {
+        assertPlans(() -> clienteRepository.findResponsesByIdInAndTenantId(List.of(clienteId), TENANT),
+            "pk_clientes", "idx_clientes_id");
+        assertPlans(() -> petRepository.findResponsesByIdInAndTenantId(List.of(petId), TENANT),
+            "pk_pets", "idx_pets_id");
+    }
+
+    @Test
+    void consultasDePetsUsamIndicesCompostos() {
+        assertPlans(() -> petRepository.findByClienteIdAndTenantId(clienteId, TENANT),
+            "idx_pets_cliente_id");
+        assertPlans(() -> petRepository.findByEspecieAndTenantId(EspeciePet.GATO, TENANT, PRIMEIRA_PAGINA),
+            "idx_pets_tenant_especie");
+        assertPlans(() -> petRepository.countByEspecieAndTenantId(EspeciePet.GATO, TENANT),
+            "idx_pets_tenant_especie");
+        assertPlans(() -> petRepository.findNextPageByAtivoTrue(TENANT, petId, PRIMEIRA_PAGINA),
+            "idx_pets_tenant_ativo");
+    }
+
+    @Test
+    void consultasDeUsuariosUsamIndices() {
+        assertPlans(() -> usuarioRepository.findByPerfilAndTenantId(PerfilUsuario.VETERINARIO, TENANT),
+            "idx_usuarios_tenant_perfil");
+        // Login: sem tenant no contexto
+        List<QueryPlan> login = explain(null,
+            () -> usuarioRepository.findByEmailWithEmpresa(TENANT + "-3@plano.test"));
+        assertPlan(login.get(0), "usuarios_email_key");
+    }
+
+    private void assertPlans(Runnable query, String... expectedIndexes) {
+        assertPlans(TENANT, query, expectedIndexes);
+    }
+
+    /**
+     * O primeiro comando executado precisa usar um dos índices esperados; os demais
+     * (contagem das páginas) só precisam evitar varreduras completas
+     */
+    private void assertPlans(String tenantId, Runnable query, String... expectedIndexes) {
+        List<QueryPlan> plans = explain(tenantId, query);
+        assertThat(plans).as("comandos executados").isNotEmpty();
+        assertPlan(plans.get(0), expectedIndexes);
+        for (QueryPlan plan : plans.subList(1, plans.size())) {
+            assertPlan(plan);
+        }
+    }
+
+    private void assertPlan(QueryPlan plan, String... expectedIndexes) {
+        assertThat(plan.nodeTypes()).as("%s", plan).doesNotContain("Seq Scan", "BitmapAnd");
+        assertThat(plan.relations().stream().filter(name -> name.matches("clientes_p\\d+")).count())
+            .as("partições de clientes lidas em %s", plan).isLessThanOrEqualTo(1);
+        assertThat(plan.relations().stream().filter(name -> name.matches("pets_p\\d+")).count())
+            .as("partições de pets lidas em %s", plan).isLessThanOrEqualTo(1);
+        if (expectedIndexes.length > 0) {
+            assertThat(plan.indexes()).as("%s", plan).containsAnyOf(expectedIndexes);
+        }
+    }
+
+    private List<QueryPlan> explain(String tenantId, Runnable query) {
+        if (tenantId != null) {
+            TenantContext.setCurrentTenant(tenantId);
+        }
+        try {
+            return StatementRecorder.record(() -> readOnly.executeWithoutResult(status -> query.run())).stream()
+                .map(statement -> QueryPlan.explain(dataSource, statement))
+                .toList();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.petget.repository;
+
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Isolamento de tenant pelo filtro do Hibernate (filter) e por Row-Level Security (rls)
+ * com 10 mil tenants: listagem paginada, leitura por ID e contagem.
+ * Cada operação é uma transação somente leitura de um tenant sorteado, como uma requisição;
+ * no modo rls ela inclui o SET LOCAL ROLE e o set_config de app.tenant_id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenancyModeBenchmark {
+
+    private static final int TENANTS = 10_000;
+
+    private static final int CLIENTES_POR_TENANT = 20;
+
+    private static final PageRequest PRIMEIRA_PAGINA = PageRequest.of(0, 20, Sort.by("nome", "id"));
+
+    @Param({"filter", "rls"})
+    private String mode;
+
+    private BenchmarkEnvironment environment;
+
+    private ClienteRepository clienteRepository;
+
+    private String[] tenants;
+
+    private Long[] clienteIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start("petget.multitenancy.mode=" + mode);
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id LIKE 'modo-%'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) " +
+            "SELECT 'Empresa ' || t, '77' || lpad(t::text, 12, '0'), 'modo-' || lpad(t::text, 5, '0') " +
+            "FROM generate_series(1, " + TENANTS + ") t",
+            "INSERT INTO clientes (nome, cpf_cnpj, email, ativo, tenant_id) " +
+            "SELECT 'Cliente ' || n, lpad(n::text, 11, '0'), 'cliente' || n || '@' || e.tenant_id || '.test', true, e.tenant_id " +
+            "FROM empresas e CROSS JOIN generate_series(1, " + CLIENTES_POR_TENANT + ") n WHERE e.tenant_id LIKE 'modo-%'",
+            "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+            "SELECT 'Pet ' || c.id, 'GATO', 'FEMEA', true, c.id, c.tenant_id FROM clientes c WHERE c.tenant_id LIKE 'modo-%'");
+        clienteRepository = environment.getBean(ClienteRepository.class);
+
+        List<Map<String, Object>> amostras = environment.jdbcTemplate().queryForList(
+            "SELECT tenant_id, min(id) AS id FROM clientes WHERE tenant_id LIKE 'modo-%' GROUP BY tenant_id");
+        tenants = amostras.stream().map(row -> (String) row.get("tenant_id")).toArray(String[]::new);
+        clienteIds = amostras.stream().map(row -> ((Number) row.get("id")).longValue()).toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object listar() {
+        int i = amostra();
+        return environment.readOnly(tenants[i], () -> clienteRepository.findResponsesByTenantId(tenants[i], PRIMEIRA_PAGINA));
+    }
+
+    @Benchmark
+    public Object buscarPorId() {
+        int i = amostra();
+        return environment.readOnly(tenants[i],
+            () -> clienteRepository.findResponsesByIdInAndTenantId(List.of(clienteIds[i]), tenants[i]));
+    }
+
+    @Benchmark
+    public Object contar() {
+        int i = amostra();
+        return environment.readOnly(tenants[i], () -> clienteRepository.countByTenantId(tenants[i]));
+    }
+
+    private int amostra() {
+        return ThreadLocalRandom.current().nextInt(tenants.length);
+    }
+}
\ No newline at end of file
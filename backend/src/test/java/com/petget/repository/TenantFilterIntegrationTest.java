@@ -0,0 +1,92 @@
+package com.petget.repository;
+
+import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
+import com.petget.enums.EspeciePet;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garantia do filtro de tenant: consultas de repositório chamadas fora de qualquer
+ * transação de serviço também são restritas ao tenant do contexto, mesmo quando o
+ * parâmetro tenantId da consulta aponta para outro tenant.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantFilterIntegrationTest extends PostgresIntegrationTest {
+
+    private static final String TENANT = "filtro-a";
+
+    private static final String OUTRO_TENANT = "filtro-b";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void popular() {
+        for (String tenantId : List.of(TENANT, OUTRO_TENANT)) {
+            jdbcTemplate.update("INSERT INTO empresas (nome, cnpj, tenant_id) VALUES (?, ?, ?)",
+                "Empresa " + tenantId, tenantId.equals(TENANT) ? "88000000000001" : "88000000000002", tenantId);
+            jdbcTemplate.update(
+                "INSERT INTO clientes (nome, cpf_cnpj, email, ativo, tenant_id) " +
+                "SELECT 'Cliente ' || n, NULL, NULL, true, ? FROM generate_series(1, 3) n", tenantId);
+            jdbcTemplate.update(
+                "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+                "SELECT 'Pet ' || c.id, 'GATO', 'MACHO', true, c.id, c.tenant_id FROM clientes c WHERE c.tenant_id = ?",
+                tenantId);
+        }
+        tenantRegistry.reload();
+    }
+
+    @AfterEach
+    void limparContexto() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void consultasDeclaradasForaDeTransacaoRespeitamOTenantDoContexto() {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        TenantContext.setCurrentTenant(TENANT);
+
+        assertThat(clienteRepository.findAllByTenantId(TENANT)).hasSize(3);
+        assertThat(clienteRepository.findAllByTenantId(OUTRO_TENANT)).isEmpty();
+        assertThat(clienteRepository.countByTenantId(OUTRO_TENANT)).isZero();
+        assertThat(petRepository.findByAtivoTrueAndTenantId(OUTRO_TENANT, PageRequest.of(0, 20))).isEmpty();
+        assertThat(petRepository.countByEspecieAndTenantId(
+            EspeciePet.GATO, OUTRO_TENANT)).isZero();
+    }
+
+    @Test
+    void fragmentoDeProjecaoForaDeTransacaoRespeitaOTenantDoContexto() {
+        TenantContext.setCurrentTenant(TENANT);
+
+        assertThat(clienteRepository.findFieldsByTenantId(TENANT, false, List.of("nome"), PageRequest.of(0, 20)))
+            .hasSize(3);
+        assertThat(clienteRepository.findFieldsByTenantId(OUTRO_TENANT, false, List.of("nome"), PageRequest.of(0, 20)))
+            .isEmpty();
+    }
+
+    @Test
+    void semTenantNoContextoAsConsultasNaoSaoFiltradas() {
+        assertThat(clienteRepository.findAllByTenantId(OUTRO_TENANT)).hasSize(3);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.petget.repository;
+
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Particionamento por HASH (tenant_id) (V9): todas as linhas de um tenant ficam na mesma
+ * partição, e a chave estrangeira (tenant_id, cliente_id) impede um pet de apontar para
+ * cliente de outro tenant.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantPartitioningIntegrationTest extends PostgresIntegrationTest {
+
+    private static final List<String> TENANTS = List.of("particao-a", "particao-b", "particao-c", "particao-d");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void popular() {
+        for (int i = 0; i < TENANTS.size(); i++) {
+            String tenantId = TENANTS.get(i);
+            jdbcTemplate.update("INSERT INTO empresas (nome, cnpj, tenant_id) VALUES (?, ?, ?)",
+                "Empresa " + tenantId, "8600000000000" + i, tenantId);
+            jdbcTemplate.update(
+                "INSERT INTO clientes (nome, ativo, tenant_id) SELECT 'Cliente ' || n, true, ? FROM generate_series(1, 10) n",
+                tenantId);
+            jdbcTemplate.update(
+                "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+                "SELECT 'Pet ' || c.id, 'CACHORRO', 'MACHO', true, c.id, c.tenant_id FROM clientes c WHERE c.tenant_id = ?",
+                tenantId);
+        }
+    }
+
+    @Test
+    void linhasDeUmTenantFicamEmUmaUnicaParticao() {
+        for (String tenantId : TENANTS) {
+            List<String> clientes = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tableoid::regclass::text FROM clientes WHERE tenant_id = ?", String.class, tenantId);
+            List<String> pets = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tableoid::regclass::text FROM pets WHERE tenant_id = ?", String.class, tenantId);
+
+            assertThat(clientes).singleElement().asString().matches("clientes_p\\d+");
+            assertThat(pets).singleElement().asString().matches("pets_p\\d+");
+            // Mesma função de hash e mesmo MODULUS: cliente e pets do tenant na partição de mesmo número
+            assertThat(pets.get(0).substring("pets".length())).isEqualTo(clientes.get(0).substring("clientes".length()));
+        }
+    }
+
+    @Test
+    void petNaoPodeReferenciarClienteDeOutroTenant() {
+        Long clienteDeA = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM clientes WHERE tenant_id = ?", Long.class, TENANTS.get(0));
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) VALUES ('Intruso', 'GATO', 'FEMEA', true, ?, ?)",
+                clienteDeA, TENANTS.get(1)))
+            .isInstanceOf(DataIntegrityViolationException.class)
+            .hasMessageContaining("fk_pets_cliente");
+    }
+
+    @Test
+    void idsContinuamUnicosEntreParticoes() {
+        Integer repetidos = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM (SELECT id FROM pets GROUP BY id HAVING count(*) > 1) r", Integer.class);
+
+        assertThat(repetidos).isZero();
+    }
+}
\ No newline at end of file
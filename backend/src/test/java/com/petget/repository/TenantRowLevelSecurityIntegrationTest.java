@@ -0,0 +1,118 @@
+package com.petget.repository;
+
+import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
+import com.petget.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Modo rls (V5, V9): o PostgreSQL restringe ao tenant do contexto inclusive o SQL nativo,
+ * que o filtro do Hibernate não alcança, e recusa gravações em outro tenant.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "petget.multitenancy.mode=rls")
+class TenantRowLevelSecurityIntegrationTest extends PostgresIntegrationTest {
+
+    private static final String TENANT = "rls-a";
+
+    private static final String OUTRO_TENANT = "rls-b";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeAll
+    void popular() {
+        transaction = new TransactionTemplate(transactionManager);
+        for (String tenantId : List.of(TENANT, OUTRO_TENANT)) {
+            jdbcTemplate.update("INSERT INTO empresas (nome, cnpj, tenant_id) VALUES (?, ?, ?)",
+                "Empresa " + tenantId, tenantId.equals(TENANT) ? "87000000000001" : "87000000000002", tenantId);
+            jdbcTemplate.update(
+                "INSERT INTO clientes (nome, ativo, tenant_id) SELECT 'Cliente ' || n, true, ? FROM generate_series(1, 3) n",
+                tenantId);
+        }
+        tenantRegistry.reload();
+    }
+
+    @AfterEach
+    void limparContexto() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void sqlNativoVeApenasOTenantDoContexto() {
+        TenantContext.setCurrentTenant(TENANT);
+
+        List<String> tenants = transaction.execute(status -> entityManager
+            .createNativeQuery("SELECT DISTINCT tenant_id FROM clientes", String.class).getResultList());
+
+        assertThat(tenants).containsExactly(TENANT);
+    }
+
+    @Test
+    void consultaDeclaradaComOutroTenantNaoRetornaNada() {
+        TenantContext.setCurrentTenant(TENANT);
+
+        assertThat(clienteRepository.findAllByTenantId(OUTRO_TENANT)).isEmpty();
+        assertThat(clienteRepository.findAllByTenantId(TENANT)).hasSize(3);
+    }
+
+    @Test
+    void gravacaoEmOutroTenantEhRecusada() {
+        TenantContext.setCurrentTenant(TENANT);
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> entityManager
+                .createNativeQuery("INSERT INTO clientes (nome, ativo, tenant_id) VALUES ('Intruso', true, :tenantId)")
+                .setParameter("tenantId", OUTRO_TENANT)
+                .executeUpdate()))
+            .hasStackTraceContaining("row-level security");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM clientes WHERE nome = 'Intruso'", Integer.class)).isZero();
+    }
+
+    @Test
+    void exclusaoNativaSemFiltroAtingeApenasOTenant() {
+        TenantContext.setCurrentTenant(TENANT);
+
+        Integer removidos = transaction.execute(status -> {
+            int count = entityManager.createNativeQuery("DELETE FROM clientes WHERE nome = 'Cliente 1'").executeUpdate();
+            status.setRollbackOnly();
+            return count;
+        });
+
+        assertThat(removidos).isEqualTo(1);
+    }
+
+    @Test
+    void semTenantNoContextoAConexaoNaoEhRestringida() {
+        assertThat(clienteRepository.findAllByTenantId(OUTRO_TENANT)).hasSize(3);
+    }
+}
\ No newline at end of file
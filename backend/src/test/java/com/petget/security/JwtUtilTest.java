@@ -0,0 +1,118 @@
+package com.petget.security;
+
+import com.petget.entity.Usuario;
+import com.petget.enums.PerfilUsuario;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verificação única de tokens: os claims verificados são reaproveitados na requisição
+ * e tokens adulterados, expirados ou assinados com outra chave são recusados.
+ */
+class JwtUtilTest {
+    
+    private static final String SECRET = "petget-secret-key-very-long-and-secure-for-production-use-only";
+    
+    private JwtUtil jwtUtil;
+    
+    @BeforeEach
+    void criar() {
+        jwtUtil = novoJwtUtil(SECRET);
+    }
+    
+    @Test
+    void tokenDeAcessoVerificadoExpoeOsClaims() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("atendente@clinicademo.com");
+        usuario.setTenantId("demo-clinic");
+        usuario.setPerfil(PerfilUsuario.ATENDENTE);
+        usuario.setTokenVersion(3);
+        
+        VerifiedToken token = jwtUtil.verifyToken(jwtUtil.generateAccessToken(usuario));
+        
+        assertThat(token).isNotNull();
+        assertThat(token.getId()).isNotBlank();
+        assertThat(token.getUsername()).isEqualTo("atendente@clinicademo.com");
+        assertThat(token.getTenantId()).isEqualTo("demo-clinic");
+        assertThat(token.getPerfil()).isEqualTo(PerfilUsuario.ATENDENTE);
+        assertThat(token.getVersion()).isEqualTo(3);
+        assertThat(token.isSelfContained()).isTrue();
+        assertThat(token.isRefreshToken()).isFalse();
+        assertThat(token.isExpired()).isFalse();
+    }
+    
+    @Test
+    void refreshTokenEhIdentificado() {
+        VerifiedToken token = jwtUtil.verifyToken(jwtUtil.generateRefreshToken("admin@clinicademo.com", "demo-clinic"));
+        
+        assertThat(token.isRefreshToken()).isTrue();
+        assertThat(token.isSelfContained()).isFalse();
+    }
+    
+    @Test
+    void cadaTokenTemJtiProprio() {
+        String primeiro = jwtUtil.generateRefreshToken("admin@clinicademo.com", "demo-clinic");
+        String segundo = jwtUtil.generateRefreshToken("admin@clinicademo.com", "demo-clinic");
+        
+        assertThat(jwtUtil.verifyToken(primeiro).getId()).isNotEqualTo(jwtUtil.verifyToken(segundo).getId());
+    }
+    
+    @Test
+    void tokenAdulteradoEhRecusado() {
+        String token = jwtUtil.generateRefreshToken("admin@clinicademo.com", "demo-clinic");
+        String[] partes = token.split("\\.");
+        String adulterado = partes[0] + "." + partes[1] + "x." + partes[2];
+        
+        assertThat(jwtUtil.verifyToken(adulterado)).isNull();
+        assertThat(jwtUtil.verifyToken("nao-e-um-jwt")).isNull();
+        assertThat(jwtUtil.verifyToken("")).isNull();
+    }
+    
+    @Test
+    void tokenDeOutraChaveEhRecusado() {
+        JwtUtil outro = novoJwtUtil(SECRET.toUpperCase());
+        
+        assertThat(jwtUtil.verifyToken(outro.generateRefreshToken("admin@clinicademo.com", "demo-clinic"))).isNull();
+    }
+    
+    @Test
+    void tokenExpiradoEhRecusado() {
+        String expirado = Jwts.builder()
+            .subject("admin@clinicademo.com")
+            .issuedAt(new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)))
+            .expiration(new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .compact();
+        
+        assertThat(jwtUtil.verifyToken(expirado)).isNull();
+    }
+    
+    @Test
+    void validacaoContraUsuarioUsaOTokenJaVerificado() {
+        VerifiedToken token = jwtUtil.verifyToken(jwtUtil.generateRefreshToken("admin@clinicademo.com", "demo-clinic"));
+        UserDetails admin = User.withUsername("admin@clinicademo.com").password("").authorities("ROLE_ADMIN_EMPRESA").build();
+        UserDetails outro = User.withUsername("atendente@clinicademo.com").password("").authorities("ROLE_ATENDENTE").build();
+        
+        assertThat(jwtUtil.validateToken(token, admin)).isTrue();
+        assertThat(jwtUtil.validateToken(token, outro)).isFalse();
+    }
+    
+    private static JwtUtil novoJwtUtil(String secret) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", secret);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(util, "jwtRefreshExpirationMs", TimeUnit.DAYS.toMillis(7));
+        util.init();
+        return util;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.petget.security;
+
+import com.petget.entity.Usuario;
+import com.petget.enums.PerfilUsuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da autenticação JWT por requisição.
+ * - antes: o filtro verificava e decodificava o token cinco vezes, recriando a chave
+ *   HMAC e o parser a cada verificação;
+ * - depois: uma única verificação com chave e parser pré-calculados (JwtUtil.verifyToken).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+    
+    private static final String SECRET = "petget-secret-key-very-long-and-secure-for-production-use-only";
+    
+    private JwtUtil jwtUtil;
+    
+    private String token;
+    
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+        jwtUtil.init();
+        
+        Usuario usuario = new Usuario();
+        usuario.setEmail("atendente@clinicademo.com");
+        usuario.setTenantId("demo-clinic");
+        usuario.setPerfil(PerfilUsuario.ATENDENTE);
+        token = jwtUtil.generateAccessToken(usuario);
+    }
+    
+    @Benchmark
+    public void antesCincoVerificacoesComChaveEParserNovos(Blackhole blackhole) {
+        blackhole.consume(parseComChaveNova(token).getSubject());
+        blackhole.consume(parseComChaveNova(token).getSubject());
+        blackhole.consume(parseComChaveNova(token).get("tenantId", String.class));
+        blackhole.consume(parseComChaveNova(token).get("type", String.class));
+        blackhole.consume(parseComChaveNova(token).getExpiration().before(new Date()));
+    }
+    
+    @Benchmark
+    public void depoisUmaVerificacaoComParserCompartilhado(Blackhole blackhole) {
+        VerifiedToken verified = jwtUtil.verifyToken(token);
+        blackhole.consume(verified.getUsername());
+        blackhole.consume(verified.getTenantId());
+        blackhole.consume(verified.isRefreshToken());
+        blackhole.consume(verified.isExpired());
+    }
+    
+    private Claims parseComChaveNova(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt).getPayload();
+    }
+}
\ No newline at end of file
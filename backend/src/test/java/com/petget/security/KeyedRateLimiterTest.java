@@ -0,0 +1,101 @@
+package com.petget.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Token buckets por chave (GCRA): rajada exata da capacidade, reposição na taxa
+ * configurada, chaves independentes, nenhum token a mais sob concorrência e remoção
+ * apenas dos buckets já cheios.
+ */
+class KeyedRateLimiterTest {
+    
+    @Test
+    void permiteRajadaDaCapacidadeERejeitaASeguinte() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(5, 1);
+        
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        long espera = limiter.tryAcquire("10.0.0.1");
+        
+        // O próximo token chega em até um intervalo de reposição (1 minuto)
+        assertThat(espera).isPositive().isLessThanOrEqualTo(TimeUnit.MINUTES.toNanos(1));
+    }
+    
+    @Test
+    void chavesTemBucketsIndependentes() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1);
+        
+        assertThat(limiter.tryAcquire("a@clinica.test")).isZero();
+        assertThat(limiter.tryAcquire("a@clinica.test")).isPositive();
+        assertThat(limiter.tryAcquire("b@clinica.test")).isZero();
+    }
+    
+    @Test
+    void tokensSaoRepostosComOTempo() throws InterruptedException {
+        // Um token a cada milissegundo
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 60_000);
+        assertThat(limiter.tryAcquire("tenant")).isZero();
+        
+        Thread.sleep(5);
+        
+        assertThat(limiter.tryAcquire("tenant")).isZero();
+    }
+    
+    @Test
+    void concorrenciaNaoConcedeTokensAlemDaCapacidade() throws Exception {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(100, 1);
+        int threads = 8;
+        AtomicInteger permitidas = new AtomicInteger();
+        CyclicBarrier largada = new CyclicBarrier(threads);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    largada.await(10, TimeUnit.SECONDS);
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("10.0.0.2") == 0) {
+                            permitidas.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(permitidas).hasValue(100);
+    }
+    
+    @Test
+    void evictIdleRemoveApenasBucketsCheios() throws InterruptedException {
+        KeyedRateLimiter rapido = new KeyedRateLimiter(1, 60_000);
+        rapido.tryAcquire("ocioso");
+        KeyedRateLimiter lento = new KeyedRateLimiter(2, 1);
+        lento.tryAcquire("ativo");
+        
+        Thread.sleep(5);
+        
+        assertThat(rapido.evictIdle()).isEqualTo(1);
+        assertThat(rapido.size()).isZero();
+        assertThat(lento.evictIdle()).isZero();
+        assertThat(lento.size()).isEqualTo(1);
+    }
+}
\ No newline at end of file
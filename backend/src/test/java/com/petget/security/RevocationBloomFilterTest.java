@@ -0,0 +1,87 @@
+package com.petget.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filtro de Bloom da revogação: nunca pode dar falso negativo (um token revogado
+ * voltaria a valer), e a taxa de falsos positivos fica próxima da configurada.
+ */
+class RevocationBloomFilterTest {
+    
+    @Test
+    void identificadoresRegistradosSempreSaoEncontrados() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(100_000, 0.01);
+        List<String> jtis = jtis(100_000);
+        jtis.forEach(filter::put);
+        
+        assertThat(jtis).allMatch(filter::mightContain);
+    }
+    
+    @Test
+    void taxaDeFalsosPositivosFicaProximaDaConfigurada() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(100_000, 0.01);
+        jtis(100_000).forEach(filter::put);
+        
+        long falsosPositivos = jtis(100_000).stream().filter(filter::mightContain).count();
+        
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+    }
+    
+    @Test
+    void filtroVazioNaoContemNada() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(1_000, 0.01);
+        
+        assertThat(jtis(1_000)).noneMatch(filter::mightContain);
+    }
+    
+    @Test
+    void dimensionamentoMinimoContinuaCorreto() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(0, 0.01);
+        filter.put("jti-unico");
+        
+        assertThat(filter.mightContain("jti-unico")).isTrue();
+    }
+    
+    @Test
+    void escritasConcorrentesNaoPerdemBits() throws Exception {
+        RevocationBloomFilter filter = new RevocationBloomFilter(200_000, 0.01);
+        List<List<String>> lotes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lotes.add(jtis(25_000));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(lotes.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<String> lote : lotes) {
+                futures.add(executor.submit(() -> lote.forEach(filter::put)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        for (List<String> lote : lotes) {
+            assertThat(lote).allMatch(filter::mightContain);
+        }
+    }
+    
+    private static List<String> jtis(int quantidade) {
+        List<String> jtis = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            jtis.add(UUID.randomUUID().toString());
+        }
+        return jtis;
+    }
+}
\ No newline at end of file
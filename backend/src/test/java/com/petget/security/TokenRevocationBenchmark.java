@@ -0,0 +1,107 @@
+package com.petget.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da consulta de revogação por requisição com milhões de tokens revogados.
+ * - antes: HashSet sincronizado com os tokens completos (o AuthService.blacklistedTokens
+ *   original, sem expurgo, precisava de sincronização para ser usado entre threads);
+ * - depois: TokenRevocationStore.isRevoked, com o filtro de Bloom na frente do mapa.
+ * Os caminhos "naoRevogado" são o caso comum (quase toda requisição); "revogado" mede
+ * o pior caso, em que o filtro deixa passar e o mapa é consultado.
+ * A camada durável não participa: é lida apenas na inicialização e na sincronização.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Threads(4)
+@State(Scope.Benchmark)
+public class TokenRevocationBenchmark {
+    
+    private static final int AMOSTRAS = 4096;
+    
+    @Param({"1000000", "5000000"})
+    private int revogados;
+    
+    private TokenRevocationStore store;
+    
+    private Set<String> blacklist;
+    
+    private String[] jtisRevogados;
+    
+    private String[] jtisValidos;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        store = new TokenRevocationStore();
+        ReflectionTestUtils.setField(store, "bloomFilter", new RevocationBloomFilter(revogados, 0.01));
+        blacklist = Collections.synchronizedSet(new HashSet<>());
+        
+        long expiresAt = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+        jtisRevogados = new String[AMOSTRAS];
+        // Amostras espalhadas pela massa, e não apenas as primeiras (vizinhas na memória)
+        int passo = revogados / AMOSTRAS;
+        for (int i = 0; i < revogados; i++) {
+            String jti = UUID.randomUUID().toString();
+            ReflectionTestUtils.invokeMethod(store, "register", jti, expiresAt);
+            blacklist.add(jti);
+            if (i % passo == 0 && i / passo < AMOSTRAS) {
+                jtisRevogados[i / passo] = jti;
+            }
+        }
+        jtisValidos = new String[AMOSTRAS];
+        for (int i = 0; i < AMOSTRAS; i++) {
+            jtisValidos[i] = UUID.randomUUID().toString();
+        }
+    }
+    
+    @Benchmark
+    public boolean antesNaoRevogado() {
+        return blacklist.contains(jti(jtisValidos));
+    }
+    
+    @Benchmark
+    public boolean depoisNaoRevogado() {
+        return store.isRevoked(jti(jtisValidos));
+    }
+    
+    @Benchmark
+    public boolean antesRevogado() {
+        return blacklist.contains(jti(jtisRevogados));
+    }
+    
+    @Benchmark
+    public boolean depoisRevogado() {
+        return store.isRevoked(jti(jtisRevogados));
+    }
+    
+    /**
+     * Cópia do identificador: o jti de cada requisição vem de um token recém-decodificado,
+     * sem o hashCode da String já calculado
+     */
+    private static String jti(String[] amostras) {
+        return new String(amostras[ThreadLocalRandom.current().nextInt(AMOSTRAS)]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.petget.security;
+
+import com.jayway.jsonpath.JsonPath;
+import com.petget.config.ShardDirectory;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Revogação de tokens: o logout derruba o token de acesso nas requisições seguintes,
+ * e as revogações sobrevivem a reinicializações e chegam aos demais nós pela tabela
+ * tokens_revogados.
+ */
+class TokenRevocationStoreIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "demo-clinic";
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @Autowired
+    private ShardDirectory shardDirectory;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Test
+    void logoutRevogaOTokenDeAcesso() throws Exception {
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode(SENHA), EMAIL);
+        String login = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(login, "$.accessToken");
+        
+        mockMvc.perform(get("/clientes").header("Authorization", "Bearer " + accessToken).header("X-Tenant-ID", TENANT))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + accessToken))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/clientes").header("Authorization", "Bearer " + accessToken).header("X-Tenant-ID", TENANT))
+            .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void revogacaoSobreviveAReinicializacao() {
+        String jti = UUID.randomUUID().toString();
+        tokenRevocationStore.revoke(jti, daquiA(1));
+        
+        assertThat(novoNo().isRevoked(jti)).isTrue();
+    }
+    
+    @Test
+    void revogacaoDeOutroNoChegaNaSincronizacao() {
+        String jti = UUID.randomUUID().toString();
+        novoNo().revoke(jti, daquiA(1));
+        assertThat(tokenRevocationStore.isRevoked(jti)).isFalse();
+        
+        tokenRevocationStore.syncFromDatabase();
+        
+        assertThat(tokenRevocationStore.isRevoked(jti)).isTrue();
+    }
+    
+    @Test
+    void tokenJaExpiradoNaoEhArmazenado() {
+        String jti = UUID.randomUUID().toString();
+        tokenRevocationStore.revoke(jti, daquiA(-1));
+        
+        assertThat(tokenRevocationStore.isRevoked(jti)).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM tokens_revogados WHERE jti = ?", Integer.class, jti)).isZero();
+    }
+    
+    @Test
+    void expurgoRemoveRevogacoesExpiradas() {
+        String expirado = UUID.randomUUID().toString();
+        String valido = UUID.randomUUID().toString();
+        long agora = System.currentTimeMillis();
+        jdbcTemplate.update("INSERT INTO tokens_revogados (jti, expira_em, revogado_em) VALUES (?, ?, ?)",
+            expirado, agora - 1_000, agora - 60_000);
+        tokenRevocationStore.revoke(valido, daquiA(1));
+        
+        tokenRevocationStore.purgeExpired();
+        
+        assertThat(jdbcTemplate.queryForList("SELECT jti FROM tokens_revogados WHERE jti IN (?, ?)",
+            String.class, expirado, valido)).containsExactly(valido);
+        assertThat(tokenRevocationStore.isRevoked(valido)).isTrue();
+    }
+    
+    /**
+     * Outra instância do armazenamento, como a de um nó recém-iniciado
+     */
+    private TokenRevocationStore novoNo() {
+        TokenRevocationStore store = new TokenRevocationStore();
+        ReflectionTestUtils.setField(store, "shardDirectory", shardDirectory);
+        ReflectionTestUtils.setField(store, "expectedEntries", 1_000L);
+        ReflectionTestUtils.setField(store, "falsePositiveRate", 0.01);
+        store.init();
+        return store;
+    }
+    
+    private static Date daquiA(int horas) {
+        return new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(horas));
+    }
+}
\ No newline at end of file
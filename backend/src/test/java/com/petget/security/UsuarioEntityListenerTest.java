@@ -0,0 +1,65 @@
+package com.petget.security;
+
+import com.petget.entity.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A versão de token só é publicada no registro após o commit: como o registro nunca
+ * retrocede versões, publicá-la numa transação desfeita revogaria tokens válidos.
+ */
+class UsuarioEntityListenerTest {
+    
+    private final TokenVersionRegistry tokenVersionRegistry = mock(TokenVersionRegistry.class);
+    private final UsuarioPrincipalCache usuarioPrincipalCache = mock(UsuarioPrincipalCache.class);
+    private final UsuarioEntityListener listener = new UsuarioEntityListener();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(listener, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(listener, "usuarioPrincipalCache", usuarioPrincipalCache);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+    
+    @Test
+    void publicaAVersaoApenasAposOCommit() {
+        listener.onUpdate(usuario(3));
+        verify(tokenVersionRegistry, never()).update(any(), anyInt());
+        
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        
+        verify(tokenVersionRegistry).update("ana@clinica.test", 3);
+    }
+    
+    @Test
+    void rollbackNaoPublicaAVersao() {
+        listener.onUpdate(usuario(3));
+        
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        
+        verify(tokenVersionRegistry, never()).update(any(), anyInt());
+    }
+    
+    private Usuario usuario(int tokenVersion) {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("ana@clinica.test");
+        usuario.setTokenVersion(tokenVersion);
+        return usuario;
+    }
+}
\ No newline at end of file
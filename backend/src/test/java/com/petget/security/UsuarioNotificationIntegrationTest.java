@@ -0,0 +1,40 @@
+package com.petget.security;
+
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Alterações em usuarios feitas fora deste nó (outro nó, script SQL) chegam pelo canal
+ * usuarios_alterados e revogam os tokens sem reiniciar a aplicação.
+ */
+class UsuarioNotificationIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String EMAIL = "financeiro@clinicademo.com";
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void trocaDeVersaoDeTokenEmOutroNoRevogaTokensAnteriores() {
+        int versao = jdbcTemplate.queryForObject(
+            "SELECT token_version FROM usuarios WHERE email = ?", Integer.class, EMAIL);
+        assertThat(tokenVersionRegistry.isCurrent(EMAIL, versao)).isTrue();
+        
+        // Fora do JPA: o listener local da entidade não participa
+        jdbcTemplate.update("UPDATE usuarios SET token_version = token_version + 1 WHERE email = ?", EMAIL);
+        
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertThat(tokenVersionRegistry.isCurrent(EMAIL, versao)).isFalse());
+        assertThat(tokenVersionRegistry.isCurrent(EMAIL, versao + 1)).isTrue();
+    }
+}
\ No newline at end of file
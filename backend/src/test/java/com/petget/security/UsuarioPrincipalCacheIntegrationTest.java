@@ -0,0 +1,49 @@
+package com.petget.security;
+
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Principals em cache são invalidados quando o usuário muda fora deste nó: a alteração
+ * chega pelo canal usuarios_alterados, sem esperar a expiração do cache.
+ */
+class UsuarioPrincipalCacheIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String EMAIL = "atendente@clinicademo.com";
+    
+    private static final String TENANT = "demo-clinic";
+    
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void restaurar() {
+        jdbcTemplate.update("UPDATE usuarios SET nome = 'Ana Costa', perfil = 'ATENDENTE' WHERE email = ?", EMAIL);
+    }
+    
+    @Test
+    void alteracaoEmOutroNoInvalidaPrincipalEmCache() {
+        UsuarioPrincipal principal = userDetailsService.loadUserByUsernameAndTenant(EMAIL, TENANT);
+        assertThat(principal.getAuthorities()).extracting(Object::toString).contains("ROLE_ATENDENTE");
+        
+        // Fora do JPA: o listener local da entidade não participa
+        jdbcTemplate.update("UPDATE usuarios SET perfil = 'FINANCEIRO' WHERE email = ?", EMAIL);
+        
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertThat(userDetailsService.loadUserByUsernameAndTenant(EMAIL, TENANT)
+                .getAuthorities()).extracting(Object::toString)
+                .contains("ROLE_FINANCEIRO")
+                .doesNotContain("ROLE_ATENDENTE"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.petget.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petget.config.DatabaseNotificationListener;
+import com.petget.entity.Usuario;
+import com.petget.enums.PerfilUsuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Uma invalidação que chega enquanto o principal é carregado, antes de o índice por id
+ * conhecer a chave, não pode deixar a leitura possivelmente anterior ao commit em cache.
+ */
+class UsuarioPrincipalCacheTest {
+    
+    private static final Long USUARIO_ID = 7L;
+    
+    private final UsuarioPrincipalCache cache = new UsuarioPrincipalCache();
+    
+    private final AtomicInteger cargas = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "notificationListener", mock(DatabaseNotificationListener.class));
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "expireAfterWriteMs", 600000L);
+        cache.init();
+    }
+    
+    @Test
+    void cargaSemInvalidacaoPermaneceEmCache() {
+        cache.get("ana@clinica.test", "demo", key -> carregar(PerfilUsuario.ATENDENTE));
+        cache.get("ana@clinica.test", "demo", key -> carregar(PerfilUsuario.ATENDENTE));
+        
+        assertThat(cargas).hasValue(1);
+    }
+    
+    @Test
+    void invalidacaoDuranteACargaDescartaOResultado() {
+        UsuarioPrincipal lido = cache.get("ana@clinica.test", "demo", key -> {
+            UsuarioPrincipal principal = carregar(PerfilUsuario.ATENDENTE);
+            // Commit e notificação de outra transação entre a leitura e o registro no índice
+            cache.invalidate(USUARIO_ID);
+            return principal;
+        });
+        assertThat(lido.getPerfil()).isEqualTo(PerfilUsuario.ATENDENTE);
+        
+        UsuarioPrincipal atual = cache.get("ana@clinica.test", "demo", key -> carregar(PerfilUsuario.FINANCEIRO));
+        
+        assertThat(cargas).hasValue(2);
+        assertThat(atual.getPerfil()).isEqualTo(PerfilUsuario.FINANCEIRO);
+    }
+    
+    @Test
+    void esvaziamentoDuranteACargaDescartaOResultado() {
+        cache.get("ana@clinica.test", "demo", key -> {
+            UsuarioPrincipal principal = carregar(PerfilUsuario.ATENDENTE);
+            // Reconexão ao canal de notificações
+            cache.invalidateAll();
+            return principal;
+        });
+        cache.get("ana@clinica.test", "demo", key -> carregar(PerfilUsuario.ATENDENTE));
+        
+        assertThat(cargas).hasValue(2);
+    }
+    
+    private UsuarioPrincipal carregar(PerfilUsuario perfil) {
+        cargas.incrementAndGet();
+        Usuario usuario = new Usuario("Ana Costa", "ana@clinica.test", "", perfil, "demo");
+        usuario.setId(USUARIO_ID);
+        return new UsuarioPrincipal(usuario, "", List.of());
+    }
+}
\ No newline at end of file
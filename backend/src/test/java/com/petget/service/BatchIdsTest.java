@@ -0,0 +1,50 @@
+package com.petget.service;
+
+import com.petget.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Listas de IDs das consultas em lote: nulos e repetidos são descartados mantendo a ordem,
+ * e o limite vale para os IDs únicos.
+ */
+class BatchIdsTest {
+    
+    private BatchIds batchIds;
+    
+    @BeforeEach
+    void criar() {
+        batchIds = new BatchIds();
+        ReflectionTestUtils.setField(batchIds, "maxIds", 3);
+    }
+    
+    @Test
+    void removeNulosERepetidosMantendoAOrdem() {
+        assertThat(batchIds.validar(Arrays.asList(7L, null, 3L, 7L, 5L))).containsExactly(7L, 3L, 5L);
+    }
+    
+    @Test
+    void listaAusenteOuVaziaResultaEmNenhumId() {
+        assertThat(batchIds.validar(null)).isEmpty();
+        assertThat(batchIds.validar(List.of())).isEmpty();
+    }
+    
+    @Test
+    void limiteConsideraApenasIdsUnicos() {
+        assertThat(batchIds.validar(List.of(1L, 2L, 3L, 3L, 2L, 1L))).hasSize(3);
+    }
+    
+    @Test
+    void idsAlemDoLimiteSaoRejeitados() {
+        assertThatThrownBy(() -> batchIds.validar(List.of(1L, 2L, 3L, 4L)))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("3");
+    }
+}
\ No newline at end of file
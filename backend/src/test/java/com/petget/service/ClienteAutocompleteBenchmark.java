@@ -0,0 +1,111 @@
+package com.petget.service;
+
+import com.petget.config.TenantContext;
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência (com percentis: modo SampleTime) do autocomplete de clientes e pets
+ * (ClienteAutocompleteService.sugerir) com o índice do tenant já em memória, contra a meta
+ * de p99 abaixo de 1 ms. Termos como digitados na recepção: início de um nome (prefixos
+ * curtos casam com ~10% do tenant), nome e sobrenome parciais, ou início do CPF/celular.
+ * Cada cliente tem um pet. A escala é definida por clientes (-p clientes=1000000 para 1M).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteAutocompleteBenchmark {
+
+    private static final String[] PREFIXOS = {
+        "jo", "mar", "conc", "fab", "hel", "ser", "marc", "ant", "luc", "rex"
+    };
+
+    private static final String[] NOMES_PARCIAIS = {
+        "joao sil", "maria gon", "conceicao bra", "fabio ar", "helena sa", "antonio ri", "lucia ass"
+    };
+
+    @Param({"100000"})
+    private int clientes;
+
+    @Param({"prefixo", "nomeParcial", "numero"})
+    private String termos;
+
+    private BenchmarkEnvironment environment;
+
+    private ClienteAutocompleteService autocompleteService;
+
+    private String tenantId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        tenantId = "autocomplete-" + clientes;
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id = '" + tenantId + "'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Autocomplete', '58' || lpad('" + clientes + "', 12, '0'), '"
+                + tenantId + "')",
+            "INSERT INTO clientes (nome, cpf_cnpj, celular, ativo, tenant_id) " +
+            "SELECT (ARRAY['João','Maria','José','Conceição','Fábio','Helena','Sérgio','Márcia','Antônio','Lúcia'])" +
+            "[1 + n % 10] || ' ' || " +
+            "(ARRAY['Araújo','Gonçalves','Brandão','Sá','Silva','Lima','Ribeiro','Assunção','Magalhães','Souza'])" +
+            "[1 + (n / 10) % 10] || ' ' || n, (10000000000 + n * 7919)::text, '119' || lpad(n::text, 8, '0'), true, '"
+                + tenantId + "' " +
+            "FROM generate_series(1, " + clientes + ") n",
+            // Estatísticas antes da carga de pets: sem elas a checagem da chave estrangeira varre a partição
+            "ANALYZE clientes",
+            "INSERT INTO pets (nome, especie, sexo, ativo, cliente_id, tenant_id) " +
+            "SELECT (ARRAY['Rex','Thor','Mel','Luna','Bob','Nina','Fred','Lola','Max','Bela'])[1 + c.id % 10] || ' ' || c.id, " +
+            "'CACHORRO', 'MACHO', true, c.id, c.tenant_id FROM clientes c WHERE c.tenant_id = '" + tenantId + "'");
+        autocompleteService = environment.getBean(ClienteAutocompleteService.class);
+        // Carrega o índice do tenant: as medições são de consultas com o índice em memória
+        sugerir("jo");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object sugerir() {
+        return sugerir(termo());
+    }
+
+    private Object sugerir(String termo) {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            return autocompleteService.sugerir(termo, 10);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private String termo() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (termos) {
+            case "nomeParcial" -> NOMES_PARCIAIS[random.nextInt(NOMES_PARCIAIS.length)];
+            // Início do CPF ou do celular de um cliente existente
+            case "numero" -> random.nextBoolean()
+                ? String.valueOf(10000000000L + random.nextInt(1, clientes + 1) * 7919L).substring(0, 7)
+                : "119" + String.format("%08d", random.nextInt(1, clientes + 1)).substring(0, 4);
+            default -> PREFIXOS[random.nextInt(PREFIXOS.length)];
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.petget.service;
+
+import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
+import com.petget.dto.AutocompleteResponse;
+import com.petget.entity.Pet;
+import com.petget.enums.EspeciePet;
+import com.petget.repository.ClienteRepository;
+import com.petget.repository.PetRepository;
+import com.petget.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pets salvos ou removidos via JPA atualizam o índice de autocomplete já carregado,
+ * apenas após o commit, como os clientes: sem esperar a expiração do índice.
+ */
+class ClienteAutocompleteServiceIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "autocomplete-pets";
+    
+    @Autowired
+    private ClienteAutocompleteService autocompleteService;
+    
+    @Autowired
+    private PetRepository petRepository;
+    
+    @Autowired
+    private ClienteRepository clienteRepository;
+    
+    @Autowired
+    private TenantRegistry tenantRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private Long clienteId;
+    
+    @BeforeEach
+    void popular() {
+        jdbcTemplate.update("INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Autocomplete', '89000000000189', ?)",
+            TENANT);
+        clienteId = jdbcTemplate.queryForObject(
+            "INSERT INTO clientes (nome, tenant_id) VALUES ('Bruna Teixeira', ?) RETURNING id", Long.class, TENANT);
+        tenantRegistry.reload();
+        TenantContext.setCurrentTenant(TENANT);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Carrega o índice do tenant antes das alterações
+        assertThat(autocompleteService.sugerir("bruna", 10)).hasSize(1);
+    }
+    
+    @AfterEach
+    void limpar() {
+        TenantContext.clear();
+        autocompleteService.invalidate(TENANT);
+        jdbcTemplate.update("DELETE FROM pets WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM clientes WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM empresas WHERE tenant_id = ?", TENANT);
+        tenantRegistry.reload();
+    }
+    
+    @Test
+    void petSalvoEntraNoIndiceAposOCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            petRepository.save(pet("Pipoca"));
+            assertThat(autocompleteService.sugerir("pipoca", 10)).isEmpty();
+        });
+        
+        assertThat(autocompleteService.sugerir("pipoca", 10))
+            .singleElement()
+            .satisfies(sugestao -> {
+                assertThat(sugestao.getTipo()).isEqualTo("PET");
+                assertThat(sugestao.getClienteId()).isEqualTo(clienteId);
+                assertThat(sugestao.getClienteNome()).isEqualTo("Bruna Teixeira");
+            });
+    }
+    
+    @Test
+    void rollbackNaoAlteraOIndice() {
+        transactionTemplate.executeWithoutResult(status -> {
+            petRepository.save(pet("Pipoca"));
+            status.setRollbackOnly();
+        });
+        
+        assertThat(autocompleteService.sugerir("pipoca", 10)).isEmpty();
+    }
+    
+    @Test
+    void petRenomeadoInativadoOuRemovidoSaiDoIndice() {
+        Long petId = transactionTemplate.execute(status -> petRepository.save(pet("Pipoca")).getId());
+        
+        transactionTemplate.executeWithoutResult(status -> petRepository.findById(petId).orElseThrow().setNome("Paçoca"));
+        assertThat(autocompleteService.sugerir("pipoca", 10)).isEmpty();
+        assertThat(autocompleteService.sugerir("pacoca", 10)).extracting(AutocompleteResponse::getId).containsExactly(petId);
+        
+        transactionTemplate.executeWithoutResult(status -> petRepository.findById(petId).orElseThrow().setAtivo(false));
+        assertThat(autocompleteService.sugerir("pacoca", 10)).isEmpty();
+        
+        transactionTemplate.executeWithoutResult(status -> petRepository.findById(petId).orElseThrow().setAtivo(true));
+        assertThat(autocompleteService.sugerir("pacoca", 10)).hasSize(1);
+        transactionTemplate.executeWithoutResult(status -> petRepository.deleteById(petId));
+        assertThat(autocompleteService.sugerir("pacoca", 10)).isEmpty();
+    }
+    
+    private Pet pet(String nome) {
+        Pet pet = new Pet(nome, EspeciePet.GATO, TENANT);
+        pet.setCliente(clienteRepository.getReferenceById(clienteId));
+        return pet;
+    }
+}
\ No newline at end of file
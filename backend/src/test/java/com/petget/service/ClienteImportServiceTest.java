@@ -0,0 +1,105 @@
+package com.petget.service;
+
+import com.petget.config.TenantContext;
+import com.petget.dto.ImportacaoResponse;
+import com.petget.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Início da importação quando o worker não aceita o arquivo: o arquivo temporário é
+ * excluído e a vaga do tenant é liberada, qualquer que seja a falha.
+ */
+class ClienteImportServiceTest {
+    
+    private final ClienteImportWorker worker = mock(ClienteImportWorker.class);
+    
+    private final ClienteImportService service = new ClienteImportService();
+    
+    private final Path[] recebido = new Path[1];
+    
+    @BeforeEach
+    void criar() {
+        ReflectionTestUtils.setField(service, "clienteImportWorker", worker);
+        ReflectionTestUtils.setField(service, "maxErrors", 10);
+        ReflectionTestUtils.setField(service, "retentionMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxBytes", 1_024L);
+        ReflectionTestUtils.setField(service, "maxConcurrentPerTenant", 1);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 60L);
+        service.init();
+        TenantContext.setCurrentTenant("importacao");
+    }
+    
+    @AfterEach
+    void limpar() {
+        TenantContext.clear();
+    }
+    
+    @Test
+    void falhaDoWorkerExcluiOArquivoELiberaAVaga() {
+        doAnswer(invocation -> {
+            recebido[0] = invocation.getArgument(1);
+            throw new IllegalStateException("executor encerrado");
+        }).when(worker).processar(any(), any(), anyBoolean());
+        
+        assertThatThrownBy(this::iniciar).isInstanceOf(IllegalStateException.class);
+        
+        assertThat(recebido[0]).isNotNull();
+        assertThat(Files.exists(recebido[0])).isFalse();
+        assertVagaLiberada();
+    }
+    
+    @Test
+    void filaCheiaExcluiOArquivoELiberaAVaga() {
+        doAnswer(invocation -> {
+            recebido[0] = invocation.getArgument(1);
+            throw new TaskRejectedException("fila cheia");
+        }).when(worker).processar(any(), any(), anyBoolean());
+        
+        assertThatThrownBy(this::iniciar).isInstanceOf(TooManyRequestsException.class);
+        
+        assertThat(Files.exists(recebido[0])).isFalse();
+        assertVagaLiberada();
+    }
+    
+    private void assertVagaLiberada() {
+        doAnswer(invocation -> {
+            recebido[0] = invocation.getArgument(1);
+            return new CompletableFuture<Void>();
+        }).when(worker).processar(any(), any(), anyBoolean());
+        
+        assertThat(iniciar().getId()).isNotBlank();
+        // Arquivo aceito pelo worker: permanece até o fim do processamento
+        assertThat(Files.exists(recebido[0])).isTrue();
+        excluir(recebido[0]);
+    }
+    
+    private ImportacaoResponse iniciar() {
+        return service.iniciar(new ByteArrayInputStream("nome\nAna\n".getBytes(StandardCharsets.UTF_8)), "text/csv");
+    }
+    
+    private static void excluir(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            // Arquivo temporário
+        }
+    }
+}
\ No newline at end of file
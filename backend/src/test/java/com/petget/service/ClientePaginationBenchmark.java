@@ -0,0 +1,88 @@
+package com.petget.service;
+
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem de clientes por nome paginada por OFFSET (com contagem total) contra keyset
+ * (/clientes/scroll), na primeira página e em uma página profunda. O cursor da página
+ * profunda é a chave do último cliente da página anterior, como o cliente o receberia.
+ * A escala é definida por clientes (-p clientes=1000000 para 1M por tenant).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientePaginationBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    @Param({"100000"})
+    private int clientes;
+
+    @Param({"1", "1000"})
+    private int pagina;
+
+    private BenchmarkEnvironment environment;
+
+    private ClienteService clienteService;
+
+    private String tenantId;
+
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        tenantId = "paginacao-" + clientes;
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id = '" + tenantId + "'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Paginação', '56' || lpad('" + clientes + "', 12, '0'), '"
+                + tenantId + "')",
+            "INSERT INTO clientes (nome, email, telefone, ativo, tenant_id) " +
+            "SELECT 'Cliente ' || md5(n::text), 'cliente' || n || '@paginacao.test', '11999990000', true, '" + tenantId + "' " +
+            "FROM generate_series(1, " + clientes + ") n");
+        clienteService = environment.getBean(ClienteService.class);
+
+        if (pagina > 1) {
+            Map<String, Object> ultimo = environment.jdbcTemplate().queryForMap(
+                "SELECT nome, id FROM clientes WHERE tenant_id = ? ORDER BY nome, id OFFSET ? LIMIT 1",
+                tenantId, (pagina - 1) * TAMANHO_PAGINA - 1);
+            cursor = KeysetCursor.encode((String) ultimo.get("nome"), ((Number) ultimo.get("id")).longValue());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object offset() {
+        return environment.readOnly(tenantId, () -> clienteService.listarClientes(
+            PageRequest.of(pagina - 1, TAMANHO_PAGINA, Sort.by("nome", "id"))));
+    }
+
+    @Benchmark
+    public Object keyset() {
+        return environment.readOnly(tenantId, () -> clienteService.listarClientes(cursor, TAMANHO_PAGINA));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.petget.service;
+
+import com.petget.config.TenantContext;
+import com.petget.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência (com percentis: modo SampleTime) da busca de clientes por nome em um tenant
+ * grande: ClienteService.buscarPorNome, pelo índice de trigramas sobre nome_normalizado
+ * (V17), com e sem a contagem total (buscarPorNomeSemContagem), contra o mesmo filtro
+ * sem índice utilizável (unaccent() direto na coluna, varredura da partição). Termos
+ * parciais e sem acento, como digitados na recepção: comuns (cada um presente em ~10% do
+ * tenant; a varredura sem ordenação por similaridade para nos primeiros 20) ou raros
+ * (trechos do número do cliente, poucas dezenas de linhas).
+ * A escala é definida por clientes (-p clientes=1000000 para 1M por tenant).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteSearchBenchmark {
+
+    private static final String[] TERMOS = {
+        "joao", "conceicao", "araujo silva", "fabio", "goncalves", "mar", "helena sa", "brandao"
+    };
+
+    private static final PageRequest PRIMEIRA_PAGINA = PageRequest.of(0, 20);
+
+    @Param({"200000"})
+    private int clientes;
+
+    @Param({"comum", "raro"})
+    private String termos;
+
+    private BenchmarkEnvironment environment;
+
+    private ClienteService clienteService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private String tenantId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        tenantId = "busca-" + clientes;
+        environment.populate("SELECT count(*) FROM empresas WHERE tenant_id = '" + tenantId + "'",
+            "INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Busca', '55' || lpad('" + clientes + "', 12, '0'), '"
+                + tenantId + "')",
+            "INSERT INTO clientes (nome, ativo, tenant_id) " +
+            "SELECT (ARRAY['João','Maria','José','Conceição','Fábio','Helena','Sérgio','Márcia','Antônio','Lúcia'])" +
+            "[1 + n % 10] || ' ' || " +
+            "(ARRAY['Araújo','Gonçalves','Brandão','Sá','Silva','Lima','Ribeiro','Assunção','Magalhães','Souza'])" +
+            "[1 + (n / 10) % 10] || ' ' || " +
+            "(ARRAY['Silva','Oliveira','Pereira','Costa','Carvalho','Rocha','Dias','Nunes','Moreira','Teixeira'])" +
+            "[1 + (n / 100) % 10] || ' ' || n, true, '" + tenantId + "' " +
+            "FROM generate_series(1, " + clientes + ") n");
+        clienteService = environment.getBean(ClienteService.class);
+        jdbcTemplate = environment.jdbcTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object comIndiceDeTrigramas() {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            return clienteService.buscarPorNome(termo(), PRIMEIRA_PAGINA);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Benchmark
+    public Object comIndiceSemContagem() {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            return clienteService.buscarPorNomeSemContagem(termo(), PRIMEIRA_PAGINA);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Benchmark
+    public Object semIndice() {
+        return jdbcTemplate.queryForList(
+            "SELECT id, nome FROM clientes WHERE tenant_id = ? AND unaccent(lower(nome)) LIKE '%' || ? || '%' " +
+            "ORDER BY nome, id LIMIT 20", tenantId, termo());
+    }
+
+    private String termo() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if ("raro".equals(termos)) {
+            return String.valueOf(random.nextInt(1000, 10000));
+        }
+        return TERMOS[random.nextInt(TERMOS.length)];
+    }
+}
\ No newline at end of file
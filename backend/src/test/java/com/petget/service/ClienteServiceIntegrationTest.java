@@ -0,0 +1,212 @@
+package com.petget.service;
+
+import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
+import com.petget.dto.ClienteResponse;
+import com.petget.exception.BadRequestException;
+import com.petget.repository.ClienteRepository;
+import com.petget.support.PostgresIntegrationTest;
+import com.petget.support.StatementRecorder;
+import com.petget.support.StatementRecorder.RecordedStatement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Busca de clientes por nome (V11): sem distinção de acentos e maiúsculas, tolerante a
+ * erros de digitação e com os curingas de LIKE digitados tratados como texto. A busca
+ * dos IDs e a leitura das respostas são consultas separadas, e um cliente removido entre
+ * as duas não pode virar um item nulo da página.
+ * As listagens leem projeções: o SELECT traz as colunas da resposta completa, ou apenas
+ * as solicitadas em fields=. A busca sem contagem não executa o COUNT.
+ */
+class ClienteServiceIntegrationTest extends PostgresIntegrationTest {
+    
+    private static final String TENANT = "busca-nome";
+    
+    @Autowired
+    private ClienteService clienteService;
+    
+    @SpyBean
+    private ClienteRepository clienteRepository;
+    
+    @Autowired
+    private TenantRegistry tenantRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void popular() {
+        jdbcTemplate.update("INSERT INTO empresas (nome, cnpj, tenant_id) VALUES ('Busca por nome', '88000000000188', ?)",
+            TENANT);
+        jdbcTemplate.update(
+            "INSERT INTO clientes (nome, cpf_cnpj, email, tenant_id) " +
+            "SELECT 'Marina Duarte ' || n, '880000000' || lpad(n::text, 2, '0'), 'marina' || n || '@busca.test', ? " +
+            "FROM generate_series(1, 5) n", TENANT);
+        jdbcTemplate.update(
+            "INSERT INTO clientes (nome, tenant_id) VALUES ('João Pereira', ?), ('Joana Prado', ?), ('100% Pet Shop', ?)",
+            TENANT, TENANT, TENANT);
+        tenantRegistry.reload();
+        TenantContext.setCurrentTenant(TENANT);
+    }
+    
+    @AfterEach
+    void limpar() {
+        TenantContext.clear();
+        reset(clienteRepository);
+        jdbcTemplate.update("DELETE FROM clientes WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM empresas WHERE tenant_id = ?", TENANT);
+        tenantRegistry.reload();
+    }
+    
+    @Test
+    void clienteRemovidoEntreAsConsultasFicaForaDaPagina() {
+        // Repositórios Spring Data são espionados por delegação: a resposta padrão executa a consulta
+        Answer<?> consultaReal = mockingDetails(clienteRepository).getMockCreationSettings().getDefaultAnswer();
+        Long[] removido = new Long[1];
+        doAnswer(invocation -> {
+            Page<?> ids = (Page<?>) consultaReal.answer(invocation);
+            removido[0] = (Long) ids.getContent().get(1);
+            // Outra conexão, confirmada antes da leitura das respostas
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement delete = connection.prepareStatement("DELETE FROM clientes WHERE id = ?")) {
+                connection.setAutoCommit(true);
+                delete.setLong(1, removido[0]);
+                delete.executeUpdate();
+            }
+            return ids;
+        }).when(clienteRepository).searchIdsByNome(any(), any(), any(), any());
+        
+        Page<ClienteResponse> pagina = clienteService.buscarPorNome("marina duarte", PageRequest.of(0, 10));
+        
+        assertThat(pagina.getContent()).hasSize(4).doesNotContainNull();
+        assertThat(pagina.getContent()).extracting(ClienteResponse::getId).doesNotContain(removido[0]);
+        assertThat(pagina.getTotalElements()).isEqualTo(4);
+    }
+    
+    @Test
+    void buscaSemRemocoesMantemOrdemEContagem() {
+        Page<ClienteResponse> pagina = clienteService.buscarPorNome("marina duarte", PageRequest.of(0, 2));
+        
+        assertThat(pagina.getContent()).hasSize(2).doesNotContainNull();
+        assertThat(pagina.getTotalElements()).isEqualTo(5);
+        assertThat(pagina.getTotalPages()).isEqualTo(3);
+    }
+    
+    @Test
+    void buscaSemContagemNaoExecutaCountEIndicaProximaPagina() {
+        Slice<ClienteResponse>[] pagina = new Slice[1];
+        List<RecordedStatement> statements = StatementRecorder.record(
+            () -> pagina[0] = clienteService.buscarPorNomeSemContagem("marina duarte", PageRequest.of(0, 2)));
+        
+        assertThat(pagina[0].getContent()).hasSize(2).doesNotContainNull();
+        assertThat(pagina[0].hasNext()).isTrue();
+        assertThat(statements).extracting(RecordedStatement::sql)
+            .noneMatch(sql -> sql.toLowerCase().contains("count("));
+        
+        // Mesma ordem da busca com contagem; a última fatia não tem próxima
+        assertThat(pagina[0].getContent()).extracting(ClienteResponse::getId)
+            .containsExactlyElementsOf(clienteService.buscarPorNome("marina duarte", PageRequest.of(0, 2))
+                .map(ClienteResponse::getId).getContent());
+        Slice<ClienteResponse> ultima = clienteService.buscarPorNomeSemContagem("marina duarte", PageRequest.of(2, 2));
+        assertThat(ultima.getContent()).hasSize(1);
+        assertThat(ultima.hasNext()).isFalse();
+    }
+    
+    @Test
+    void buscaIgnoraAcentosEMaiusculas() {
+        Page<ClienteResponse> pagina = clienteService.buscarPorNome("JOAO", PageRequest.of(0, 10));
+        
+        assertThat(pagina.getContent()).extracting(ClienteResponse::getNome).first().isEqualTo("João Pereira");
+    }
+    
+    @Test
+    void buscaToleraErroDeDigitacao() {
+        Page<ClienteResponse> pagina = clienteService.buscarPorNome("perreira", PageRequest.of(0, 10));
+        
+        assertThat(pagina.getContent()).extracting(ClienteResponse::getNome).contains("João Pereira");
+    }
+    
+    @Test
+    void resultadoMaisSimilarVemPrimeiro() {
+        Page<ClienteResponse> pagina = clienteService.buscarPorNome("joana", PageRequest.of(0, 10));
+        
+        assertThat(pagina.getContent()).extracting(ClienteResponse::getNome).first().isEqualTo("Joana Prado");
+    }
+    
+    @Test
+    void curingasDeLikeSaoTratadosComoTexto() {
+        assertThat(clienteService.buscarPorNome("%", PageRequest.of(0, 10)).getContent())
+            .extracting(ClienteResponse::getNome).containsExactly("100% Pet Shop");
+        assertThat(clienteService.buscarPorNome("_", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+    
+    @Test
+    void listagemRetornaARespostaCompleta() {
+        jdbcTemplate.update("UPDATE clientes SET observacoes = 'Prefere contato por email' WHERE tenant_id = ? AND nome = ?",
+            TENANT, "João Pereira");
+        Page<ClienteResponse>[] pagina = new Page[1];
+        List<RecordedStatement> statements = StatementRecorder.record(
+            () -> pagina[0] = clienteService.listarClientes(PageRequest.of(0, 3, Sort.by("nome"))));
+        
+        assertThat(pagina[0].getContent()).extracting(ClienteResponse::getNome)
+            .containsExactly("100% Pet Shop", "Joana Prado", "João Pereira");
+        assertThat(pagina[0].getContent().get(2).getObservacoes()).isEqualTo("Prefere contato por email");
+        assertThat(pagina[0].getTotalElements()).isEqualTo(8);
+        assertThat(colunasSelecionadas(statements)).hasSize(16);
+    }
+    
+    @Test
+    void fieldsRestringeAsColunasSelecionadas() {
+        Page<Map<String, Object>>[] pagina = new Page[1];
+        List<RecordedStatement> statements = StatementRecorder.record(
+            () -> pagina[0] = clienteService.listarCampos(List.of("nome", "email"), false, PageRequest.of(0, 10, Sort.by("nome"))));
+        
+        assertThat(pagina[0].getContent()).hasSize(8)
+            .allSatisfy(cliente -> assertThat(cliente).containsOnlyKeys("id", "nome", "email"));
+        assertThat(pagina[0].getContent().get(3)).containsEntry("email", "marina1@busca.test");
+        assertThat(colunasSelecionadas(statements)).hasSize(3);
+    }
+    
+    @Test
+    void fieldsComCampoInexistenteEhRejeitado() {
+        assertThatThrownBy(() -> clienteService.listarCampos(List.of("nome", "senha"), false, PageRequest.of(0, 10)))
+            .isInstanceOf(BadRequestException.class);
+    }
+    
+    /**
+     * Colunas do SELECT da página (o comando de contagem é ignorado)
+     */
+    private static List<String> colunasSelecionadas(List<RecordedStatement> statements) {
+        String sql = statements.stream()
+            .map(RecordedStatement::sql)
+            .filter(comando -> !comando.toLowerCase().startsWith("select count"))
+            .findFirst().orElseThrow().toLowerCase();
+        return List.of(sql.substring("select ".length(), sql.indexOf(" from ")).split(","));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.petget.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Leitor de CSV da importação (RFC 4180): campos entre aspas com separador, quebras de
+ * linha e aspas duplicadas, finais de linha CRLF, linhas em branco e o número da linha
+ * de cada registro, usado nos erros de validação.
+ */
+class CsvRecordReaderTest {
+    
+    @Test
+    void leRegistrosSimplesAteOFim() throws IOException {
+        CsvRecordReader reader = reader("Ana;11999990000\nBruno;\n", ';');
+        
+        assertThat(reader.next()).containsExactly("Ana", "11999990000");
+        assertThat(reader.next()).containsExactly("Bruno", "");
+        assertThat(reader.next()).isNull();
+    }
+    
+    @Test
+    void camposVaziosSaoPreservados() throws IOException {
+        assertThat(reader(",a,,b,", ',').next()).containsExactly("", "a", "", "b", "");
+    }
+    
+    @Test
+    void campoEntreAspasPodeConterSeparadorQuebraDeLinhaEAspas() throws IOException {
+        CsvRecordReader reader = reader("\"Silva, Ana\",\"Rua A\n100\",\"Pet \"\"Rex\"\"\",\"\"\n", ',');
+        
+        assertThat(reader.next()).containsExactly("Silva, Ana", "Rua A\n100", "Pet \"Rex\"", "");
+        assertThat(reader.next()).isNull();
+    }
+    
+    @Test
+    void aceitaCrlfEIgnoraLinhasEmBranco() throws IOException {
+        List<List<String>> registros = todos(reader("a;1\r\n\r\n\nb;2\r\nc;3", ';'));
+        
+        assertThat(registros).containsExactly(List.of("a", "1"), List.of("b", "2"), List.of("c", "3"));
+    }
+    
+    @Test
+    void informaALinhaDoArquivoDeCadaRegistro() throws IOException {
+        // Conteúdo após o cabeçalho, que ocupa a linha 1
+        CsvRecordReader reader = reader("a,1\n\"multi\nlinha\",2\n\nb,3\n", ',', 2);
+        List<Long> linhas = new ArrayList<>();
+        while (reader.next() != null) {
+            linhas.add(reader.getRecordLine());
+        }
+        
+        assertThat(linhas).containsExactly(2L, 3L, 6L);
+    }
+    
+    @Test
+    void aspasNaoFechadasSaoErro() {
+        CsvRecordReader reader = reader("a,1\n\"sem fim,2\n", ',', 2);
+        
+        assertThatThrownBy(() -> todos(reader))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("linha 3");
+    }
+    
+    @Test
+    void detectaSeparadorPeloCabecalho() {
+        assertThat(CsvRecordReader.detectSeparator("nome;email;telefone")).isEqualTo(';');
+        assertThat(CsvRecordReader.detectSeparator("nome,email,telefone")).isEqualTo(',');
+        assertThat(CsvRecordReader.detectSeparator("nome")).isEqualTo(',');
+    }
+    
+    private static CsvRecordReader reader(String conteudo, char separador) {
+        return reader(conteudo, separador, 1);
+    }
+    
+    private static CsvRecordReader reader(String conteudo, char separador, long primeiraLinha) {
+        return new CsvRecordReader(new StringReader(conteudo), separador, primeiraLinha);
+    }
+    
+    private static List<List<String>> todos(CsvRecordReader reader) throws IOException {
+        List<List<String>> registros = new ArrayList<>();
+        for (List<String> registro = reader.next(); registro != null; registro = reader.next()) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+}
\ No newline at end of file
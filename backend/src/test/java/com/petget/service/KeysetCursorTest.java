@@ -0,0 +1,69 @@
+package com.petget.service;
+
+import com.petget.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cursor das listagens por keyset: ida e volta sem perda da chave, primeira página para
+ * cursor ausente e rejeição (400) de cursores adulterados ou de outra listagem.
+ */
+class KeysetCursorTest {
+    
+    @Test
+    void cursorPorNomePreservaNomeEId() {
+        KeysetCursor cursor = KeysetCursor.decodeByNome(KeysetCursor.encode("Conceição d'Ávila / #1", 42L));
+        
+        assertThat(cursor.getNome()).isEqualTo("Conceição d'Ávila / #1");
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+    
+    @Test
+    void cursorPorIdPreservaId() {
+        KeysetCursor cursor = KeysetCursor.decodeById(KeysetCursor.encode(Long.MAX_VALUE));
+        
+        assertThat(cursor.getId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(cursor.getNome()).isEmpty();
+    }
+    
+    @Test
+    void cursorEhSeguroParaUrl() {
+        String cursor = KeysetCursor.encode("???>>>", 1L);
+        
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+    
+    @Test
+    void cursorAusenteOuVazioComecaDoInicio() {
+        assertThat(KeysetCursor.decodeByNome(null)).isSameAs(KeysetCursor.FIRST);
+        assertThat(KeysetCursor.decodeByNome("  ")).isSameAs(KeysetCursor.FIRST);
+        assertThat(KeysetCursor.decodeById("")).isSameAs(KeysetCursor.FIRST);
+    }
+    
+    @Test
+    void cursorDeOutraListagemEhRejeitado() {
+        assertThatThrownBy(() -> KeysetCursor.decodeById(KeysetCursor.encode("Maria", 1L)))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodeByNome(KeysetCursor.encode(1L)))
+            .isInstanceOf(BadRequestException.class);
+    }
+    
+    @Test
+    void cursorInvalidoEhRejeitado() {
+        assertThatThrownBy(() -> KeysetCursor.decodeByNome("não é base64!"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodeById(base64("i\u0000abc")))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodeById(base64("i")))
+            .isInstanceOf(BadRequestException.class);
+    }
+    
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.petget.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Índice de prefixos do autocomplete: busca sem acentos por todas as palavras, documentos
+ * e telefones pelos dígitos, e resultados consistentes após inclusões, alterações,
+ * remoções e a fusão do delta com a base.
+ */
+class TenantPrefixIndexTest {
+    
+    @Test
+    void tokenizaSemAcentosEMaiusculas() {
+        assertThat(TenantPrefixIndex.tokenize("Maria-José  D'Ávila")).containsExactly("maria", "jose", "d", "avila");
+        assertThat(TenantPrefixIndex.tokenize("  ")).isEmpty();
+        assertThat(TenantPrefixIndex.tokenize(null)).isEmpty();
+    }
+    
+    @Test
+    void telefoneGeraTokenComESemDdd() {
+        assertThat(TenantPrefixIndex.digitTokens("(11) 98765-4321", true)).containsExactly("11987654321", "987654321");
+        assertThat(TenantPrefixIndex.digitTokens("529.982.247-25", false)).containsExactly("52998224725");
+        assertThat(TenantPrefixIndex.digitTokens("sem dígitos", false)).isEmpty();
+    }
+    
+    @Test
+    void buscaPorPrefixoExigeTodasAsPalavras() {
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        index.load(List.of(cliente(1L, "João Silva"), cliente(2L, "Joana Souza"), pet(3L, 1L, "Rex")));
+        
+        assertThat(nomes(index.search("jo", 10))).containsExactlyInAnyOrder("João Silva", "Joana Souza");
+        assertThat(nomes(index.search("JOÃO sil", 10))).containsExactly("João Silva");
+        assertThat(nomes(index.search("joao souza", 10))).isEmpty();
+        assertThat(index.search("re", 10)).singleElement().satisfies(entry -> {
+            assertThat(entry.pet()).isTrue();
+            assertThat(entry.clienteId()).isEqualTo(1L);
+        });
+    }
+    
+    @Test
+    void documentoComMascaraEhBuscadoPelosDigitos() {
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        index.load(List.of(cliente(1L, "Ana Lima", TenantPrefixIndex.digitTokens("(11) 98765-4321", true))));
+        
+        assertThat(nomes(index.search("98765-43", 10))).containsExactly("Ana Lima");
+        assertThat(nomes(index.search("(11) 9876", 10))).containsExactly("Ana Lima");
+    }
+    
+    @Test
+    void inclusaoEAlteracaoAposACargaValemNaBusca() {
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        index.load(List.of(cliente(1L, "Carlos Mendes")));
+        
+        index.put(cliente(2L, "Carla Nunes"));
+        index.put(cliente(1L, "Carlos Moreira"));
+        
+        assertThat(nomes(index.search("carl", 10))).containsExactlyInAnyOrder("Carlos Moreira", "Carla Nunes");
+        assertThat(index.search("mendes", 10)).isEmpty();
+        assertThat(index.get(false, 1L).nome()).isEqualTo("Carlos Moreira");
+    }
+    
+    @Test
+    void remocaoDeClienteRemoveSeusPets() {
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        index.load(List.of(cliente(1L, "Bruno Dias"), pet(10L, 1L, "Bidu"), pet(11L, 1L, "Bolt"), pet(12L, 2L, "Bela")));
+        
+        index.removeCliente(1L);
+        
+        assertThat(nomes(index.search("b", 10))).containsExactly("Bela");
+        assertThat(index.get(true, 10L)).isNull();
+    }
+    
+    @Test
+    void limiteDeResultadosEhRespeitado() {
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        List<TenantPrefixIndex.Entry> clientes = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            clientes.add(cliente(id, "Paula " + id));
+        }
+        index.load(clientes);
+        
+        assertThat(index.search("paula", 7)).hasSize(7);
+        assertThat(index.search("paula", 0)).isEmpty();
+    }
+    
+    @Test
+    void fusaoDoDeltaMantemOsItens() {
+        TenantPrefixIndex index = new TenantPrefixIndex();
+        index.load(List.of());
+        long bytesVazio = index.estimatedBytes();
+        
+        boolean fundido = false;
+        for (long id = 1; id <= 2_000 && !fundido; id++) {
+            fundido = index.put(cliente(id, "Cliente c" + id));
+        }
+        index.remove(false, 7L);
+        
+        assertThat(fundido).isTrue();
+        assertThat(index.estimatedBytes()).isGreaterThan(bytesVazio);
+        assertThat(nomes(index.search("c1024", 10))).containsExactly("Cliente c1024");
+        assertThat(index.search("c7", 100)).extracting(TenantPrefixIndex.Entry::id).doesNotContain(7L).contains(70L);
+    }
+    
+    private static TenantPrefixIndex.Entry cliente(Long id, String nome, List<String> extras) {
+        String[] tokens = Stream.concat(Stream.of(TenantPrefixIndex.tokenize(nome)), extras.stream()).toArray(String[]::new);
+        return new TenantPrefixIndex.Entry(false, id, nome, id, tokens);
+    }
+    
+    private static TenantPrefixIndex.Entry cliente(Long id, String nome) {
+        return cliente(id, nome, List.of());
+    }
+    
+    private static TenantPrefixIndex.Entry pet(Long id, Long clienteId, String nome) {
+        return new TenantPrefixIndex.Entry(true, id, nome, clienteId, TenantPrefixIndex.tokenize(nome));
+    }
+    
+    private static List<String> nomes(List<TenantPrefixIndex.Entry> entries) {
+        return entries.stream().map(TenantPrefixIndex.Entry::nome).toList();
+    }
+}
\ No newline at end of file
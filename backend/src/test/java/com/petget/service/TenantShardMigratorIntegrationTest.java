@@ -0,0 +1,114 @@
+package com.petget.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.petget.config.ShardDirectory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Migração de um tenant para outro banco com dois PostgreSQL: depois da troca de shard
+ * os usuários do tenant continuam fazendo login, renovando o token e lendo seus dados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TenantShardMigratorIntegrationTest {
+    
+    private static final String TENANT = "demo-clinic";
+    
+    private static final String SHARD = "shard2";
+    
+    private static final String EMAIL = "admin@clinicademo.com";
+    
+    private static final String SENHA = "senha-de-teste";
+    
+    private static final PostgreSQLContainer<?> DIRECTORY = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    private static final PostgreSQLContainer<?> SHARD2 = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    @Autowired
+    private TenantShardMigrator tenantShardMigrator;
+    
+    @Autowired
+    private ShardDirectory shardDirectory;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) {
+        DIRECTORY.start();
+        SHARD2.start();
+        registry.add("spring.datasource.url", DIRECTORY::getJdbcUrl);
+        registry.add("spring.datasource.username", DIRECTORY::getUsername);
+        registry.add("spring.datasource.password", DIRECTORY::getPassword);
+        registry.add("petget.sharding.enabled", () -> "true");
+        registry.add("petget.sharding.shards." + SHARD + ".url", SHARD2::getJdbcUrl);
+        registry.add("petget.sharding.shards." + SHARD + ".username", SHARD2::getUsername);
+        registry.add("petget.sharding.shards." + SHARD + ".password", SHARD2::getPassword);
+        registry.add("petget.sharding.shards." + SHARD + ".id-start", () -> "1000000000");
+        registry.add("petget.sharding.migration.freeze-grace-ms", () -> "0");
+    }
+    
+    @Test
+    void usuariosDeTenantMigradoContinuamAutenticando() throws Exception {
+        // Shard novo não recebe as empresas e usuários de exemplo do shard padrão
+        assertThat(count(SHARD, "SELECT COUNT(*) FROM usuarios")).isZero();
+        assertThat(count(SHARD, "SELECT COUNT(*) FROM empresas")).isZero();
+        
+        shardDirectory.directoryJdbcTemplate().update("UPDATE usuarios SET senha = ? WHERE email = ?",
+            passwordEncoder.encode(SENHA), EMAIL);
+        
+        tenantShardMigrator.migrate(TENANT, SHARD);
+        
+        assertThat(shardDirectory.shardOf(TENANT)).isEqualTo(SHARD);
+        assertThat(count(SHARD, "SELECT COUNT(*) FROM clientes WHERE tenant_id = 'demo-clinic'")).isPositive();
+        assertThat(count("default", "SELECT COUNT(*) FROM clientes WHERE tenant_id = 'demo-clinic'")).isZero();
+        // Usuários continuam no diretório
+        assertThat(count("default", "SELECT COUNT(*) FROM usuarios WHERE tenant_id = 'demo-clinic'")).isPositive();
+        
+        String login = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"senha\":\"" + SENHA + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.tenantId").value(TENANT))
+            .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(login, "$.accessToken");
+        String refreshToken = JsonPath.read(login, "$.refreshToken");
+        
+        mockMvc.perform(get("/clientes")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("X-Tenant-ID", TENANT))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[*].nome", hasItem("João Silva")));
+        
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accessToken").isNotEmpty());
+    }
+    
+    private long count(String shard, String sql) {
+        return shardDirectory.jdbcTemplate(shard).queryForObject(sql, Long.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.petget.support;
+
+import com.petget.PetGetApplication;
+import com.petget.config.TenantContext;
+import com.petget.config.TenantRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Aplicação e banco dos benchmarks JMH de acesso a dados (classes *Benchmark).
+ * Usa o PostgreSQL de -Dbenchmark.jdbc.url, quando informado (a massa fica no banco e é
+ * reaproveitada pelas execuções seguintes), ou um container descartável por fork.
+ * A aplicação sobe sem servidor web e sem logs de SQL, que dominariam as medições.
+ */
+public final class BenchmarkEnvironment implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> container;
+
+    private final ConfigurableApplicationContext context;
+
+    private final TransactionTemplate readOnly;
+
+    private BenchmarkEnvironment(PostgreSQLContainer<?> container, ConfigurableApplicationContext context) {
+        this.container = container;
+        this.context = context;
+        this.readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Sobe o banco (se necessário) e a aplicação
+     * @param properties Propriedades adicionais da aplicação (chave=valor)
+     * @return Ambiente pronto, com as migrações aplicadas
+     */
+    public static BenchmarkEnvironment start(String... properties) {
+        PostgreSQLContainer<?> container = null;
+        String url = System.getProperty("benchmark.jdbc.url");
+        String username = System.getProperty("benchmark.jdbc.username", "petget");
+        String password = System.getProperty("benchmark.jdbc.password", "petget");
+        if (url == null || url.isBlank()) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "fsync=off");
+            container.start();
+            url = container.getJdbcUrl();
+            username = container.getUsername();
+            password = container.getPassword();
+        }
+
+        List<String> all = new ArrayList<>(List.of(
+            "spring.datasource.url=" + url,
+            "spring.datasource.username=" + username,
+            "spring.datasource.password=" + password,
+            "logging.level.com.petget=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.springframework.security=WARN"));
+        all.addAll(List.of(properties));
+        try {
+            // Como argumentos de linha de comando, para prevalecer sobre o application.yml
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(PetGetApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+            return new BenchmarkEnvironment(container, context);
+        } catch (RuntimeException e) {
+            if (container != null) {
+                container.stop();
+            }
+            throw e;
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Executa o SQL de carga apenas se a massa ainda não existir no banco, e atualiza os
+     * índices, as estatísticas e o registro de tenants
+     * @param existingCheck Consulta de contagem; zero indica que a carga é necessária
+     * @param statements Comandos de carga
+     */
+    public void populate(String existingCheck, String... statements) {
+        JdbcTemplate jdbcTemplate = jdbcTemplate();
+        Long existing = jdbcTemplate.queryForObject(existingCheck, Long.class);
+        if (existing == null || existing == 0) {
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+            jdbcTemplate.execute("VACUUM ANALYZE");
+        }
+        getBean(TenantRegistry.class).reload();
+    }
+
+    /**
+     * Executa a ação em uma transação somente leitura do tenant, como em uma requisição
+     * @param tenantId ID do tenant
+     * @param action Ação
+     * @return Resultado da ação
+     */
+    public <T> T readOnly(String tenantId, Supplier<T> action) {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            return readOnly.execute(status -> action.get());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
\ No newline at end of file
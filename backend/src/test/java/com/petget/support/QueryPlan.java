@@ -0,0 +1,126 @@
+package com.petget.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plano de execução (EXPLAIN FORMAT JSON) de um comando registrado, com os mesmos
+ * parâmetros. Índices de partições são informados pelo nome do índice da tabela
+ * particionada (ex.: clientes_p3_tenant_id_id_idx aparece como idx_clientes_tenant_ativo).
+ */
+public final class QueryPlan {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String PARENT_INDEX_SQL =
+        "SELECT parent.relname FROM pg_inherits i " +
+        "JOIN pg_class child ON child.oid = i.inhrelid " +
+        "JOIN pg_class parent ON parent.oid = i.inhparent " +
+        "WHERE child.relname = ?";
+
+    private final String sql;
+
+    private final List<String> nodeTypes = new ArrayList<>();
+
+    private final Set<String> relations = new LinkedHashSet<>();
+
+    private final Set<String> indexes = new LinkedHashSet<>();
+
+    private final String text;
+
+    private QueryPlan(String sql, JsonNode plan, Connection connection) throws SQLException {
+        this.sql = sql;
+        this.text = plan.toPrettyString();
+        collect(plan, connection);
+    }
+
+    /**
+     * Executa EXPLAIN do comando com os parâmetros registrados
+     * @param dataSource DataSource do banco
+     * @param statement Comando registrado
+     * @return Plano
+     */
+    public static QueryPlan explain(DataSource dataSource, StatementRecorder.RecordedStatement statement) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = statement.prepare(connection, "EXPLAIN (FORMAT JSON) ");
+             ResultSet rs = explain.executeQuery()) {
+            rs.next();
+            JsonNode plan = MAPPER.readTree(rs.getString(1)).get(0).get("Plan");
+            return new QueryPlan(statement.sql(), plan, connection);
+        } catch (SQLException | JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao obter o plano de: " + statement.sql(), e);
+        }
+    }
+
+    private void collect(JsonNode node, Connection connection) throws SQLException {
+        nodeTypes.add(node.path("Node Type").asText());
+        if (node.has("Relation Name")) {
+            relations.add(node.get("Relation Name").asText());
+        }
+        if (node.has("Index Name")) {
+            indexes.add(parentIndex(connection, node.get("Index Name").asText()));
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, connection);
+        }
+    }
+
+    private static String parentIndex(Connection connection, String index) throws SQLException {
+        String current = index;
+        try (PreparedStatement ps = connection.prepareStatement(PARENT_INDEX_SQL)) {
+            while (true) {
+                ps.setString(1, current);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return current;
+                    }
+                    current = rs.getString(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * SQL explicado
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Tipos de nó do plano (Seq Scan, Index Scan, BitmapAnd...), em pré-ordem
+     */
+    public List<String> nodeTypes() {
+        return nodeTypes;
+    }
+
+    /**
+     * Tabelas e partições lidas
+     */
+    public Set<String> relations() {
+        return relations;
+    }
+
+    /**
+     * Índices usados, pelo nome do índice da tabela particionada quando for o caso
+     */
+    public Set<String> indexes() {
+        return indexes;
+    }
+
+    @Override
+    public String toString() {
+        return sql + "\n" + text;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.petget.support;
+
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Provedor de conexões do Hibernate nos testes: entrega as conexões do DataSource da
+ * aplicação envolvidas pelo {@link StatementRecorder}. O DataSource em si não é trocado,
+ * então roteamento de shards e bulkheads seguem os mesmos.
+ */
+public class RecordingConnectionProvider extends DatasourceConnectionProviderImpl {
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return StatementRecorder.wrap(super.getConnection());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.petget.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registra os comandos SQL executados pelo Hibernate na thread atual, com os parâmetros
+ * vinculados, para que possam ser repetidos com EXPLAIN exatamente como rodaram.
+ * Lotes JDBC (addBatch/executeBatch) são registrados como um comando, com o número de linhas.
+ * As conexões do Hibernate passam por {@link RecordingConnectionProvider}.
+ */
+public final class StatementRecorder {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate");
+
+    private static final Set<String> EXECUTE_BATCH_METHODS = Set.of("executeBatch", "executeLargeBatch");
+
+    private static final ThreadLocal<List<RecordedStatement>> recording = new ThreadLocal<>();
+
+    private StatementRecorder() {
+    }
+
+    /**
+     * Executa a ação registrando os comandos executados pela thread atual
+     * @param action Ação
+     * @return Comandos na ordem de execução
+     */
+    public static List<RecordedStatement> record(Runnable action) {
+        List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+        recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return List.copyOf(statements);
+    }
+
+    /**
+     * Envolve uma conexão, registrando os PreparedStatements executados durante uma gravação
+     * @param connection Conexão real
+     * @return Conexão que registra os comandos
+     */
+    static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            StatementRecorder.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                    return wrap(statement, (String) args[0]);
+                }
+                return result;
+            });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        int[] pendingRows = {0};
+        return (PreparedStatement) Proxy.newProxyInstance(
+            StatementRecorder.class.getClassLoader(),
+            new Class<?>[] {PreparedStatement.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                boolean noArgs = args == null || args.length == 0;
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args.clone()));
+                } else if ("clearParameters".equals(name)) {
+                    bindings.clear();
+                } else if ("addBatch".equals(name) && noArgs) {
+                    pendingRows[0]++;
+                } else if ("clearBatch".equals(name)) {
+                    pendingRows[0] = 0;
+                } else if (EXECUTE_METHODS.contains(name) && noArgs) {
+                    add(new RecordedStatement(sql, List.copyOf(bindings), 1));
+                } else if (EXECUTE_BATCH_METHODS.contains(name)) {
+                    // Parâmetros da última linha do lote
+                    add(new RecordedStatement(sql, List.copyOf(bindings), pendingRows[0]));
+                    pendingRows[0] = 0;
+                }
+                return invoke(statement, method, args);
+            });
+    }
+
+    private static void add(RecordedStatement statement) {
+        List<RecordedStatement> statements = recording.get();
+        if (statements != null) {
+            statements.add(statement);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Comando executado, com os parâmetros na ordem em que foram vinculados
+     * @param sql SQL enviado ao banco
+     * @param bindings Chamadas set* do PreparedStatement
+     * @param rows Linhas enviadas: 1, ou o tamanho do lote em executeBatch
+     */
+    public record RecordedStatement(String sql, List<Binding> bindings, int rows) {
+
+        /**
+         * Prepara o comando com um prefixo (ex.: EXPLAIN) e os mesmos parâmetros
+         * @param connection Conexão
+         * @param prefix Prefixo do SQL
+         * @return PreparedStatement pronto para execução
+         */
+        public PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Falha ao repetir o parâmetro " + binding.args()[0], e);
+                }
+            }
+            return statement;
+        }
+    }
+
+    /**
+     * Parâmetro vinculado
+     * @param method Método set* do PreparedStatement
+     * @param args Argumentos (índice e valor)
+     */
+    public record Binding(Method method, Object[] args) {
+    }
+}
\ No newline at end of file